@@ -0,0 +1,20 @@
+package com.catan.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks with the allocation profiler enabled.
+ * Accepts the usual JMH command line options, e.g. a benchmark name pattern.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
@@ -0,0 +1,44 @@
+package com.catan.bench;
+
+import com.catan.model.GameBoard;
+import com.catan.model.GameRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a complete board: tiles, vertices, edges and all derived indexes.
+ * {@link #newLargeGameBoard} checks that construction stays linear in the number of tiles.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @Benchmark
+    public GameBoard newGameBoard() {
+        return new GameBoard(new GameRandom(Fixtures.SEED));
+    }
+
+    @Benchmark
+    public GameBoard newLargeGameBoard(Size size) {
+        return new GameBoard(size.size, size.size, new GameRandom(Fixtures.SEED));
+    }
+
+    @State(Scope.Benchmark)
+    public static class Size {
+        @Param({"60", "600"})
+        int size;
+    }
+}
@@ -0,0 +1,54 @@
+package com.catan.bench;
+
+import com.catan.model.GameCodec;
+import com.catan.model.GameRandom;
+import com.catan.model.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving a mid-game position into a reused buffer and loading it back.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBenchmark {
+    private GameState state;
+    private ByteBuffer buffer;
+    private ByteBuffer saved;
+    private GameRandom random;
+
+    @Setup
+    public void setUp() {
+        state = Fixtures.playedGame(40);
+        buffer = ByteBuffer.allocateDirect(GameCodec.encodedSize(state));
+        saved = ByteBuffer.wrap(GameCodec.encode(state)).asReadOnlyBuffer();
+        random = new GameRandom(Fixtures.SEED);
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        buffer.clear();
+        GameCodec.encode(state, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public GameState decode() {
+        return GameCodec.decode(saved.duplicate(), random);
+    }
+}
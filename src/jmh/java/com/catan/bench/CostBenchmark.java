@@ -0,0 +1,58 @@
+package com.catan.bench;
+
+import com.catan.model.BuildingCosts;
+import com.catan.model.Player;
+import com.catan.model.ResourceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures affordability checks and payments of building costs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CostBenchmark {
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        player = new Player("Player 1");
+        player.addResource(ResourceType.WOOD, 2);
+        player.addResource(ResourceType.BRICK, 2);
+        player.addResource(ResourceType.GRAIN, 1);
+        player.addResource(ResourceType.ORE, 1);
+    }
+
+    @Benchmark
+    public boolean canAffordSettlement() {
+        return BuildingCosts.canAfford(player, BuildingCosts.BuildingType.SETTLEMENT);
+    }
+
+    @Benchmark
+    public boolean canAffordCity() {
+        return BuildingCosts.canAfford(player, BuildingCosts.BuildingType.CITY);
+    }
+
+    @Benchmark
+    public boolean payCost() {
+        // Pays for a road and hands the resources back so every invocation sees the same hand
+        boolean paid = BuildingCosts.payCost(player, BuildingCosts.BuildingType.ROAD);
+        player.addResource(ResourceType.WOOD, 1);
+        player.addResource(ResourceType.BRICK, 1);
+        return paid;
+    }
+}
@@ -0,0 +1,74 @@
+package com.catan.bench;
+
+import com.catan.model.GameBoard;
+import com.catan.model.GameState;
+import com.catan.model.Player;
+import com.catan.sim.PlayerPolicy;
+import com.catan.sim.RandomPolicy;
+
+import java.util.List;
+
+/**
+ * Reproducible positions shared by the benchmarks. Every fixture is built from a fixed seed.
+ */
+final class Fixtures {
+    static final long SEED = 42;
+
+    private Fixtures() {
+    }
+
+    /**
+     * Plays the setup phase and a number of turns with random players.
+     */
+    static GameState playedGame(int turns) {
+        GameState state = new GameState(4, SEED);
+        PlayerPolicy policy = new RandomPolicy();
+        List<Player> players = state.getPlayers();
+        while (state.getCurrentPhase() == GameState.GamePhase.SETUP) {
+            policy.playSetupTurn(state, players.get(state.getCurrentPlayerIndex()));
+        }
+        for (int turn = 0; turn < turns && !state.isGameEnded(); turn++) {
+            policy.playTurn(state, players.get(state.getCurrentPlayerIndex()));
+            state.rollDice();
+        }
+        return state;
+    }
+
+    /**
+     * Gives four players every horizontal edge, one row each in turn, anchored by a settlement
+     * at the start of each row. All vertical edges stay free. The settlements of neighbouring
+     * rows are adjacent, so the distance rule is switched off for this board.
+     */
+    static Player[] buildOut(GameBoard board) {
+        Player[] players = players();
+        board.setDistanceRule(false);
+        for (int row = 0; row <= board.getRows(); row++) {
+            Player owner = players[row % players.length];
+            board.getVertex(row, 0).buildSettlement(owner);
+            for (int col = 0; col < board.getCols(); col++) {
+                board.getHorizontalEdge(row, col).buildRoad(owner);
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Gives four players a single settlement each and no roads.
+     */
+    static Player[] settleCorners(GameBoard board) {
+        Player[] players = players();
+        board.getVertex(0, 0).buildSettlement(players[0]);
+        board.getVertex(0, board.getCols()).buildSettlement(players[1]);
+        board.getVertex(board.getRows(), 0).buildSettlement(players[2]);
+        board.getVertex(board.getRows(), board.getCols()).buildSettlement(players[3]);
+        return players;
+    }
+
+    private static Player[] players() {
+        Player[] players = new Player[4];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new Player("Player " + (i + 1));
+        }
+        return players;
+    }
+}
@@ -0,0 +1,49 @@
+package com.catan.bench;
+
+import com.catan.model.GameRandom;
+import com.catan.model.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures forking a mid-game position, alone and followed by the first write, which pays
+ * for copying the shared occupancy and resource arrays.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ForkBenchmark {
+    private GameState state;
+    private GameRandom random;
+
+    @Setup
+    public void setUp() {
+        state = Fixtures.playedGame(40);
+        random = new GameRandom(Fixtures.SEED);
+    }
+
+    @Benchmark
+    public GameState fork() {
+        return state.fork(random);
+    }
+
+    @Benchmark
+    public GameState forkAndRoll() {
+        GameState fork = state.fork(random);
+        fork.rollDice();
+        return fork;
+    }
+}
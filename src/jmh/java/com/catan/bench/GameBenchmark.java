@@ -0,0 +1,70 @@
+package com.catan.bench;
+
+import com.catan.model.GameRandom;
+import com.catan.model.GameState;
+import com.catan.sim.GameSimulator;
+import com.catan.sim.GameStatePool;
+import com.catan.sim.PlayerPolicy;
+import com.catan.sim.RandomPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures complete games between four random players on the calling thread, and the cost
+ * of setting up a new game with and without {@link GameStatePool}. Games cycle through a
+ * fixed set of seeds so every run plays the same games.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+    private static final int SEEDS = 1024;
+
+    private GameSimulator simulator;
+    private int game;
+
+    @Setup
+    public void setUp() {
+        simulator = new GameSimulator(Collections.nCopies(4, (PlayerPolicy) new RandomPolicy()), 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulator.shutdown();
+    }
+
+    @Benchmark
+    public GameSimulator.GameOutcome randomPolicyGame() {
+        game = (game + 1) % SEEDS;
+        return simulator.playGame(GameRandom.seedFor(Fixtures.SEED, game));
+    }
+
+    @Benchmark
+    public GameState newGame() {
+        game = (game + 1) % SEEDS;
+        return new GameState(4, GameRandom.seedFor(Fixtures.SEED, game));
+    }
+
+    @Benchmark
+    public GameState pooledGame() {
+        game = (game + 1) % SEEDS;
+        GameState state = GameStatePool.borrow(4, GameRandom.seedFor(Fixtures.SEED, game));
+        GameStatePool.release(state);
+        return state;
+    }
+}
@@ -0,0 +1,56 @@
+package com.catan.bench;
+
+import com.catan.model.BoardGenerator;
+import com.catan.model.BoardLayout;
+import com.catan.model.GameRandom;
+import com.catan.model.LayoutRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating standard tournament layouts, one at a time on the benchmark thread and
+ * as a parallel batch of 1000.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LayoutBenchmark {
+    private BoardGenerator generator;
+    private GameRandom random;
+    private long batch;
+
+    @Setup
+    public void setUp() {
+        generator = new BoardGenerator(LayoutRules.tournament());
+        random = new GameRandom(Fixtures.SEED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        generator.shutdown();
+    }
+
+    @Benchmark
+    public BoardLayout generateTournamentLayout() {
+        return generator.generate(6, 6, random);
+    }
+
+    @Benchmark
+    public BoardLayout[] generateTournamentBatch() {
+        return generator.generate(6, 6, 1000, batch++);
+    }
+}
@@ -0,0 +1,208 @@
+package com.catan.bench;
+
+import com.catan.model.BoardLayout;
+import com.catan.model.BoardTopology;
+import com.catan.model.Edge;
+import com.catan.model.GameBoard;
+import com.catan.model.GameRandom;
+import com.catan.model.Player;
+import com.catan.model.Vertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Longest Road tracking while four players build maximal road networks.
+ *
+ * <p>Every operation resets the standard board and replays the same builds: a corner
+ * settlement per player, all 15 roads of every player, each taking the first connected edge
+ * in id order, so the networks are dense and full of cycles, and finally every remaining
+ * settlement on a vertex between two roads of another player, cutting those networks apart.
+ * The distance rule is off so that the cuts fit. {@link #replay()} pays for the incremental
+ * tracking of the board alone; {@link #fullRecomputeReference()} additionally measures every
+ * player's longest trail from scratch with plain backtracking after each build, the way an
+ * untracked board would have to.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LongestRoadBenchmark {
+    private static final int PLAYERS = 4;
+
+    // Packed builds: player << 24 | kind << 22 | dense vertex or edge id
+    private static final int SETTLEMENT = 0;
+    private static final int ROAD = 1;
+
+    private BoardLayout layout;
+    private GameBoard board;
+    private BoardTopology topology;
+    private int[] builds;
+    private boolean[] used;
+
+    @Setup
+    public void setUp() {
+        layout = new GameBoard(new GameRandom(Fixtures.SEED)).getLayout();
+        board = new GameBoard(layout);
+        topology = board.getTopology();
+        used = new boolean[topology.getEdgeCount()];
+        builds = plan();
+    }
+
+    @Benchmark
+    public int replay() {
+        Player[] players = start();
+        for (int build : builds) {
+            apply(players, build);
+        }
+        return longestRoads(players);
+    }
+
+    @Benchmark
+    public int fullRecomputeReference() {
+        Player[] players = start();
+        int total = 0;
+        for (int build : builds) {
+            apply(players, build);
+            for (Player player : players) {
+                total += longestTrail(player);
+            }
+        }
+        return total + longestRoads(players);
+    }
+
+    private Player[] start() {
+        board.reset(layout);
+        board.setDistanceRule(false);
+        Player[] players = new Player[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = new Player("Player " + (i + 1));
+        }
+        return players;
+    }
+
+    private void apply(Player[] players, int build) {
+        Player player = players[build >>> 24];
+        int id = build & 0x3fffff;
+        boolean built = (build >>> 22 & 3) == SETTLEMENT
+            ? vertex(id).buildSettlement(player)
+            : edge(id).buildRoad(player);
+        if (!built) {
+            throw new IllegalStateException("Planned build failed: " + Integer.toHexString(build));
+        }
+    }
+
+    private int longestRoads(Player[] players) {
+        int total = 0;
+        for (Player player : players) {
+            total += board.getLongestRoad(player);
+        }
+        return total;
+    }
+
+    /**
+     * Records the builds once, with the same rules the replay is checked against.
+     */
+    private int[] plan() {
+        Player[] players = start();
+        int[] plan = new int[PLAYERS * 20];
+        int count = 0;
+        int[] corners = {
+            topology.vertexId(0, 0), topology.vertexId(0, board.getCols()),
+            topology.vertexId(board.getRows(), 0), topology.vertexId(board.getRows(), board.getCols())
+        };
+        for (int p = 0; p < PLAYERS; p++) {
+            plan[count] = p << 24 | SETTLEMENT << 22 | corners[p];
+            apply(players, plan[count++]);
+        }
+        // Round robin, one road per player and pass, until every supply is used up
+        for (boolean progress = true; progress; ) {
+            progress = false;
+            for (int p = 0; p < PLAYERS; p++) {
+                for (int edge = 0; edge < topology.getEdgeCount(); edge++) {
+                    if (edge(edge).canBuildRoad(players[p])) {
+                        plan[count] = p << 24 | ROAD << 22 | edge;
+                        apply(players, plan[count++]);
+                        progress = true;
+                        break;
+                    }
+                }
+            }
+        }
+        for (int p = 0; p < PLAYERS; p++) {
+            for (int vertex = 0; vertex < topology.getVertexCount() && players[p].getSettlements() > 0; vertex++) {
+                if (cutsAnotherPlayer(vertex, players[p]) && vertex(vertex).canBuildSettlement(players[p])) {
+                    plan[count] = p << 24 | SETTLEMENT << 22 | vertex;
+                    apply(players, plan[count++]);
+                }
+            }
+        }
+        return Arrays.copyOf(plan, count);
+    }
+
+    private boolean cutsAnotherPlayer(int vertex, Player player) {
+        for (int i = topology.vertexEdgeStart(vertex); i < topology.vertexEdgeStart(vertex + 1); i++) {
+            Player owner = edge(topology.vertexEdge(i)).getOwner();
+            if (owner == null || owner == player) {
+                continue;
+            }
+            for (int j = i + 1; j < topology.vertexEdgeStart(vertex + 1); j++) {
+                if (edge(topology.vertexEdge(j)).getOwner() == owner) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Vertex vertex(int id) {
+        return board.getVertex(topology.vertexRow(id), topology.vertexCol(id));
+    }
+
+    private Edge edge(int id) {
+        return topology.isHorizontal(id)
+            ? board.getHorizontalEdge(topology.edgeRow(id), topology.edgeCol(id))
+            : board.getVerticalEdge(topology.edgeRow(id), topology.edgeCol(id));
+    }
+
+    // Plain backtracking over all trails from every vertex, without memoization
+
+    private int longestTrail(Player player) {
+        int longest = 0;
+        for (int vertex = 0; vertex < topology.getVertexCount(); vertex++) {
+            longest = Math.max(longest, extend(player, vertex, true));
+        }
+        return longest;
+    }
+
+    private int extend(Player player, int vertex, boolean start) {
+        Player building = vertex(vertex).getOwner();
+        if (!start && building != null && building != player) {
+            return 0;
+        }
+        int longest = 0;
+        for (int i = topology.vertexEdgeStart(vertex); i < topology.vertexEdgeStart(vertex + 1); i++) {
+            int edge = topology.vertexEdge(i);
+            if (!used[edge] && edge(edge).getOwner() == player) {
+                used[edge] = true;
+                int end = topology.edgeEnd(edge, 0);
+                int next = end == vertex ? topology.edgeEnd(edge, 1) : end;
+                longest = Math.max(longest, 1 + extend(player, next, false));
+                used[edge] = false;
+            }
+        }
+        return longest;
+    }
+}
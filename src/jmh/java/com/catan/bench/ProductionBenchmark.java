@@ -0,0 +1,51 @@
+package com.catan.bench;
+
+import com.catan.model.GameBoard;
+import com.catan.model.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures dice rolls and resource distribution on a mid-game position.
+ * The position is rebuilt for every iteration so resource counts stay bounded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProductionBenchmark {
+    private GameState state;
+    private GameBoard board;
+    private int roll;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        state = Fixtures.playedGame(40);
+        board = state.getGameBoard();
+    }
+
+    @Benchmark
+    public int rollDice() {
+        state.rollDice();
+        return state.getDiceRoll();
+    }
+
+    @Benchmark
+    public void produceResources() {
+        roll = roll == 12 ? 2 : roll + 1;
+        board.produceResources(roll);
+    }
+}
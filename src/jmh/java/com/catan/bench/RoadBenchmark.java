@@ -0,0 +1,127 @@
+package com.catan.bench;
+
+import com.catan.model.Edge;
+import com.catan.model.GameBoard;
+import com.catan.model.GameRandom;
+import com.catan.model.Player;
+import com.catan.model.Vertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures road legality checks for every free vertical edge and every player.
+ *
+ * <p>On the {@code empty} board each player owns a single corner settlement. On the
+ * {@code saturated} board every horizontal edge is taken (see {@link Fixtures#buildOut}).
+ * {@link #depthFirstReference()} runs the recursive search the board used before its
+ * union-find connectivity, as a baseline.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoadBenchmark {
+    @Param({"empty", "saturated"})
+    public String occupancy;
+
+    private GameBoard board;
+    private Player[] players;
+
+    @Setup
+    public void setUp() {
+        board = new GameBoard(new GameRandom(Fixtures.SEED));
+        players = "empty".equals(occupancy) ? Fixtures.settleCorners(board) : Fixtures.buildOut(board);
+    }
+
+    @Benchmark
+    public int canBuildRoadAtEdge() {
+        int legal = 0;
+        for (Player player : players) {
+            for (int row = 0; row < board.getRows(); row++) {
+                for (int col = 0; col <= board.getCols(); col++) {
+                    if (board.canBuildRoadAtEdge(row, col, false, player)) {
+                        legal++;
+                    }
+                }
+            }
+        }
+        return legal;
+    }
+
+    @Benchmark
+    public int depthFirstReference() {
+        int legal = 0;
+        for (Player player : players) {
+            for (int row = 0; row < board.getRows(); row++) {
+                for (int col = 0; col <= board.getCols(); col++) {
+                    if (!board.getVerticalEdge(row, col).isOccupied() && hasRoadNetworkConnection(row, col, player)) {
+                        legal++;
+                    }
+                }
+            }
+        }
+        return legal;
+    }
+
+    // The recursive search GameBoard used before the union-find, for vertical edges
+
+    private boolean hasRoadNetworkConnection(int edgeRow, int edgeCol, Player player) {
+        Vertex[] connectedVertices = {board.getVertex(edgeRow, edgeCol), board.getVertex(edgeRow + 1, edgeCol)};
+        for (Vertex vertex : connectedVertices) {
+            if (vertex != null && hasRoadNetworkToVertex(vertex, player, new HashSet<>())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasRoadNetworkToVertex(Vertex targetVertex, Player player, Set<String> visited) {
+        String vertexKey = targetVertex.getRow() + "," + targetVertex.getCol();
+        if (visited.contains(vertexKey)) {
+            return false;
+        }
+        visited.add(vertexKey);
+
+        if (targetVertex.isOccupied() && targetVertex.getOwner() == player) {
+            return true;
+        }
+
+        int row = targetVertex.getRow();
+        int col = targetVertex.getCol();
+        Edge[] edges = {
+            board.getHorizontalEdge(row, col - 1),
+            board.getHorizontalEdge(row, col),
+            board.getVerticalEdge(row - 1, col),
+            board.getVerticalEdge(row, col)
+        };
+        for (Edge edge : edges) {
+            if (edge != null && edge.isOccupied() && edge.getOwner() == player) {
+                Vertex[] ends = edge.isHorizontal()
+                    ? new Vertex[] {board.getVertex(edge.getRow(), edge.getCol()), board.getVertex(edge.getRow(), edge.getCol() + 1)}
+                    : new Vertex[] {board.getVertex(edge.getRow(), edge.getCol()), board.getVertex(edge.getRow() + 1, edge.getCol())};
+                for (Vertex v : ends) {
+                    if (v != targetVertex && hasRoadNetworkToVertex(v, player, visited)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+package com.catan.actor;
+
+import com.catan.model.GameState;
+
+/**
+ * An action performed on a game by its {@link GameActor}.
+ *
+ * <p>Actions run on the actor's thread and are the only code that may touch the game. The
+ * result is handed to another thread, so it must not expose the game or any of its mutable
+ * parts: return plain values, copies or a {@link GameSnapshot}.</p>
+ *
+ * @param <T> The type of the result
+ */
+@FunctionalInterface
+public interface GameAction<T> {
+    T apply(GameState state);
+}
@@ -0,0 +1,179 @@
+package com.catan.actor;
+
+import com.catan.model.GameState;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gives a game a single writer: every action is queued in a mailbox and performed by one task
+ * at a time, so any number of threads may drive the same game without locking it.
+ *
+ * <p>The mailbox is a lock-free {@link MpscQueue}. The first action sent to an idle actor
+ * schedules a drain task on the executor, which performs up to {@value #BATCH_SIZE} actions in
+ * arrival order and then yields the thread, rescheduling itself if more actions arrived. At most
+ * one drain task exists per actor, so the game is only ever touched by one thread at a time
+ * and each task sees the effects of all earlier ones.</p>
+ *
+ * <p>Other threads never read the game directly. They receive the results of their actions
+ * through futures, or read the {@link GameSnapshot} published after every batch.</p>
+ */
+public final class GameActor {
+    /** Maximum number of actions performed before the drain task yields its thread */
+    public static final int BATCH_SIZE = 256;
+
+    private final GameState state;
+    private final Executor executor;
+    private final MpscQueue<Task<?>> mailbox = new MpscQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final LongAdder failed = new LongAdder();
+    private final boolean publishSnapshots;
+    private volatile GameSnapshot snapshot;
+    // Written by the drain task only
+    private volatile long processed;
+
+    /**
+     * Creates an actor that drains on the common fork-join pool and publishes snapshots.
+     */
+    public GameActor(GameState state) {
+        this(state, ForkJoinPool.commonPool(), true);
+    }
+
+    /**
+     * Creates an actor.
+     *
+     * @param state The game, which must not be used directly any more
+     * @param executor Runs the drain tasks; may be shared by any number of actors
+     * @param publishSnapshots Whether to refresh {@link #getSnapshot()} after every batch
+     */
+    public GameActor(GameState state, Executor executor, boolean publishSnapshots) {
+        this.state = state;
+        this.executor = executor;
+        this.publishSnapshots = publishSnapshots;
+        this.snapshot = GameSnapshot.of(state, 0);
+    }
+
+    /**
+     * Queues an action. Never blocks.
+     *
+     * @return Completes with the result of the action, or exceptionally with whatever it threw,
+     *     errors included
+     */
+    public <T> CompletableFuture<T> submit(GameAction<T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        enqueue(new Task<>(action, result));
+        return result;
+    }
+
+    /**
+     * Queues an action and waits for its result. If the actor is idle, the calling thread
+     * drains the mailbox itself instead of handing the work to the executor, which saves a
+     * thread switch per call on uncontended games.
+     *
+     * @throws java.util.concurrent.CompletionException If the action threw
+     */
+    public <T> T call(GameAction<T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        mailbox.offer(new Task<>(action, result));
+        if (scheduled.compareAndSet(false, true)) {
+            drain();
+        }
+        return result.join();
+    }
+
+    /**
+     * Queues an action whose result is not needed. Never blocks. Exceptions are counted in
+     * {@link #getFailedCount()}.
+     */
+    public void tell(GameAction<?> action) {
+        enqueue(new Task<>(action, null));
+    }
+
+    /**
+     * Takes a snapshot after every action queued before this call.
+     */
+    public CompletableFuture<GameSnapshot> snapshot() {
+        return submit(game -> GameSnapshot.of(game, processed));
+    }
+
+    /**
+     * Returns the snapshot published after the latest batch, or the initial one when snapshots
+     * are not published.
+     */
+    public GameSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the number of actions waiting in the mailbox.
+     */
+    public int getQueueDepth() {
+        return mailbox.size();
+    }
+
+    public long getProcessedCount() {
+        return processed;
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    private void enqueue(Task<?> task) {
+        mailbox.offer(task);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        int performed = 0;
+        try {
+            Task<?> task;
+            while (performed < BATCH_SIZE && (task = mailbox.poll()) != null) {
+                task.run(state);
+                performed++;
+                processed++;
+            }
+            if (performed > 0 && publishSnapshots) {
+                snapshot = GameSnapshot.of(state, processed);
+            }
+        } finally {
+            // Released even if publishing failed, or the actor would never drain again
+            scheduled.set(false);
+            // An action queued while the flag was still set has not scheduled a drain of its own
+            if (mailbox.size() > 0 && scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+    }
+
+    private final class Task<T> {
+        private final GameAction<T> action;
+        private final CompletableFuture<T> result;
+
+        Task(GameAction<T> action, CompletableFuture<T> result) {
+            this.action = action;
+            this.result = result;
+        }
+
+        void run(GameState game) {
+            try {
+                T value = action.apply(game);
+                if (result != null) {
+                    result.complete(value);
+                }
+            } catch (Throwable e) {
+                // Errors included: a future left pending would block its caller forever
+                if (result != null) {
+                    result.completeExceptionally(e);
+                } else {
+                    failed.increment();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.catan.actor;
+
+import com.catan.model.GameState;
+import com.catan.model.Player;
+import com.catan.model.ResourceType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable summary of a game, safe to read from any thread.
+ *
+ * @param version The number of actions the actor had performed when the snapshot was taken
+ * @param currentSeat The seat that has the turn
+ * @param phase The phase of the game
+ * @param setupPhase The round of the setup draft
+ * @param diceRoll The latest dice roll, or 0
+ * @param winnerSeat The winning seat, or -1
+ * @param players One entry per seat
+ */
+public record GameSnapshot(long version, int currentSeat, GameState.GamePhase phase,
+                           GameState.SetupPhase setupPhase, int diceRoll, int winnerSeat,
+                           List<PlayerSnapshot> players) {
+
+    public GameSnapshot {
+        players = List.copyOf(players);
+    }
+
+    /**
+     * Captures a game. Must run on the thread that owns the game.
+     */
+    public static GameSnapshot of(GameState state, long version) {
+        List<Player> seats = state.getPlayers();
+        List<PlayerSnapshot> players = new ArrayList<>(seats.size());
+        for (Player player : seats) {
+            players.add(PlayerSnapshot.of(player));
+        }
+        Player winner = state.getWinner();
+        return new GameSnapshot(version, state.getCurrentPlayerIndex(), state.getCurrentPhase(),
+            state.getSetupPhase(), state.getDiceRoll(), winner == null ? -1 : seats.indexOf(winner), players);
+    }
+
+    /**
+     * The state of one player.
+     *
+     * @param name The display name
+     * @param resources The resource counts, unmodifiable
+     * @param victoryPoints The victory points
+     * @param settlements The settlements left to build
+     * @param cities The cities left to build
+     * @param roads The roads left to build
+     */
+    public record PlayerSnapshot(String name, Map<ResourceType, Integer> resources, int victoryPoints,
+                                 int settlements, int cities, int roads) {
+
+        public PlayerSnapshot {
+            resources = Collections.unmodifiableMap(new EnumMap<>(resources));
+        }
+
+        static PlayerSnapshot of(Player player) {
+            return new PlayerSnapshot(player.getName(), player.getResources(), player.getVictoryPoints(),
+                player.getSettlements(), player.getCities(), player.getRoads());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.catan.actor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An unbounded, lock-free queue for many producers and a single consumer.
+ *
+ * <p>This is a linked queue in the style of Vyukov's intrusive MPSC queue. A producer appends
+ * with a single atomic swap of the tail and then links the previous tail to its node, so
+ * producers never retry and never wait for each other. The consumer follows the links from a
+ * stub node it owns. Between the swap and the link the new element is briefly invisible to the
+ * consumer, which then sees the queue as empty and must try again later.</p>
+ *
+ * <p>{@link #offer} may be called from any thread, {@link #poll} only from one thread at a
+ * time.</p>
+ */
+final class MpscQueue<T> {
+    private final AtomicReference<Node<T>> tail;
+    private final AtomicInteger size = new AtomicInteger();
+    private Node<T> head;
+
+    MpscQueue() {
+        Node<T> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * Appends an element. Never blocks.
+     *
+     * @return The number of elements queued including this one
+     */
+    int offer(T value) {
+        Node<T> node = new Node<>(value);
+        int queued = size.incrementAndGet();
+        Node<T> previous = tail.getAndSet(node);
+        previous.next = node;
+        return queued;
+    }
+
+    /**
+     * Removes the oldest element, or returns null if none is visible yet. Consumer only.
+     */
+    T poll() {
+        Node<T> next = head.next;
+        if (next == null) {
+            return null;
+        }
+        T value = next.value;
+        next.value = null;
+        head = next;
+        size.decrementAndGet();
+        return value;
+    }
+
+    /**
+     * Returns the number of offered elements not yet polled.
+     */
+    int size() {
+        return size.get();
+    }
+
+    private static final class Node<T> {
+        T value;
+        volatile Node<T> next;
+
+        Node(T value) {
+            this.value = value;
+        }
+    }
+}
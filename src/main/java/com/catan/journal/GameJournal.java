@@ -0,0 +1,428 @@
+package com.catan.journal;
+
+import com.catan.model.GameCodec;
+import com.catan.model.GameRecorder;
+import com.catan.model.GameState;
+import com.catan.model.Move;
+import com.catan.model.ResourceType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only journal of every change of any number of games, for audits and replays.
+ *
+ * <p>Games are attached with {@link #attach(long, GameState)}, which saves the game as it is
+ * and then records each roll, build, trade, phase change and undo through a
+ * {@link GameRecorder}, until {@link #detach(GameState)} closes the game. Events are
+ * varint-encoded and tagged with the game id, so games played concurrently share one
+ * file:</p>
+ * <pre>
+ *   file  = magic:i32 version:u8 event*
+ *   event = type:u8 gameId:varint fields:varint*
+ * </pre>
+ * <p>The fields of each type are listed in {@link JournalEvent}; a typical action takes four
+ * or five bytes.</p>
+ *
+ * <p>Writes use group commit. Recording only encodes the event into an in-memory buffer under
+ * a short lock. A background committer swaps the buffer for an empty one every commit
+ * interval, writes it with a single {@link FileChannel} write and optionally forces it to the
+ * device, so one write and one sync cover every event of the interval. {@link #commit()}
+ * waits until everything recorded before the call is on disk. A crash loses at most the
+ * events of the last interval and may leave a torn event at the end of the file, which
+ * {@link JournalReader} ignores.</p>
+ *
+ * <p>Opening an existing journal reads it once: a torn event at the end is cut off, so that
+ * new events stay readable, and the highest game id is noted, so that
+ * {@link #reserveGameId()} hands out ids that are unique within the journal across
+ * restarts.</p>
+ */
+public final class GameJournal implements AutoCloseable {
+    /** "SQCJ" */
+    public static final int MAGIC = 0x5351434a;
+    public static final int VERSION = 2;
+
+    static final int HEADER_BYTES = 5;
+
+    /** Default time between two commits */
+    public static final long DEFAULT_COMMIT_INTERVAL_MILLIS = 2;
+
+    // The committer is woken early once this many bytes are waiting
+    private static final int EAGER_COMMIT_BYTES = 256 * 1024;
+    // Longest event other than GAME_STARTED: type, game id, a long and three small fields
+    private static final int MAX_EVENT_BYTES = 1 + 2 * Varint.MAX_BYTES + 3 * 5;
+
+    private final FileChannel channel;
+    private final long commitIntervalNanos;
+    private final boolean sync;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition committedCondition = lock.newCondition();
+    private final Thread committer;
+
+    // Guarded by the lock
+    private ByteBuffer active = ByteBuffer.allocate(64 * 1024);
+    private long appended;
+    private long committed;
+    private long commits;
+    private IOException failure;
+    private boolean running = true;
+    private long nextGameId;
+
+    // Owned by the committer
+    private ByteBuffer writing = ByteBuffer.allocate(64 * 1024);
+
+    private GameJournal(FileChannel channel, long commitIntervalNanos, boolean sync, long nextGameId) {
+        this.channel = channel;
+        this.nextGameId = nextGameId;
+        this.commitIntervalNanos = commitIntervalNanos;
+        this.sync = sync;
+        this.committer = new Thread(this::commitLoop, "game-journal");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Opens a journal for appending with the default commit interval, forcing every commit to
+     * the device.
+     */
+    public static GameJournal open(Path file) throws IOException {
+        return open(file, DEFAULT_COMMIT_INTERVAL_MILLIS, true);
+    }
+
+    /**
+     * Opens a journal for appending, creating it if needed.
+     *
+     * @param file The journal file
+     * @param commitIntervalMillis The longest time an event waits in memory
+     * @param sync Whether every commit is forced to the device
+     */
+    public static GameJournal open(Path file, long commitIntervalMillis, boolean sync) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            long nextGameId = 1;
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).put((byte) VERSION).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+            } else {
+                checkHeader(channel);
+                try (JournalReader reader = JournalReader.open(file)) {
+                    JournalEvent event = new JournalEvent();
+                    long end = HEADER_BYTES;
+                    while (reader.next(event)) {
+                        nextGameId = Math.max(nextGameId, event.getGameId() + 1);
+                        end = reader.position();
+                    }
+                    if (reader.isTruncated()) {
+                        // Events appended after a torn one could never be read
+                        channel.truncate(end);
+                    }
+                }
+            }
+            channel.position(channel.size());
+            return new GameJournal(channel, TimeUnit.MILLISECONDS.toNanos(commitIntervalMillis), sync, nextGameId);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static void checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // Read the whole header
+        }
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+            throw new IOException("Not a game journal");
+        }
+        int version = header.get() & 0xff;
+        if (version != VERSION) {
+            throw new IOException("Unsupported journal version " + version);
+        }
+    }
+
+    /**
+     * Reserves a game id that no game of this journal has used, not even before the journal
+     * was last opened.
+     *
+     * @return The id, to be passed to {@link #attach(long, GameState)}
+     */
+    public long reserveGameId() {
+        lock.lock();
+        try {
+            return nextGameId++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Saves a game into the journal and records all its later changes.
+     *
+     * @param gameId The id of the game, unique within the journal, e.g. from {@link #reserveGameId()}
+     * @param state The game; its recorder is replaced
+     * @return The recorder now set on the game
+     */
+    public GameRecorder attach(long gameId, GameState state) {
+        byte[] saved = GameCodec.encode(state);
+        lock.lock();
+        try {
+            ByteBuffer out = reserve(1 + 2 * Varint.MAX_BYTES + saved.length);
+            int start = out.position();
+            out.put((byte) JournalEvent.GAME_STARTED);
+            Varint.put(out, gameId);
+            Varint.put(out, saved.length);
+            out.put(saved);
+            appended(out, start);
+            nextGameId = Math.max(nextGameId, gameId + 1);
+        } finally {
+            lock.unlock();
+        }
+        GameRecorder recorder = new Recorder(gameId, state.getRecordedActions());
+        state.setRecorder(recorder);
+        return recorder;
+    }
+
+    /**
+     * Stops recording a game and closes it in the journal, so that replays can hand it over
+     * and forget it. A game that is won stays open until it is detached, since the win can
+     * still be undone.
+     */
+    public void detach(GameState state) {
+        if (state.getRecorder() instanceof Recorder recorder && recorder.journal() == this) {
+            append(JournalEvent.GAME_CLOSED, recorder.gameId, 0, 0, 0, 0, 0);
+            state.setRecorder(null);
+        }
+    }
+
+    /**
+     * Waits until every event recorded before this call is written, and forced to the device
+     * if the journal syncs.
+     */
+    public void commit() throws IOException {
+        lock.lock();
+        try {
+            long target = appended;
+            LockSupport.unpark(committer);
+            while (committed < target && failure == null && running) {
+                committedCondition.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of bytes recorded, including those not committed yet.
+     */
+    public long getBytesRecorded() {
+        lock.lock();
+        try {
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of group commits so far.
+     */
+    public long getCommitCount() {
+        lock.lock();
+        try {
+            return commits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits every recorded event and closes the file. Games still attached must not change
+     * any more.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+        LockSupport.unpark(committer);
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void commitLoop() {
+        while (true) {
+            LockSupport.parkNanos(this, commitIntervalNanos);
+            long target;
+            boolean last;
+            lock.lock();
+            try {
+                last = !running;
+                target = appended;
+                if (active.position() > 0) {
+                    ByteBuffer full = active;
+                    active = writing;
+                    writing = full;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            if (writing.position() > 0) {
+                writing.flip();
+                try {
+                    while (writing.hasRemaining()) {
+                        channel.write(writing);
+                    }
+                    if (sync) {
+                        channel.force(false);
+                    }
+                } catch (IOException e) {
+                    error = e;
+                }
+                writing.clear();
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else if (target > committed) {
+                    committed = target;
+                    commits++;
+                }
+                committedCondition.signalAll();
+                if (failure != null || (last && committed == appended)) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Returns the active buffer with room for an event; the caller holds the lock
+    private ByteBuffer reserve(int bytes) {
+        if (!running) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Journal write failed", failure);
+        }
+        if (active.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(active.capacity() * 2, active.position() + bytes));
+            active.flip();
+            grown.put(active);
+            active = grown;
+        }
+        return active;
+    }
+
+    // Accounts for an event encoded from the given position on; the caller holds the lock
+    private void appended(ByteBuffer out, int start) {
+        appended += out.position() - start;
+        if (out.position() >= EAGER_COMMIT_BYTES) {
+            LockSupport.unpark(committer);
+        }
+    }
+
+    private void append(int type, long gameId, long first, int second, int third, int fourth, int fields) {
+        lock.lock();
+        try {
+            ByteBuffer out = reserve(MAX_EVENT_BYTES);
+            int start = out.position();
+            out.put((byte) type);
+            Varint.put(out, gameId);
+            if (fields > 0) {
+                Varint.put(out, first);
+            }
+            if (fields > 1) {
+                Varint.put(out, second);
+            }
+            if (fields > 2) {
+                Varint.put(out, third);
+            }
+            if (fields > 3) {
+                Varint.put(out, fourth);
+            }
+            appended(out, start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class Recorder implements GameRecorder {
+        private final long gameId;
+        // The action count of the game when it was attached; journaled actions are numbered from it
+        private final long firstAction;
+
+        Recorder(long gameId, long firstAction) {
+            this.gameId = gameId;
+            this.firstAction = firstAction;
+        }
+
+        GameJournal journal() {
+            return GameJournal.this;
+        }
+
+        @Override
+        public void diceRolled(int seat, int roll) {
+            append(JournalEvent.DICE_ROLLED, gameId, seat, roll, 0, 0, 2);
+        }
+
+        @Override
+        public void built(int seat, int move) {
+            append(JournalEvent.BUILT, gameId, seat, Move.type(move), Move.row(move), Move.col(move), 4);
+        }
+
+        @Override
+        public void traded(int fromSeat, int toSeat, ResourceType give, ResourceType get) {
+            append(JournalEvent.TRADED, gameId, fromSeat, toSeat, give.ordinal() << 4 | get.ordinal(), 0, 3);
+        }
+
+        @Override
+        public void phaseChanged(GameState.GamePhase phase) {
+            append(JournalEvent.PHASE_CHANGED, gameId, phase.ordinal(), 0, 0, 0, 1);
+        }
+
+        @Override
+        public void undone(long action) {
+            // Stored plus one, so that 0 stands for an action from before the game was attached
+            long journaled = action < firstAction ? 0 : action - firstAction + 1;
+            append(JournalEvent.UNDONE, gameId, journaled, 0, 0, 0, 1);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.catan.journal;
+
+import com.catan.model.GameCodec;
+import com.catan.model.GameCommand;
+import com.catan.model.GameRandom;
+import com.catan.model.GameState;
+import com.catan.model.Move;
+import com.catan.model.RollDiceCommand;
+import com.catan.model.TradeCommand;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Rebuilds games from a {@link GameJournal}.
+ *
+ * <p>A game starts from the copy saved when it was attached, and every journaled action is
+ * applied again as a {@link com.catan.model.GameCommand}, so undone actions can be taken back
+ * exactly. An undo names the action it reverts, so games that were changed both directly and
+ * through a {@link com.catan.model.CommandHistory} are rebuilt faithfully as well. Dice come from the journal, not from a random source, so the rebuilt game matches
+ * the played one. Only the games still being rebuilt are held in memory while the journal is
+ * streamed.</p>
+ *
+ * <p>Every action is checked against the rebuilt game; an action that is illegal there, or a
+ * phase change that did not happen, means the journal does not belong to the saved game and
+ * stops the replay with an {@link IllegalStateException}.</p>
+ */
+public final class GameReplayer {
+    // Replayed games never draw from it: every roll is taken from the journal
+    private static final long UNUSED_SEED = 0;
+
+    private GameReplayer() {
+    }
+
+    /**
+     * Rebuilds one game up to a number of dice rolls.
+     *
+     * @param journal The journal file
+     * @param gameId The id the game was attached with
+     * @param turns The number of dice rolls to replay, or {@link Integer#MAX_VALUE} for all
+     * @return The game, or null if the journal does not contain it
+     * @throws IllegalStateException If the journal diverges from the game, or starts a second
+     *     game with the same id before the requested turn
+     */
+    public static GameState replay(Path journal, long gameId, int turns) throws IOException {
+        try (JournalReader reader = JournalReader.open(journal)) {
+            JournalEvent event = new JournalEvent();
+            Replay replay = null;
+            while (reader.next(event)) {
+                if (event.getGameId() != gameId) {
+                    continue;
+                }
+                if (event.getType() == JournalEvent.GAME_STARTED) {
+                    if (replay != null) {
+                        throw new IllegalStateException("Journal starts game " + gameId + " more than once");
+                    }
+                    replay = new Replay(event);
+                } else if (replay != null) {
+                    if (event.getType() == JournalEvent.GAME_CLOSED
+                        || event.getType() == JournalEvent.DICE_ROLLED && replay.turns == turns) {
+                        break;
+                    }
+                    replay.apply(event);
+                }
+            }
+            return replay == null ? null : replay.state;
+        }
+    }
+
+    /**
+     * Rebuilds every game of a journal. Each game is handed over as soon as it is closed, see
+     * {@link GameJournal#detach}, and then forgotten, so only open games are held in memory;
+     * games never closed are handed over at the end of the journal. A won game is not handed
+     * over early, since the win may still be undone. A game whose id is started again, which only journals
+     * written without {@link GameJournal#reserveGameId()} can contain, is handed over unfinished
+     * when the next game with its id starts.
+     *
+     * @param journal The journal file
+     * @param consumer Receives the id and the rebuilt state of every game
+     * @return The number of events replayed
+     */
+    public static long replayAll(Path journal, BiConsumer<Long, GameState> consumer) throws IOException {
+        Map<Long, Replay> games = new HashMap<>();
+        try (JournalReader reader = JournalReader.open(journal)) {
+            JournalEvent event = new JournalEvent();
+            while (reader.next(event)) {
+                if (event.getType() == JournalEvent.GAME_STARTED) {
+                    Replay previous = games.put(event.getGameId(), new Replay(event));
+                    if (previous != null) {
+                        consumer.accept(event.getGameId(), previous.state);
+                    }
+                    continue;
+                }
+                if (event.getType() == JournalEvent.GAME_CLOSED) {
+                    Replay closed = games.remove(event.getGameId());
+                    if (closed != null) {
+                        consumer.accept(event.getGameId(), closed.state);
+                    }
+                    continue;
+                }
+                Replay replay = games.get(event.getGameId());
+                if (replay != null) {
+                    replay.apply(event);
+                }
+            }
+            for (Map.Entry<Long, Replay> game : games.entrySet()) {
+                consumer.accept(game.getKey(), game.getValue().state);
+            }
+            return reader.getEventCount();
+        }
+    }
+
+    private static final class Replay {
+        final GameState state;
+        // Every action replayed so far by number, null once it has been undone
+        final List<GameCommand> actions = new ArrayList<>();
+        int turns;
+
+        Replay(JournalEvent start) {
+            this.state = GameCodec.decode(start.getPayload(), new GameRandom(UNUSED_SEED));
+        }
+
+        void apply(JournalEvent event) {
+            switch (event.getType()) {
+                case JournalEvent.DICE_ROLLED -> {
+                    checkSeat(event);
+                    execute(new RollDiceCommand(event.getRoll()), event);
+                    turns++;
+                }
+                case JournalEvent.BUILT -> {
+                    checkSeat(event);
+                    execute(Move.toCommand(event.getMove()), event);
+                }
+                case JournalEvent.TRADED -> execute(new TradeCommand(state.getPlayers().get(event.getSeat()),
+                    state.getPlayers().get(event.getOtherSeat()), event.getGive(), event.getGet()), event);
+                case JournalEvent.PHASE_CHANGED -> {
+                    if (state.getCurrentPhase() != event.getPhase()) {
+                        throw diverged(event, "phase is " + state.getCurrentPhase());
+                    }
+                }
+                case JournalEvent.UNDONE -> {
+                    long action = event.getUndoneAction();
+                    if (action < 0 || action >= actions.size() || actions.get((int) action) == null) {
+                        throw diverged(event, "action " + action + " cannot be undone");
+                    }
+                    actions.set((int) action, null).revert(state);
+                }
+                default -> throw diverged(event, "unexpected event");
+            }
+        }
+
+        private void checkSeat(JournalEvent event) {
+            if (event.getSeat() != state.getCurrentPlayerIndex()) {
+                throw diverged(event, "seat " + state.getCurrentPlayerIndex() + " has the turn");
+            }
+        }
+
+        private void execute(GameCommand command, JournalEvent event) {
+            if (!command.apply(state)) {
+                throw diverged(event, command + " is illegal");
+            }
+            actions.add(command);
+        }
+
+        private static IllegalStateException diverged(JournalEvent event, String reason) {
+            return new IllegalStateException("Journal of game " + event.getGameId()
+                + " diverges at event type " + event.getType() + ": " + reason);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.catan.journal;
+
+import com.catan.model.GameState;
+import com.catan.model.ResourceType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One event read from a journal. The reader refills the same instance for every event.
+ *
+ * <p>Which fields are set depends on the {@link #getType() type}; the others keep stale
+ * values.</p>
+ */
+public final class JournalEvent {
+    /** The game was attached; the payload is the game in {@link com.catan.model.GameCodec} format */
+    public static final int GAME_STARTED = 1;
+    /** Seat and roll */
+    public static final int DICE_ROLLED = 2;
+    /** Seat and move */
+    public static final int BUILT = 3;
+    /** Seat, other seat, given and received resource */
+    public static final int TRADED = 4;
+    /** Phase */
+    public static final int PHASE_CHANGED = 5;
+    /** An earlier action of the game was undone; the number of that action */
+    public static final int UNDONE = 6;
+    /** The game was detached; no further events of it follow */
+    public static final int GAME_CLOSED = 7;
+
+    private static final ResourceType[] RESOURCES = ResourceType.values();
+    private static final GameState.GamePhase[] PHASES = GameState.GamePhase.values();
+
+    int type;
+    long gameId;
+    int seat;
+    int otherSeat;
+    int roll;
+    int move;
+    int give;
+    int get;
+    int phase;
+    long action;
+    ByteBuffer payload;
+
+    public int getType() {
+        return type;
+    }
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Returns the acting seat, the giving one of a trade.
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Returns the receiving seat of a trade.
+     */
+    public int getOtherSeat() {
+        return otherSeat;
+    }
+
+    public int getRoll() {
+        return roll;
+    }
+
+    /**
+     * Returns the {@link com.catan.model.Move} that was built.
+     */
+    public int getMove() {
+        return move;
+    }
+
+    public ResourceType getGive() {
+        return RESOURCES[give];
+    }
+
+    public ResourceType getGet() {
+        return RESOURCES[get];
+    }
+
+    public GameState.GamePhase getPhase() {
+        return PHASES[phase];
+    }
+
+    /**
+     * Returns which action of the game an {@link #UNDONE} event reverts: the rolls, builds and
+     * trades of the game are numbered from 0 in journal order, starting at its
+     * {@link #GAME_STARTED} event. -1 means an action performed before the game was attached.
+     */
+    public long getUndoneAction() {
+        return action;
+    }
+
+    /**
+     * Returns the saved game of a {@link #GAME_STARTED} event. The buffer is only valid until
+     * the next event is read.
+     */
+    public ByteBuffer getPayload() {
+        return payload;
+    }
+}
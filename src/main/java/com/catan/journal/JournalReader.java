@@ -0,0 +1,160 @@
+package com.catan.journal;
+
+import com.catan.model.Move;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams the events of a {@link GameJournal} file in order.
+ *
+ * <p>The file is read through a fixed-size direct buffer that is refilled as events are
+ * consumed, so journals of any size are read in constant memory; only a saved game larger
+ * than the buffer grows it. A torn event at the end of the file, left by a crash during a
+ * write, ends the stream and is reported by {@link #isTruncated()}.</p>
+ */
+public final class JournalReader implements AutoCloseable {
+    private static final int BUFFER_BYTES = 1 << 20;
+    // Enough for any event but GAME_STARTED, whose payload is fetched separately
+    private static final int MAX_HEAD_BYTES = 1 + 5 * Varint.MAX_BYTES;
+
+    private final FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private boolean endOfFile;
+    private boolean truncated;
+    private long events;
+
+    private JournalReader(FileChannel channel) {
+        this.channel = channel;
+        buffer.flip();
+    }
+
+    public static JournalReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            GameJournal.checkHeader(channel);
+            channel.position(GameJournal.HEADER_BYTES);
+            return new JournalReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next event into the given instance.
+     *
+     * @return false at the end of the journal
+     * @throws IOException If the file cannot be read or holds an unknown event type
+     */
+    public boolean next(JournalEvent event) throws IOException {
+        fill(MAX_HEAD_BYTES);
+        if (!buffer.hasRemaining()) {
+            return false;
+        }
+        int start = buffer.position();
+        try {
+            event.type = buffer.get();
+            event.gameId = Varint.getLong(buffer);
+            switch (event.type) {
+                case JournalEvent.GAME_STARTED -> {
+                    int length = Varint.getInt(buffer);
+                    if (!fill(length)) {
+                        truncated = true;
+                        return false;
+                    }
+                    event.payload = buffer.slice(buffer.position(), length);
+                    buffer.position(buffer.position() + length);
+                }
+                case JournalEvent.DICE_ROLLED -> {
+                    event.seat = Varint.getInt(buffer);
+                    event.roll = Varint.getInt(buffer);
+                }
+                case JournalEvent.BUILT -> {
+                    event.seat = Varint.getInt(buffer);
+                    int type = Varint.getInt(buffer);
+                    int row = Varint.getInt(buffer);
+                    event.move = Move.of(type, row, Varint.getInt(buffer));
+                }
+                case JournalEvent.TRADED -> {
+                    event.seat = Varint.getInt(buffer);
+                    event.otherSeat = Varint.getInt(buffer);
+                    int resources = Varint.getInt(buffer);
+                    event.give = resources >>> 4;
+                    event.get = resources & 0xf;
+                }
+                case JournalEvent.PHASE_CHANGED -> event.phase = Varint.getInt(buffer);
+                case JournalEvent.UNDONE -> event.action = Varint.getLong(buffer) - 1;
+                case JournalEvent.GAME_CLOSED -> {
+                    // No fields
+                }
+                default -> throw new IOException("Unknown journal event type " + event.type);
+            }
+        } catch (BufferUnderflowException e) {
+            // Only the last event can be incomplete, since fill() read all there was
+            buffer.position(start);
+            truncated = true;
+            return false;
+        }
+        events++;
+        return true;
+    }
+
+    /**
+     * Returns whether the journal ended in the middle of an event.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public long getEventCount() {
+        return events;
+    }
+
+    /**
+     * Returns the file offset just past the last event read.
+     */
+    long position() throws IOException {
+        return channel.position() - buffer.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Makes at least the given number of bytes available unless the file ends first
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes || endOfFile) {
+            return buffer.remaining() >= bytes;
+        }
+        if (buffer.capacity() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(bytes);
+            grown.put(buffer);
+            buffer = grown;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                endOfFile = true;
+                break;
+            }
+        }
+        // Top up the rest of the buffer while we are at it
+        while (!endOfFile && buffer.hasRemaining()) {
+            int read = channel.read(buffer);
+            if (read < 0) {
+                endOfFile = true;
+            } else if (read == 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+}
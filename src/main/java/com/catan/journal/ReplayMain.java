@@ -0,0 +1,43 @@
+package com.catan.journal;
+
+import com.catan.model.GameState;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Command line entry point for journal replays.
+ *
+ * <p>Usage: {@code ReplayMain journal} rebuilds every game and reports the replay speed.
+ * {@code ReplayMain journal gameId [turns]} rebuilds one game up to the given number of dice
+ * rolls and prints its status.</p>
+ */
+public class ReplayMain {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayMain journal [gameId [turns]]");
+            System.exit(1);
+        }
+        Path journal = Path.of(args[0]);
+        if (args.length > 1) {
+            int turns = args.length > 2 ? Integer.parseInt(args[2]) : Integer.MAX_VALUE;
+            GameState state = GameReplayer.replay(journal, Long.parseLong(args[1]), turns);
+            System.out.println(state == null ? "No such game" : state.getGameStatus());
+            return;
+        }
+
+        AtomicLong games = new AtomicLong();
+        AtomicLong won = new AtomicLong();
+        long start = System.nanoTime();
+        long events = GameReplayer.replayAll(journal, (id, state) -> {
+            games.incrementAndGet();
+            if (state.isGameEnded()) {
+                won.incrementAndGet();
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Replayed %d games (%d won), %d events in %.2f s%n", games.get(), won.get(), events, seconds);
+        System.out.printf("Events/sec: %.0f%n", events / seconds);
+    }
+}
@@ -0,0 +1,43 @@
+package com.catan.journal;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Unsigned LEB128 variable-length integers: seven bits per byte, low bits first, with the
+ * high bit set on every byte but the last. Values below 128 take a single byte.
+ */
+final class Varint {
+    /** Longest encoding of a long */
+    static final int MAX_BYTES = 10;
+
+    private Varint() {
+    }
+
+    static void put(ByteBuffer out, long value) {
+        while ((value & ~0x7fL) != 0) {
+            out.put((byte) (value & 0x7f | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static long getLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    static int getInt(ByteBuffer in) {
+        long value = getLong(in);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Varint out of range: " + value);
+        }
+        return (int) value;
+    }
+}
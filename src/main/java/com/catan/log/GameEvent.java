@@ -0,0 +1,114 @@
+package com.catan.log;
+
+/**
+ * A single structured game event.
+ *
+ * <p>Events are slots of the ring buffer inside a {@link GameEventLog}: they are allocated once
+ * and overwritten as the buffer wraps. A {@link GameEventSink} may read an event only for the
+ * duration of its {@code accept} call and must copy anything it wants to keep.</p>
+ *
+ * <p>The meaning of the fields depends on the {@link GameEventType}:</p>
+ * <ul>
+ *   <li>{@code actor} - the name of the player the event concerns, if any</li>
+ *   <li>{@code row}, {@code col} - the board position, if any</li>
+ *   <li>{@code value} - the dice roll, resource amount or victory points</li>
+ *   <li>{@code detail} - the display name of a resource, terrain, phase or edge orientation</li>
+ * </ul>
+ */
+public final class GameEvent {
+    private long sequence;
+    private long nanoTime;
+    private GameEventType type;
+    private String actor;
+    private int row;
+    private int col;
+    private int value;
+    private String detail;
+
+    GameEvent() {
+    }
+
+    void set(long sequence, GameEventType type, String actor, int row, int col, int value, String detail) {
+        this.sequence = sequence;
+        this.nanoTime = System.nanoTime();
+        this.type = type;
+        this.actor = actor;
+        this.row = row;
+        this.col = col;
+        this.value = value;
+        this.detail = detail;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getNanoTime() {
+        return nanoTime;
+    }
+
+    public GameEventType getType() {
+        return type;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getCol() {
+        return col;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * Appends a human readable description of the event.
+     *
+     * @param sb The builder to append to
+     * @return The same builder
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        switch (type) {
+            case DICE_ROLLED -> sb.append(actor).append(" rolled ").append(value);
+            case RESOURCES_PRODUCED -> sb.append(actor).append(" receives ").append(value)
+                .append("x ").append(detail);
+            case SETTLEMENT_BUILT -> appendPosition(sb.append(actor).append(" built a settlement at vertex "));
+            case CITY_BUILT -> appendPosition(sb.append(actor).append(" built a city at vertex "));
+            case ROAD_BUILT -> appendPosition(sb.append(actor).append(" built a road at edge "));
+            case LONGEST_ROAD -> {
+                if (actor == null) {
+                    sb.append("Nobody holds the Longest Road");
+                } else {
+                    sb.append(actor).append(" takes the Longest Road with ").append(value).append(" roads");
+                }
+            }
+            case PHASE_CHANGED -> sb.append("Phase: ").append(detail);
+            case GAME_WON -> sb.append(actor).append(" has won with ").append(value).append(" victory points");
+            case TILE_SELECTED -> appendPosition(sb.append("Tile selected: ").append(detail).append(' '));
+        }
+        return sb;
+    }
+
+    private void appendPosition(StringBuilder sb) {
+        sb.append('(').append(row).append(", ").append(col);
+        if (type == GameEventType.ROAD_BUILT) {
+            sb.append(", ").append(detail);
+        }
+        sb.append(')');
+    }
+
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+}
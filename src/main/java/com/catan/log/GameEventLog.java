@@ -0,0 +1,225 @@
+package com.catan.log;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous, structured log of game events.
+ *
+ * <p>Events are written into a preallocated ring buffer of {@link GameEvent} slots and handed
+ * to a {@link GameEventSink} by a single background drain thread, so the game never waits for
+ * the sink:</p>
+ * <ul>
+ *   <li>Any number of threads may log concurrently. A producer claims a sequence number with a
+ *       compare-and-set, fills the slot and publishes it; nothing is allocated.</li>
+ *   <li>If the buffer is full the event is dropped and counted rather than blocking the
+ *       producer. See {@link #getDroppedCount()}.</li>
+ *   <li>Events below the threshold level are rejected by a single comparison. The
+ *       {@link #disabled()} log rejects every event and owns no buffer or thread.</li>
+ * </ul>
+ *
+ * <p>Callers that need to compute arguments should guard the call with
+ * {@link #isEnabled(GameEventType)} so that a disabled log costs nothing.</p>
+ */
+public final class GameEventLog implements AutoCloseable {
+    /** Default number of event slots */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /** System property selecting the level of the {@link #console()} log */
+    public static final String LEVEL_PROPERTY = "catan.log.level";
+
+    private static final GameEventLog DISABLED = new GameEventLog();
+
+    // How long the drain thread sleeps when the buffer is empty
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+
+    private final int threshold;
+    private final GameEventSink sink;
+    private final GameEvent[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread drainer;
+    private volatile long drained;
+    private volatile boolean running;
+
+    private GameEventLog() {
+        this.threshold = LogLevel.OFF.ordinal();
+        this.sink = null;
+        this.slots = null;
+        this.published = null;
+        this.mask = 0;
+        this.drainer = null;
+    }
+
+    /**
+     * Creates a log and starts its drain thread.
+     *
+     * @param capacity The number of event slots, rounded up to a power of two
+     * @param level The lowest level that is recorded
+     * @param sink Receives the events on the drain thread
+     */
+    public GameEventLog(int capacity, LogLevel level, GameEventSink sink) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.threshold = level.ordinal();
+        this.sink = sink;
+        this.slots = new GameEvent[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new GameEvent();
+            published.set(i, -1);
+        }
+        this.mask = size - 1;
+        this.running = true;
+        this.drainer = new Thread(this::drain, "game-event-log");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * Returns the shared log that records nothing.
+     */
+    public static GameEventLog disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Returns the shared log that prints to standard output. Its level is read once from the
+     * {@value #LEVEL_PROPERTY} system property and defaults to {@link LogLevel#DEBUG}.
+     */
+    public static GameEventLog console() {
+        return ConsoleHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a sink that prints one line per event.
+     *
+     * @param out The stream to print to
+     * @return A sink for a single drain thread
+     */
+    public static GameEventSink printing(PrintStream out) {
+        StringBuilder line = new StringBuilder();
+        return event -> {
+            line.setLength(0);
+            out.println(event.appendTo(line));
+        };
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= threshold;
+    }
+
+    public boolean isEnabled(GameEventType type) {
+        return type.getLevel().ordinal() >= threshold;
+    }
+
+    /**
+     * Records an event if its level is enabled. Never blocks.
+     *
+     * @param type The type of the event
+     * @param actor The name of the player concerned, or null
+     * @param row The board row, or 0
+     * @param col The board column, or 0
+     * @param value The numeric payload, or 0
+     * @param detail The display name of a resource, terrain or phase, or null
+     * @return false if the event was filtered out or dropped
+     */
+    public boolean log(GameEventType type, String actor, int row, int col, int value, String detail) {
+        if (type.getLevel().ordinal() < threshold || !running) {
+            return false;
+        }
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - drained > mask) {
+                dropped.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) sequence & mask;
+        slots[index].set(sequence, type, actor, row, col, value, detail);
+        published.set(index, sequence);
+        return true;
+    }
+
+    /**
+     * Returns the number of events dropped because the buffer was full.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the number of events waiting to be drained.
+     */
+    public long getPendingCount() {
+        return claimed.get() - drained;
+    }
+
+    /**
+     * Waits until every event logged before this call has been handed to the sink.
+     */
+    public void flush() {
+        if (drainer == null) {
+            return;
+        }
+        long target = claimed.get();
+        while (drained < target && drainer.isAlive()) {
+            LockSupport.unpark(drainer);
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Drains the remaining events and stops the drain thread. Later events are ignored.
+     */
+    @Override
+    public void close() {
+        if (drainer == null || !running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        long next = drained;
+        while (true) {
+            int index = (int) next & mask;
+            if (published.get(index) == next) {
+                try {
+                    sink.accept(slots[index]);
+                } catch (RuntimeException e) {
+                    // A failing sink must not stop the log; the event is lost
+                    dropped.increment();
+                }
+                next++;
+                drained = next;
+            } else if (running || next < claimed.get()) {
+                // Either idle, or a producer has claimed a slot and is still filling it
+                LockSupport.parkNanos(this, next < claimed.get() ? 1_000L : IDLE_PARK_NANOS);
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static final class ConsoleHolder {
+        static final GameEventLog INSTANCE = new GameEventLog(DEFAULT_CAPACITY,
+            LogLevel.valueOf(System.getProperty(LEVEL_PROPERTY, LogLevel.DEBUG.name()).toUpperCase()),
+            printing(System.out));
+    }
+}
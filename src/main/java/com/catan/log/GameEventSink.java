@@ -0,0 +1,12 @@
+package com.catan.log;
+
+/**
+ * Receives the events drained from a {@link GameEventLog}.
+ *
+ * <p>Sinks are called from the single drain thread of the log, never from the game itself, so
+ * they may block on I/O. The event is only valid during the call.</p>
+ */
+@FunctionalInterface
+public interface GameEventSink {
+    void accept(GameEvent event);
+}
@@ -0,0 +1,26 @@
+package com.catan.log;
+
+/**
+ * The kinds of event the game reports, each with the level it is logged at.
+ */
+public enum GameEventType {
+    DICE_ROLLED(LogLevel.INFO),
+    RESOURCES_PRODUCED(LogLevel.DEBUG),
+    SETTLEMENT_BUILT(LogLevel.INFO),
+    CITY_BUILT(LogLevel.INFO),
+    ROAD_BUILT(LogLevel.INFO),
+    LONGEST_ROAD(LogLevel.INFO),
+    PHASE_CHANGED(LogLevel.INFO),
+    GAME_WON(LogLevel.INFO),
+    TILE_SELECTED(LogLevel.TRACE);
+
+    private final LogLevel level;
+
+    GameEventType(LogLevel level) {
+        this.level = level;
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+}
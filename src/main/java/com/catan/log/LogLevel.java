@@ -0,0 +1,21 @@
+package com.catan.log;
+
+/**
+ * Severity of a game event. A {@link GameEventLog} records every event at or above its threshold.
+ */
+public enum LogLevel {
+    TRACE("Trace"),
+    DEBUG("Debug"),
+    INFO("Info"),
+    OFF("Off");
+
+    private final String displayName;
+
+    LogLevel(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,176 @@
+package com.catan.model;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size set of board positions stored as bits in {@code long} words.
+ *
+ * <p>Positions use the vertex numbering of the board ({@code row * (cols + 1) + col}), so
+ * the 49 vertices of the standard board fit into a single word. Edges are stored in the same
+ * space, each one at the id of its top or left vertex. All operations work in place on whole
+ * words and never allocate, except {@link #copy()}.</p>
+ */
+public final class BitBoard {
+    private final long[] words;
+    private final int size;
+
+    /**
+     * Creates an empty bit board.
+     *
+     * @param size The number of positions
+     */
+    public BitBoard(int size) {
+        this.size = size;
+        this.words = new long[(size + 63) >>> 6];
+    }
+
+    private BitBoard(BitBoard other) {
+        this.size = other.size;
+        this.words = other.words.clone();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean get(int index) {
+        return (words[index >>> 6] & 1L << index) != 0;
+    }
+
+    public void set(int index) {
+        words[index >>> 6] |= 1L << index;
+    }
+
+    public void clear(int index) {
+        words[index >>> 6] &= ~(1L << index);
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the next set position.
+     *
+     * @param from The first position to look at
+     * @return The next set position at or after {@code from}, or -1 if there is none
+     */
+    public int nextSetBit(int from) {
+        if (from >= size) {
+            return -1;
+        }
+        int wordIndex = from >>> 6;
+        long word = words[wordIndex] & -1L << from;
+        while (true) {
+            if (word != 0) {
+                return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++wordIndex == words.length) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+    }
+
+    public BitBoard copy() {
+        return new BitBoard(this);
+    }
+
+    public void copyFrom(BitBoard other) {
+        System.arraycopy(other.words, 0, words, 0, words.length);
+    }
+
+    public void or(BitBoard other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    public void and(BitBoard other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= other.words[i];
+        }
+    }
+
+    public void andNot(BitBoard other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= ~other.words[i];
+        }
+    }
+
+    public boolean intersects(BitBoard other) {
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves every position up by {@code distance}, dropping positions beyond the end.
+     */
+    public void shiftUp(int distance) {
+        int wordShift = distance >>> 6;
+        int bitShift = distance & 63;
+        for (int i = words.length - 1; i >= 0; i--) {
+            int source = i - wordShift;
+            long word = source >= 0 ? words[source] << bitShift : 0;
+            if (bitShift != 0 && source > 0) {
+                word |= words[source - 1] >>> (64 - bitShift);
+            }
+            words[i] = word;
+        }
+        clearUnused();
+    }
+
+    /**
+     * Moves every position down by {@code distance}, dropping positions below zero.
+     */
+    public void shiftDown(int distance) {
+        int wordShift = distance >>> 6;
+        int bitShift = distance & 63;
+        for (int i = 0; i < words.length; i++) {
+            int source = i + wordShift;
+            long word = source < words.length ? words[source] >>> bitShift : 0;
+            if (bitShift != 0 && source + 1 < words.length) {
+                word |= words[source + 1] << (64 - bitShift);
+            }
+            words[i] = word;
+        }
+    }
+
+    private void clearUnused() {
+        int used = size & 63;
+        if (used != 0) {
+            words[words.length - 1] &= -1L >>> (64 - used);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof BitBoard && ((BitBoard) o).size == size && Arrays.equals(((BitBoard) o).words, words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
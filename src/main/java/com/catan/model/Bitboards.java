@@ -0,0 +1,538 @@
+package com.catan.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bitboard view of the occupancy of a {@link GameBoard}.
+ *
+ * <p>The board keeps these masks up to date alongside its {@link Vertex} and {@link Edge}
+ * objects. Players are identified by {@link GameBoard#getPlayerIndex(Player)}. Vertices use
+ * the ids {@code row * (cols + 1) + col}; a horizontal edge is stored at the id of its left
+ * vertex and a vertical edge at the id of its top vertex. Thanks to this shared numbering,
+ * moving to a neighbour is a shift by one (left/right) or by the row stride (up/down), and
+ * whole-board queries are a handful of word operations. On the standard board every mask is
+ * a single {@code long}.</p>
+ *
+ * <p>Query methods write into a caller supplied {@link BitBoard} (see {@link #newBitBoard()})
+ * and do not allocate. {@link #copy()} snapshots the whole position for search.</p>
+ *
+ * <p>Besides plain occupancy, a road frontier is cached per player: the free edges touching
+ * the player's buildings or roads. It is updated in constant time on every placement, so
+ * legal roads never have to be searched for. Removing a piece again, when a build is taken
+ * back, recomputes the affected frontiers with a few whole-board operations.</p>
+ *
+ * <p>The vertices blocked by the distance rule, every building and its neighbours, are kept
+ * the same way, so {@link #isBlocked(int)} is a single bit test.</p>
+ *
+ * <p>Unlike the chunked occupancy of {@link GameBoard}, every mask is dense and covers the
+ * whole board, so that queries stay plain word operations. A player's first build allocates
+ * the player's six masks of one bit per vertex each, which on large boards is a cost that
+ * grows with the board size rather than with what was built.</p>
+ */
+public final class Bitboards {
+    private final int rows;
+    private final int cols;
+    private final int stride;
+
+    // Precomputed geometry masks, never modified and shared by all bitboards of a cached size
+    private final BitBoard vertexMask;
+    private final BitBoard horizontalEdgeMask;
+    private final BitBoard verticalEdgeMask;
+    private final BitBoard notFirstColumn;
+    private final BitBoard notLastColumn;
+
+    private final BitBoard occupiedVertices;
+    private final BitBoard occupiedHorizontalEdges;
+    private final BitBoard occupiedVerticalEdges;
+    private final BitBoard blockedVertices;
+    private BitBoard[] settlements;
+    private BitBoard[] cities;
+    private BitBoard[] horizontalRoads;
+    private BitBoard[] verticalRoads;
+    private BitBoard[] horizontalFrontier;
+    private BitBoard[] verticalFrontier;
+    private int playerCount;
+
+    private final BitBoard scratch;
+    private final BitBoard networkScratch;
+
+    Bitboards(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = cols + 1;
+        int size = (rows + 1) * stride;
+
+        Geometry geometry = Geometry.of(rows, cols);
+        this.vertexMask = geometry.vertexMask;
+        this.horizontalEdgeMask = geometry.horizontalEdgeMask;
+        this.verticalEdgeMask = geometry.verticalEdgeMask;
+        this.notFirstColumn = geometry.notFirstColumn;
+        this.notLastColumn = geometry.notLastColumn;
+
+        this.occupiedVertices = new BitBoard(size);
+        this.occupiedHorizontalEdges = new BitBoard(size);
+        this.occupiedVerticalEdges = new BitBoard(size);
+        this.blockedVertices = new BitBoard(size);
+        this.settlements = new BitBoard[0];
+        this.cities = new BitBoard[0];
+        this.horizontalRoads = new BitBoard[0];
+        this.verticalRoads = new BitBoard[0];
+        this.horizontalFrontier = new BitBoard[0];
+        this.verticalFrontier = new BitBoard[0];
+        this.scratch = new BitBoard(size);
+        this.networkScratch = new BitBoard(size);
+    }
+
+    private Bitboards(Bitboards other) {
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.stride = other.stride;
+        this.vertexMask = other.vertexMask;
+        this.horizontalEdgeMask = other.horizontalEdgeMask;
+        this.verticalEdgeMask = other.verticalEdgeMask;
+        this.notFirstColumn = other.notFirstColumn;
+        this.notLastColumn = other.notLastColumn;
+        this.occupiedVertices = other.occupiedVertices.copy();
+        this.occupiedHorizontalEdges = other.occupiedHorizontalEdges.copy();
+        this.occupiedVerticalEdges = other.occupiedVerticalEdges.copy();
+        this.blockedVertices = other.blockedVertices.copy();
+        this.playerCount = other.playerCount;
+        this.settlements = copyAll(other.settlements);
+        this.cities = copyAll(other.cities);
+        this.horizontalRoads = copyAll(other.horizontalRoads);
+        this.verticalRoads = copyAll(other.verticalRoads);
+        this.horizontalFrontier = copyAll(other.horizontalFrontier);
+        this.verticalFrontier = copyAll(other.verticalFrontier);
+        this.scratch = new BitBoard(vertexMask.size());
+        this.networkScratch = new BitBoard(vertexMask.size());
+    }
+
+    /**
+     * Masks that depend only on the board size, shared by the bitboards of every game of a
+     * cached size, like {@link BoardTopology}. Larger boards build their own.
+     */
+    private static final class Geometry {
+        private static final Map<Long, Geometry> CACHE = new ConcurrentHashMap<>();
+
+        final BitBoard vertexMask;
+        final BitBoard horizontalEdgeMask;
+        final BitBoard verticalEdgeMask;
+        final BitBoard notFirstColumn;
+        final BitBoard notLastColumn;
+
+        static Geometry of(int rows, int cols) {
+            if (!BoardTopology.isCached(rows, cols, CACHE)) {
+                return new Geometry(rows, cols);
+            }
+            return CACHE.computeIfAbsent((long) rows << 32 | cols, key -> new Geometry(rows, cols));
+        }
+
+        private Geometry(int rows, int cols) {
+            int stride = cols + 1;
+            int size = (rows + 1) * stride;
+            this.vertexMask = new BitBoard(size);
+            this.horizontalEdgeMask = new BitBoard(size);
+            this.verticalEdgeMask = new BitBoard(size);
+            this.notFirstColumn = new BitBoard(size);
+            this.notLastColumn = new BitBoard(size);
+            for (int row = 0; row <= rows; row++) {
+                for (int col = 0; col <= cols; col++) {
+                    int index = row * stride + col;
+                    vertexMask.set(index);
+                    if (col < cols) {
+                        horizontalEdgeMask.set(index);
+                        notLastColumn.set(index);
+                    }
+                    if (row < rows) {
+                        verticalEdgeMask.set(index);
+                    }
+                    if (col > 0) {
+                        notFirstColumn.set(index);
+                    }
+                }
+            }
+        }
+    }
+
+    private static BitBoard[] copyAll(BitBoard[] boards) {
+        BitBoard[] copies = new BitBoard[boards.length];
+        for (int i = 0; i < boards.length; i++) {
+            copies[i] = boards[i].copy();
+        }
+        return copies;
+    }
+
+    /**
+     * Creates an independent snapshot of all occupancy masks.
+     *
+     * @return The copy
+     */
+    public Bitboards copy() {
+        return new Bitboards(this);
+    }
+
+    /**
+     * Creates an empty bit board of the right size for this board.
+     *
+     * @return A new bit board
+     */
+    public BitBoard newBitBoard() {
+        return new BitBoard(vertexMask.size());
+    }
+
+    public int index(int row, int col) {
+        return row * stride + col;
+    }
+
+    public int rowOf(int index) {
+        return index / stride;
+    }
+
+    public int colOf(int index) {
+        return index % stride;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    // Updates, called by GameBoard whenever a building or road is placed
+
+    void addSettlement(int player, int vertex) {
+        ensurePlayer(player);
+        settlements[player].set(vertex);
+        occupiedVertices.set(vertex);
+        extendFrontier(player, vertex);
+        block(vertex);
+    }
+
+    void upgradeToCity(int player, int vertex) {
+        ensurePlayer(player);
+        settlements[player].clear(vertex);
+        cities[player].set(vertex);
+    }
+
+    void addRoad(int player, boolean horizontal, int edge) {
+        ensurePlayer(player);
+        if (horizontal) {
+            horizontalRoads[player].set(edge);
+            occupiedHorizontalEdges.set(edge);
+            for (int i = 0; i < playerCount; i++) {
+                horizontalFrontier[i].clear(edge);
+            }
+            extendFrontier(player, edge);
+            extendFrontier(player, edge + 1);
+        } else {
+            verticalRoads[player].set(edge);
+            occupiedVerticalEdges.set(edge);
+            for (int i = 0; i < playerCount; i++) {
+                verticalFrontier[i].clear(edge);
+            }
+            extendFrontier(player, edge);
+            extendFrontier(player, edge + stride);
+        }
+    }
+
+    // Reverse updates, called by GameBoard when a build is taken back
+
+    void removeSettlement(int player, int vertex) {
+        settlements[player].clear(vertex);
+        occupiedVertices.clear(vertex);
+        recomputeFrontier(player);
+        // Neighbours may still be blocked by other buildings
+        neighbours(occupiedVertices, blockedVertices);
+        blockedVertices.or(occupiedVertices);
+    }
+
+    void downgradeToSettlement(int player, int vertex) {
+        cities[player].clear(vertex);
+        settlements[player].set(vertex);
+    }
+
+    void removeRoad(int player, boolean horizontal, int edge) {
+        if (horizontal) {
+            horizontalRoads[player].clear(edge);
+            occupiedHorizontalEdges.clear(edge);
+        } else {
+            verticalRoads[player].clear(edge);
+            occupiedVerticalEdges.clear(edge);
+        }
+        // The freed edge may border the network of any player
+        for (int i = 0; i < playerCount; i++) {
+            recomputeFrontier(i);
+        }
+    }
+
+    /**
+     * Rebuilds the frontier of a player from its buildings and roads.
+     */
+    private void recomputeFrontier(int player) {
+        networkVertices(player, networkScratch);
+        freeEdgesAround(networkScratch, horizontalFrontier[player], verticalFrontier[player]);
+    }
+
+    /**
+     * Adds the free edges around a vertex that just joined the player's network.
+     */
+    private void extendFrontier(int player, int vertex) {
+        // Horizontal edges start at the vertex or one to the left, vertical ones at it or one row above
+        addIfFreeEdge(horizontalFrontier[player], horizontalEdgeMask, occupiedHorizontalEdges, vertex);
+        addIfFreeEdge(horizontalFrontier[player], horizontalEdgeMask, occupiedHorizontalEdges, vertex - 1);
+        addIfFreeEdge(verticalFrontier[player], verticalEdgeMask, occupiedVerticalEdges, vertex);
+        addIfFreeEdge(verticalFrontier[player], verticalEdgeMask, occupiedVerticalEdges, vertex - stride);
+    }
+
+    /**
+     * Blocks a vertex that just got a building and its up to four neighbours.
+     */
+    private void block(int vertex) {
+        blockedVertices.set(vertex);
+        if (notFirstColumn.get(vertex)) {
+            blockedVertices.set(vertex - 1);
+        }
+        if (notLastColumn.get(vertex)) {
+            blockedVertices.set(vertex + 1);
+        }
+        if (vertex >= stride) {
+            blockedVertices.set(vertex - stride);
+        }
+        if (vertex + stride < blockedVertices.size()) {
+            blockedVertices.set(vertex + stride);
+        }
+    }
+
+    private static void addIfFreeEdge(BitBoard frontier, BitBoard edgeMask, BitBoard occupied, int edge) {
+        if (edge >= 0 && edgeMask.get(edge) && !occupied.get(edge)) {
+            frontier.set(edge);
+        }
+    }
+
+    /**
+     * Removes every building, road and player. The masks of removed players are cleared and
+     * kept, so players registered again after a reset of the board reuse them.
+     */
+    void clear() {
+        occupiedVertices.clear();
+        occupiedHorizontalEdges.clear();
+        occupiedVerticalEdges.clear();
+        blockedVertices.clear();
+        for (int i = 0; i < settlements.length; i++) {
+            settlements[i].clear();
+            cities[i].clear();
+            horizontalRoads[i].clear();
+            verticalRoads[i].clear();
+            horizontalFrontier[i].clear();
+            verticalFrontier[i].clear();
+        }
+        playerCount = 0;
+    }
+
+    private void ensurePlayer(int player) {
+        if (player < playerCount) {
+            return;
+        }
+        if (player < settlements.length) {
+            // Cleared masks of players from before a clear()
+            playerCount = player + 1;
+            return;
+        }
+        int reusable = settlements.length;
+        settlements = Arrays.copyOf(settlements, player + 1);
+        cities = Arrays.copyOf(cities, player + 1);
+        horizontalRoads = Arrays.copyOf(horizontalRoads, player + 1);
+        verticalRoads = Arrays.copyOf(verticalRoads, player + 1);
+        horizontalFrontier = Arrays.copyOf(horizontalFrontier, player + 1);
+        verticalFrontier = Arrays.copyOf(verticalFrontier, player + 1);
+        for (int i = reusable; i <= player; i++) {
+            settlements[i] = newBitBoard();
+            cities[i] = newBitBoard();
+            horizontalRoads[i] = newBitBoard();
+            verticalRoads[i] = newBitBoard();
+            horizontalFrontier[i] = newBitBoard();
+            verticalFrontier[i] = newBitBoard();
+        }
+        playerCount = player + 1;
+    }
+
+    // Queries
+
+    public void occupiedVertices(BitBoard out) {
+        out.copyFrom(occupiedVertices);
+    }
+
+    public void freeVertices(BitBoard out) {
+        out.copyFrom(vertexMask);
+        out.andNot(occupiedVertices);
+    }
+
+    /**
+     * Collects the free vertices that are not adjacent to a building, where the distance rule
+     * allows a settlement.
+     */
+    public void openVertices(BitBoard out) {
+        out.copyFrom(vertexMask);
+        out.andNot(blockedVertices);
+    }
+
+    /**
+     * Checks whether a vertex is occupied or adjacent to a building, so that the distance rule
+     * forbids a settlement there.
+     */
+    public boolean isBlocked(int vertex) {
+        return blockedVertices.get(vertex);
+    }
+
+    public void settlements(int player, BitBoard out) {
+        copyOrClear(settlements, player, out);
+    }
+
+    public void cities(int player, BitBoard out) {
+        copyOrClear(cities, player, out);
+    }
+
+    /**
+     * Collects the settlements and cities of a player.
+     */
+    public void buildings(int player, BitBoard out) {
+        copyOrClear(settlements, player, out);
+        if (player < playerCount) {
+            out.or(cities[player]);
+        }
+    }
+
+    public void horizontalRoads(int player, BitBoard out) {
+        copyOrClear(horizontalRoads, player, out);
+    }
+
+    public void verticalRoads(int player, BitBoard out) {
+        copyOrClear(verticalRoads, player, out);
+    }
+
+    private void copyOrClear(BitBoard[] boards, int player, BitBoard out) {
+        if (player >= 0 && player < playerCount) {
+            out.copyFrom(boards[player]);
+        } else {
+            out.clear();
+        }
+    }
+
+    /**
+     * Gets the cached road frontier of a player: every free edge touching one of the
+     * player's buildings or roads.
+     */
+    public void roadFrontier(int player, BitBoard horizontalOut, BitBoard verticalOut) {
+        copyOrClear(horizontalFrontier, player, horizontalOut);
+        copyOrClear(verticalFrontier, player, verticalOut);
+    }
+
+    /**
+     * Collects all vertices touched by one of the player's roads.
+     */
+    public void roadEnds(int player, BitBoard out) {
+        out.clear();
+        if (player < 0 || player >= playerCount) {
+            return;
+        }
+        // A horizontal road at i joins vertices i and i + 1, a vertical one i and i + stride
+        out.copyFrom(horizontalRoads[player]);
+        out.shiftUp(1);
+        out.or(horizontalRoads[player]);
+        scratch.copyFrom(verticalRoads[player]);
+        scratch.shiftUp(stride);
+        out.or(scratch);
+        out.or(verticalRoads[player]);
+    }
+
+    /**
+     * Gets the number of roads a player has built.
+     */
+    public int roadCount(int player) {
+        if (player < 0 || player >= playerCount) {
+            return 0;
+        }
+        return horizontalRoads[player].cardinality() + verticalRoads[player].cardinality();
+    }
+
+    /**
+     * Lists the dense edge ids of a player's roads (see {@link BoardTopology}).
+     *
+     * @param out Receives the edge ids; must hold at least {@link #roadCount(int)} entries
+     * @return The number of edge ids written
+     */
+    public int roadEdges(int player, int[] out) {
+        if (player < 0 || player >= playerCount) {
+            return 0;
+        }
+        int count = 0;
+        // Bit i is the edge starting at vertex i; horizontal ids skip the last vertex of each row
+        for (int i = horizontalRoads[player].nextSetBit(0); i >= 0; i = horizontalRoads[player].nextSetBit(i + 1)) {
+            out[count++] = i - i / stride;
+        }
+        int horizontalEdges = (rows + 1) * cols;
+        for (int i = verticalRoads[player].nextSetBit(0); i >= 0; i = verticalRoads[player].nextSetBit(i + 1)) {
+            out[count++] = horizontalEdges + i;
+        }
+        return count;
+    }
+
+    /**
+     * Collects the vertices the player can extend roads from: buildings and road ends.
+     */
+    public void networkVertices(int player, BitBoard out) {
+        roadEnds(player, out);
+        if (player >= 0 && player < playerCount) {
+            out.or(settlements[player]);
+            out.or(cities[player]);
+        }
+    }
+
+    /**
+     * Collects the vertices directly connected by an edge to any of the given vertices.
+     * {@code vertices} and {@code out} must be different bit boards.
+     */
+    public void neighbours(BitBoard vertices, BitBoard out) {
+        out.copyFrom(vertices);
+        out.shiftUp(1);
+        out.and(notFirstColumn);
+        scratch.copyFrom(vertices);
+        scratch.shiftDown(1);
+        scratch.and(notLastColumn);
+        out.or(scratch);
+        scratch.copyFrom(vertices);
+        scratch.shiftUp(stride);
+        out.or(scratch);
+        scratch.copyFrom(vertices);
+        scratch.shiftDown(stride);
+        out.or(scratch);
+        out.and(vertexMask);
+    }
+
+    /**
+     * Collects the free edges touching any of the given vertices.
+     * {@code vertices} must differ from both output bit boards.
+     */
+    public void freeEdgesAround(BitBoard vertices, BitBoard horizontalOut, BitBoard verticalOut) {
+        // Edges starting at a vertex, plus edges ending at it (starting one step before)
+        horizontalOut.copyFrom(vertices);
+        horizontalOut.shiftDown(1);
+        horizontalOut.or(vertices);
+        horizontalOut.and(horizontalEdgeMask);
+        horizontalOut.andNot(occupiedHorizontalEdges);
+
+        verticalOut.copyFrom(vertices);
+        verticalOut.shiftDown(stride);
+        verticalOut.or(vertices);
+        verticalOut.and(verticalEdgeMask);
+        verticalOut.andNot(occupiedVerticalEdges);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+}
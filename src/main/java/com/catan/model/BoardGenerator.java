@@ -0,0 +1,167 @@
+package com.catan.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generates board layouts that satisfy a set of {@link LayoutRules}, e.g. to seed tournaments
+ * with fair maps.
+ *
+ * <p>A layout is found by randomized search and repair (see {@link LayoutSearch}); attempts
+ * that get stuck start over until one succeeds. {@link #generate(int, int, GameRandom)} runs
+ * on the calling thread. {@link #generate(int, int, int, long)} spreads a batch over a
+ * {@link ForkJoinPool} like {@link com.catan.sim.GameSimulator} does with games: the batch is
+ * split recursively and every leaf reuses one search's buffers for its layouts.</p>
+ *
+ * <p>Layout {@code i} of a batch is generated from {@link GameRandom#seedFor} of the batch
+ * seed and {@code i}, so a batch is reproducible regardless of scheduling. This class is
+ * thread-safe.</p>
+ */
+public class BoardGenerator {
+    /** Attempts after which the rules are considered unsatisfiable for a board size */
+    public static final int MAX_ATTEMPTS = 1000;
+
+    /** Number of layouts a single fork-join leaf generates before the batch is split no further */
+    private static final int LAYOUTS_PER_TASK = 256;
+
+    private final LayoutRules rules;
+    private final int parallelism;
+    private final LongAdder attempts = new LongAdder();
+    private ForkJoinPool pool;
+
+    /**
+     * Creates a generator whose batches use all available processors.
+     *
+     * @param rules The rules every layout must satisfy
+     */
+    public BoardGenerator(LayoutRules rules) {
+        this(rules, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a generator with a fixed degree of parallelism for batches.
+     *
+     * @param rules The rules every layout must satisfy
+     * @param parallelism The number of worker threads, started with the first batch
+     */
+    public BoardGenerator(LayoutRules rules, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.rules = rules;
+        this.parallelism = parallelism;
+    }
+
+    public LayoutRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Returns the number of search attempts made so far, including the successful ones.
+     */
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    /**
+     * Generates one layout on the calling thread.
+     *
+     * @param rows The number of tile rows
+     * @param cols The number of tile columns
+     * @param random The source of all random choices
+     * @return A layout satisfying the rules
+     * @throws IllegalStateException if no layout was found in {@value #MAX_ATTEMPTS} attempts
+     */
+    public BoardLayout generate(int rows, int cols, GameRandom random) {
+        checkSize(rows, cols);
+        return generate(new LayoutSearch(rows, cols, rules), random);
+    }
+
+    /**
+     * Generates a reproducible batch of layouts in parallel.
+     *
+     * @param rows The number of tile rows
+     * @param cols The number of tile columns
+     * @param count The number of layouts
+     * @param seed The batch seed
+     * @return The layouts, layout {@code i} generated from {@code GameRandom.seedFor(seed, i)}
+     * @throws IllegalStateException if a layout was not found in {@value #MAX_ATTEMPTS} attempts
+     */
+    public BoardLayout[] generate(int rows, int cols, int count, long seed) {
+        checkSize(rows, cols);
+        BoardLayout[] layouts = new BoardLayout[count];
+        getPool().invoke(new BatchTask(rows, cols, seed, layouts, 0, count));
+        return layouts;
+    }
+
+    /**
+     * Stops the worker threads of batches. Single layouts can still be generated.
+     */
+    public synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null || pool.isShutdown()) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+
+    private BoardLayout generate(LayoutSearch search, GameRandom random) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            attempts.increment();
+            BoardLayout layout = search.attempt(random);
+            if (layout != null && rules.isSatisfiedBy(layout)) {
+                return layout;
+            }
+        }
+        throw new IllegalStateException("No layout satisfying " + rules + " found in " + MAX_ATTEMPTS + " attempts");
+    }
+
+    private static void checkSize(int rows, int cols) {
+        if (rows < 1 || rows > GameBoard.MAX_SIZE || cols < 1 || cols > GameBoard.MAX_SIZE) {
+            throw new IllegalArgumentException("Unsupported board size " + rows + "x" + cols);
+        }
+    }
+
+    /**
+     * Generates the layouts {@code from} (inclusive) to {@code to} (exclusive) of a batch.
+     */
+    private class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int rows;
+        private final int cols;
+        private final long seed;
+        private final BoardLayout[] layouts;
+        private final int from;
+        private final int to;
+
+        BatchTask(int rows, int cols, long seed, BoardLayout[] layouts, int from, int to) {
+            this.rows = rows;
+            this.cols = cols;
+            this.seed = seed;
+            this.layouts = layouts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LAYOUTS_PER_TASK) {
+                LayoutSearch search = new LayoutSearch(rows, cols, rules);
+                for (int i = from; i < to; i++) {
+                    layouts[i] = generate(search, new GameRandom(GameRandom.seedFor(seed, i)));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BatchTask(rows, cols, seed, layouts, from, middle),
+                new BatchTask(rows, cols, seed, layouts, middle, to));
+        }
+    }
+}
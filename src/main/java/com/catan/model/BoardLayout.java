@@ -0,0 +1,189 @@
+package com.catan.model;
+
+import java.util.Arrays;
+
+/**
+ * The terrain type and number token of every tile of a board, without any buildings.
+ *
+ * <p>Layouts are immutable. Tiles are addressed by the dense ids of {@link BoardTopology}
+ * ({@code row * cols + col}). A layout can be played on with
+ * {@link GameBoard#GameBoard(BoardLayout)} or {@link GameState#GameState(int, BoardLayout, GameRandom)},
+ * and any number of boards may share one. Layouts that satisfy a set of {@link LayoutRules}
+ * are found by a {@link BoardGenerator}.</p>
+ *
+ * <p>A layout is the static template of its boards: besides the tiles it holds the shared
+ * topology and the static half of the production index, i.e. the resource and dice roll of
+ * every tile and the number of producer slots per roll. A board adds only its occupancy, so
+ * thousands of concurrent games on one layout keep a single copy of everything else.</p>
+ */
+public final class BoardLayout {
+    private static final TerrainType[] TERRAINS = TerrainType.values();
+
+    /** Highest possible dice roll, used to size the per-roll tables */
+    static final int MAX_ROLL = 12;
+
+    private final int rows;
+    private final int cols;
+    private final BoardTopology topology;
+    private final byte[] terrains;
+    private final byte[] numbers;
+
+    /** Resource ordinal + 1 each tile produces on its number, 0 if it never produces */
+    private final byte[] yields;
+
+    /** Corners of producing tiles per dice roll, the most producers a roll can have */
+    private final int[] producerSlots = new int[MAX_ROLL + 1];
+
+    // The arrays are owned by the layout from now on and must not be modified by the caller
+    BoardLayout(int rows, int cols, byte[] terrains, byte[] numbers) {
+        if (rows < 1 || rows > GameBoard.MAX_SIZE || cols < 1 || cols > GameBoard.MAX_SIZE) {
+            throw new IllegalArgumentException("Unsupported board size " + rows + "x" + cols);
+        }
+        if (terrains.length != rows * cols || numbers.length != rows * cols) {
+            throw new IllegalArgumentException("Layout must have exactly " + rows * cols + " tiles");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.topology = BoardTopology.of(rows, cols);
+        this.terrains = terrains;
+        this.numbers = numbers;
+        this.yields = new byte[terrains.length];
+        index();
+    }
+
+    /**
+     * Creates a blank layout for a {@link GameBoard} to {@link #shuffle} its tiles into.
+     */
+    BoardLayout(int rows, int cols) {
+        this(rows, cols, new byte[rows * cols], new byte[rows * cols]);
+    }
+
+    /**
+     * Deals shuffled terrain and number pools onto the tiles. Only the board that created
+     * this layout may call this, and only while no other board or caller can see the layout.
+     *
+     * @param terrainPool One terrain ordinal per tile
+     * @param numberPool One number token per tile that is not a desert
+     * @param random The source of the shuffles
+     */
+    void shuffle(byte[] terrainPool, byte[] numberPool, GameRandom random) {
+        int tileCount = terrains.length;
+        System.arraycopy(terrainPool, 0, terrains, 0, tileCount);
+        random.shuffle(terrains, tileCount);
+        int next = numberPool.length;
+        System.arraycopy(numberPool, 0, numbers, 0, next);
+        random.shuffle(numbers, next);
+
+        // Spread the numbers over the productive tiles from the back; no unread number is overwritten
+        for (int tile = tileCount - 1; tile >= 0; tile--) {
+            numbers[tile] = terrains[tile] == TerrainType.DESERT.ordinal() ? 0 : numbers[--next];
+        }
+        index();
+    }
+
+    private void index() {
+        Arrays.fill(producerSlots, 0);
+        for (int tile = 0; tile < terrains.length; tile++) {
+            TerrainType terrain = TERRAINS[terrains[tile]];
+            if (numbers[tile] != 0 && terrain.producesResource()) {
+                yields[tile] = (byte) (terrain.getResourceType().ordinal() + 1);
+                producerSlots[numbers[tile]] += 4;
+            } else {
+                yields[tile] = 0;
+            }
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getTileCount() {
+        return terrains.length;
+    }
+
+    /**
+     * Gets the terrain type of a tile.
+     *
+     * @param tileId The tile id
+     * @return The terrain type
+     */
+    public TerrainType getTerrain(int tileId) {
+        return TERRAINS[terrains[tileId]];
+    }
+
+    /**
+     * Gets the number token of a tile.
+     *
+     * @param tileId The tile id
+     * @return The number token, or 0 if the tile has none
+     */
+    public int getNumber(int tileId) {
+        return numbers[tileId];
+    }
+
+    /**
+     * Gets the tile at the specified coordinates.
+     *
+     * @param row The row coordinate (0 to rows - 1)
+     * @param col The column coordinate (0 to cols - 1)
+     * @return The shared tile instance, or null if coordinates are invalid
+     */
+    public GameBoard.Tile getTile(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return null;
+        }
+        int tile = row * cols + col;
+        return GameBoard.Tile.of(TERRAINS[terrains[tile]], numbers[tile]);
+    }
+
+    BoardTopology topology() {
+        return topology;
+    }
+
+    // Shared with the boards built from this layout, which never modify them
+    byte[] terrains() {
+        return terrains;
+    }
+
+    byte[] numbers() {
+        return numbers;
+    }
+
+    /**
+     * Gets the resource a tile produces when its number is rolled.
+     *
+     * @param tileId The tile id
+     * @return The resource ordinal + 1, or 0 if the tile never produces
+     */
+    int yield(int tileId) {
+        return yields[tileId];
+    }
+
+    /**
+     * Gets the number of settlement corners of the tiles that produce on a dice roll.
+     */
+    int producerSlots(int roll) {
+        return producerSlots[roll];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof BoardLayout other && rows == other.rows && cols == other.cols
+            && Arrays.equals(terrains, other.terrains) && Arrays.equals(numbers, other.numbers);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 * rows + cols;
+        result = 31 * result + Arrays.hashCode(terrains);
+        return 31 * result + Arrays.hashCode(numbers);
+    }
+}
@@ -0,0 +1,314 @@
+package com.catan.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable adjacency tables of a board with a given size.
+ *
+ * <p>Tiles, vertices and edges are numbered densely:</p>
+ * <ul>
+ *   <li>Tile ids: {@code row * cols + col}</li>
+ *   <li>Vertex ids: {@code row * (cols + 1) + col}</li>
+ *   <li>Edge ids: horizontal edges first ({@code row * cols + col}), followed by the
+ *       vertical edges ({@link #getHorizontalEdgeCount()} {@code + row * (cols + 1) + col})</li>
+ * </ul>
+ *
+ * <p>Relations with a fixed size (the 4 corners and sides of a tile, the 2 ends of an edge)
+ * are stored at {@code id * size}. Relations of varying size (neighbouring tiles, the edges,
+ * neighbours and tiles of a vertex) use a compressed sparse row layout: the entries of
+ * element {@code id} are found at indices {@code start(id)} (inclusive) to
+ * {@code start(id + 1)} (exclusive) of the matching entry array. All accessors are plain
+ * array reads and never allocate.</p>
+ *
+ * <p>Tables depend only on the board size. Those of boards up to {@value #MAX_CACHED_TILES}
+ * tiles are cached and shared by every board of that size, for about the first
+ * {@value #MAX_CACHED_SIZES} sizes. Larger boards build their own tables, which are freed with
+ * the last board or layout using them; games of one large size share them through a common
+ * {@link BoardLayout} instead.</p>
+ */
+public final class BoardTopology {
+    /** Largest board, in tiles, whose tables are cached */
+    static final int MAX_CACHED_TILES = 1024;
+    /** Maximum number of board sizes cached */
+    static final int MAX_CACHED_SIZES = 16;
+
+    private static final Map<Long, BoardTopology> CACHE = new ConcurrentHashMap<>();
+
+    private final int rows;
+    private final int cols;
+    private final int tileCount;
+    private final int vertexCount;
+    private final int horizontalEdgeCount;
+    private final int edgeCount;
+
+    private final int[] tileCorners;
+    private final int[] tileSides;
+    private final int[] edgeEnds;
+    private final int[] tileNeighbourStart;
+    private final int[] tileNeighbours;
+    private final int[] vertexEdgeStart;
+    private final int[] vertexEdges;
+    private final int[] vertexNeighbours;
+    private final int[] vertexTileStart;
+    private final int[] vertexTiles;
+
+    /**
+     * Gets the topology for a board size, shared if the size is small enough to be cached.
+     *
+     * @param rows The number of tile rows
+     * @param cols The number of tile columns
+     * @return The topology
+     */
+    public static BoardTopology of(int rows, int cols) {
+        if (!isCached(rows, cols, CACHE)) {
+            return new BoardTopology(rows, cols);
+        }
+        return CACHE.computeIfAbsent((long) rows << 32 | cols, key -> new BoardTopology(rows, cols));
+    }
+
+    /**
+     * Decides whether tables for a board size go into a size-keyed cache. Sizes already cached
+     * are always reused; new ones are only added while the cache has room, so callers seeing
+     * many sizes (decoders of untrusted data, generator batches) cannot grow it without bound.
+     */
+    static boolean isCached(int rows, int cols, Map<Long, ?> cache) {
+        if ((long) rows * cols > MAX_CACHED_TILES) {
+            return false;
+        }
+        return cache.size() < MAX_CACHED_SIZES || cache.containsKey((long) rows << 32 | cols);
+    }
+
+    private BoardTopology(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.tileCount = rows * cols;
+        this.vertexCount = (rows + 1) * (cols + 1);
+        this.horizontalEdgeCount = (rows + 1) * cols;
+        this.edgeCount = horizontalEdgeCount + rows * (cols + 1);
+
+        this.tileCorners = new int[tileCount * 4];
+        this.tileSides = new int[tileCount * 4];
+        this.tileNeighbourStart = new int[tileCount + 1];
+        this.tileNeighbours = new int[2 * (rows * (cols - 1) + cols * (rows - 1))];
+        int neighbour = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int tile = tileId(row, col);
+                tileCorners[tile * 4] = vertexId(row, col);               // top-left
+                tileCorners[tile * 4 + 1] = vertexId(row, col + 1);       // top-right
+                tileCorners[tile * 4 + 2] = vertexId(row + 1, col);       // bottom-left
+                tileCorners[tile * 4 + 3] = vertexId(row + 1, col + 1);   // bottom-right
+                tileSides[tile * 4] = horizontalEdgeId(row, col);         // top
+                tileSides[tile * 4 + 1] = horizontalEdgeId(row + 1, col); // bottom
+                tileSides[tile * 4 + 2] = verticalEdgeId(row, col);       // left
+                tileSides[tile * 4 + 3] = verticalEdgeId(row, col + 1);   // right
+
+                tileNeighbourStart[tile] = neighbour;
+                if (row > 0) tileNeighbours[neighbour++] = tileId(row - 1, col);
+                if (row < rows - 1) tileNeighbours[neighbour++] = tileId(row + 1, col);
+                if (col > 0) tileNeighbours[neighbour++] = tileId(row, col - 1);
+                if (col < cols - 1) tileNeighbours[neighbour++] = tileId(row, col + 1);
+            }
+        }
+        tileNeighbourStart[tileCount] = neighbour;
+
+        this.edgeEnds = new int[edgeCount * 2];
+        for (int row = 0; row <= rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int edge = horizontalEdgeId(row, col);
+                edgeEnds[edge * 2] = vertexId(row, col);
+                edgeEnds[edge * 2 + 1] = vertexId(row, col + 1);
+            }
+        }
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col <= cols; col++) {
+                int edge = verticalEdgeId(row, col);
+                edgeEnds[edge * 2] = vertexId(row, col);
+                edgeEnds[edge * 2 + 1] = vertexId(row + 1, col);
+            }
+        }
+
+        // Every edge contributes one entry to each of its ends, in both vertex tables
+        this.vertexEdgeStart = new int[vertexCount + 1];
+        this.vertexEdges = new int[edgeCount * 2];
+        this.vertexNeighbours = new int[edgeCount * 2];
+        this.vertexTileStart = new int[vertexCount + 1];
+        this.vertexTiles = new int[tileCount * 4];
+        int edgeEntry = 0;
+        int tileEntry = 0;
+        for (int row = 0; row <= rows; row++) {
+            for (int col = 0; col <= cols; col++) {
+                int vertex = vertexId(row, col);
+                vertexEdgeStart[vertex] = edgeEntry;
+                if (col > 0) {
+                    vertexEdges[edgeEntry] = horizontalEdgeId(row, col - 1);
+                    vertexNeighbours[edgeEntry++] = vertexId(row, col - 1);
+                }
+                if (col < cols) {
+                    vertexEdges[edgeEntry] = horizontalEdgeId(row, col);
+                    vertexNeighbours[edgeEntry++] = vertexId(row, col + 1);
+                }
+                if (row > 0) {
+                    vertexEdges[edgeEntry] = verticalEdgeId(row - 1, col);
+                    vertexNeighbours[edgeEntry++] = vertexId(row - 1, col);
+                }
+                if (row < rows) {
+                    vertexEdges[edgeEntry] = verticalEdgeId(row, col);
+                    vertexNeighbours[edgeEntry++] = vertexId(row + 1, col);
+                }
+
+                vertexTileStart[vertex] = tileEntry;
+                for (int tileRow = row - 1; tileRow <= row; tileRow++) {
+                    for (int tileCol = col - 1; tileCol <= col; tileCol++) {
+                        if (tileRow >= 0 && tileRow < rows && tileCol >= 0 && tileCol < cols) {
+                            vertexTiles[tileEntry++] = tileId(tileRow, tileCol);
+                        }
+                    }
+                }
+            }
+        }
+        vertexEdgeStart[vertexCount] = edgeEntry;
+        vertexTileStart[vertexCount] = tileEntry;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getHorizontalEdgeCount() {
+        return horizontalEdgeCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    // Id conversions
+
+    public int tileId(int row, int col) {
+        return row * cols + col;
+    }
+
+    public int vertexId(int row, int col) {
+        return row * (cols + 1) + col;
+    }
+
+    public int horizontalEdgeId(int row, int col) {
+        return row * cols + col;
+    }
+
+    public int verticalEdgeId(int row, int col) {
+        return horizontalEdgeCount + row * (cols + 1) + col;
+    }
+
+    public int tileRow(int tile) {
+        return tile / cols;
+    }
+
+    public int tileCol(int tile) {
+        return tile % cols;
+    }
+
+    public int vertexRow(int vertex) {
+        return vertex / (cols + 1);
+    }
+
+    public int vertexCol(int vertex) {
+        return vertex % (cols + 1);
+    }
+
+    public boolean isHorizontal(int edge) {
+        return edge < horizontalEdgeCount;
+    }
+
+    public int edgeRow(int edge) {
+        return edge < horizontalEdgeCount ? edge / cols : (edge - horizontalEdgeCount) / (cols + 1);
+    }
+
+    public int edgeCol(int edge) {
+        return edge < horizontalEdgeCount ? edge % cols : (edge - horizontalEdgeCount) % (cols + 1);
+    }
+
+    // Fixed-size relations
+
+    /**
+     * Gets a corner of a tile.
+     *
+     * @param tile The tile id
+     * @param corner 0 top-left, 1 top-right, 2 bottom-left, 3 bottom-right
+     * @return The vertex id of the corner
+     */
+    public int tileCorner(int tile, int corner) {
+        return tileCorners[tile * 4 + corner];
+    }
+
+    /**
+     * Gets a side of a tile.
+     *
+     * @param tile The tile id
+     * @param side 0 top, 1 bottom, 2 left, 3 right
+     * @return The edge id of the side
+     */
+    public int tileSide(int tile, int side) {
+        return tileSides[tile * 4 + side];
+    }
+
+    /**
+     * Gets an end of an edge.
+     *
+     * @param edge The edge id
+     * @param end 0 for the left/top end, 1 for the right/bottom end
+     * @return The vertex id of the end
+     */
+    public int edgeEnd(int edge, int end) {
+        return edgeEnds[edge * 2 + end];
+    }
+
+    // Variable-size relations (compressed sparse rows)
+
+    public int tileNeighbourStart(int tile) {
+        return tileNeighbourStart[tile];
+    }
+
+    public int tileNeighbour(int index) {
+        return tileNeighbours[index];
+    }
+
+    /**
+     * Gets where the edges and neighbours of a vertex start. The entries at the same index of
+     * {@link #vertexEdge(int)} and {@link #vertexNeighbour(int)} belong together: the edge
+     * leads to the neighbour.
+     */
+    public int vertexEdgeStart(int vertex) {
+        return vertexEdgeStart[vertex];
+    }
+
+    public int vertexEdge(int index) {
+        return vertexEdges[index];
+    }
+
+    public int vertexNeighbour(int index) {
+        return vertexNeighbours[index];
+    }
+
+    public int vertexTileStart(int vertex) {
+        return vertexTileStart[vertex];
+    }
+
+    public int vertexTile(int index) {
+        return vertexTiles[index];
+    }
+}
@@ -0,0 +1,50 @@
+package com.catan.model;
+
+/**
+ * Upgrades a settlement of the current player to a city and pays for it.
+ */
+public final class BuildCityCommand implements GameCommand {
+    private final int row;
+    private final int col;
+
+    // Recorded by apply
+    private boolean applied;
+    private int seat;
+    private long progress;
+
+    public BuildCityCommand(int row, int col) {
+        this.row = row;
+        this.col = col;
+    }
+
+    @Override
+    public boolean apply(GameState state) {
+        if (applied) {
+            throw new IllegalStateException("Command is already applied");
+        }
+        progress = state.saveProgress();
+        seat = state.getCurrentPlayerIndex();
+        applied = state.buildCityAtVertex(row, col, state.getPlayer(seat));
+        return applied;
+    }
+
+    @Override
+    public void revert(GameState state) {
+        if (!applied) {
+            throw new IllegalStateException("Command is not applied");
+        }
+        Player player = state.getPlayer(seat);
+        state.getGameBoard().getVertex(row, col).downgradeCity();
+        // The city goes back to the supply and the settlement piece returns to the board
+        player.adjustPieces(-1, 1, 0);
+        player.addVictoryPoints(-1);
+        BuildingCosts.refundCost(player, BuildingCosts.BuildingType.CITY);
+        state.restoreProgress(progress);
+        applied = false;
+    }
+
+    @Override
+    public String toString() {
+        return "BuildCity(" + row + ", " + col + ")";
+    }
+}
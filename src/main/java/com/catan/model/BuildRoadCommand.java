@@ -0,0 +1,60 @@
+package com.catan.model;
+
+/**
+ * Builds a road for the current player. In the play phase the road is paid for; in the setup
+ * phase it completes the turn.
+ */
+public final class BuildRoadCommand implements GameCommand {
+    private final int row;
+    private final int col;
+    private final boolean horizontal;
+
+    // Recorded by apply
+    private boolean applied;
+    private int seat;
+    private boolean paid;
+    private long progress;
+
+    public BuildRoadCommand(int row, int col, boolean horizontal) {
+        this.row = row;
+        this.col = col;
+        this.horizontal = horizontal;
+    }
+
+    @Override
+    public boolean apply(GameState state) {
+        if (applied) {
+            throw new IllegalStateException("Command is already applied");
+        }
+        progress = state.saveProgress();
+        seat = state.getCurrentPlayerIndex();
+        paid = state.getCurrentPhase() == GameState.GamePhase.PLAY;
+        Player player = state.getPlayer(seat);
+        applied = horizontal
+            ? state.buildRoadAtHorizontalEdge(row, col, player)
+            : state.buildRoadAtVerticalEdge(row, col, player);
+        return applied;
+    }
+
+    @Override
+    public void revert(GameState state) {
+        if (!applied) {
+            throw new IllegalStateException("Command is not applied");
+        }
+        Player player = state.getPlayer(seat);
+        GameBoard board = state.getGameBoard();
+        Edge edge = horizontal ? board.getHorizontalEdge(row, col) : board.getVerticalEdge(row, col);
+        edge.removeRoad();
+        player.adjustPieces(0, 0, 1);
+        if (paid) {
+            BuildingCosts.refundCost(player, BuildingCosts.BuildingType.ROAD);
+        }
+        state.restoreProgress(progress);
+        applied = false;
+    }
+
+    @Override
+    public String toString() {
+        return "BuildRoad(" + row + ", " + col + ", " + (horizontal ? "H" : "V") + ")";
+    }
+}
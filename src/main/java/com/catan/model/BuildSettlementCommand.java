@@ -0,0 +1,53 @@
+package com.catan.model;
+
+/**
+ * Builds a settlement for the current player. In the play phase the settlement is paid for.
+ */
+public final class BuildSettlementCommand implements GameCommand {
+    private final int row;
+    private final int col;
+
+    // Recorded by apply
+    private boolean applied;
+    private int seat;
+    private boolean paid;
+    private long progress;
+
+    public BuildSettlementCommand(int row, int col) {
+        this.row = row;
+        this.col = col;
+    }
+
+    @Override
+    public boolean apply(GameState state) {
+        if (applied) {
+            throw new IllegalStateException("Command is already applied");
+        }
+        progress = state.saveProgress();
+        seat = state.getCurrentPlayerIndex();
+        paid = state.getCurrentPhase() == GameState.GamePhase.PLAY;
+        applied = state.buildSettlementAtVertex(row, col, state.getPlayer(seat));
+        return applied;
+    }
+
+    @Override
+    public void revert(GameState state) {
+        if (!applied) {
+            throw new IllegalStateException("Command is not applied");
+        }
+        Player player = state.getPlayer(seat);
+        state.getGameBoard().getVertex(row, col).removeSettlement();
+        player.adjustPieces(1, 0, 0);
+        player.addVictoryPoints(-1);
+        if (paid) {
+            BuildingCosts.refundCost(player, BuildingCosts.BuildingType.SETTLEMENT);
+        }
+        state.restoreProgress(progress);
+        applied = false;
+    }
+
+    @Override
+    public String toString() {
+        return "BuildSettlement(" + row + ", " + col + ")";
+    }
+}
@@ -10,6 +10,9 @@ import java.util.Map;
 public class BuildingCosts {
     private static final Map<BuildingType, Map<ResourceType, Integer>> COSTS = new HashMap<>();
 
+    // The same costs as ordinal-indexed vectors, so affordability checks never allocate
+    private static final int[][] COST_VECTORS = new int[BuildingType.values().length][];
+
     public enum BuildingType {
         SETTLEMENT("Settlement"),
         CITY("City"),
@@ -46,6 +49,14 @@ public class BuildingCosts {
         roadCost.put(ResourceType.WOOD, 1);
         roadCost.put(ResourceType.BRICK, 1);
         COSTS.put(BuildingType.ROAD, roadCost);
+
+        for (BuildingType type : BuildingType.values()) {
+            int[] vector = new int[ResourceType.values().length];
+            for (Map.Entry<ResourceType, Integer> entry : COSTS.get(type).entrySet()) {
+                vector[entry.getKey().ordinal()] = entry.getValue();
+            }
+            COST_VECTORS[type.ordinal()] = vector;
+        }
     }
 
     public static Map<ResourceType, Integer> getCost(BuildingType buildingType) {
@@ -53,33 +64,16 @@ public class BuildingCosts {
     }
 
     public static boolean canAfford(Player player, BuildingType buildingType) {
-        Map<ResourceType, Integer> cost = getCost(buildingType);
-        
-        for (Map.Entry<ResourceType, Integer> entry : cost.entrySet()) {
-            ResourceType resource = entry.getKey();
-            int required = entry.getValue();
-            
-            if (player.getResourceCount(resource) < required) {
-                return false;
-            }
-        }
-        return true;
+        return player.hasResources(COST_VECTORS[buildingType.ordinal()]);
     }
 
     public static boolean payCost(Player player, BuildingType buildingType) {
-        if (!canAfford(player, buildingType)) {
-            return false;
-        }
+        return player.removeResources(COST_VECTORS[buildingType.ordinal()]);
+    }
 
-        Map<ResourceType, Integer> cost = getCost(buildingType);
-        
-        for (Map.Entry<ResourceType, Integer> entry : cost.entrySet()) {
-            ResourceType resource = entry.getKey();
-            int amount = entry.getValue();
-            
-            player.removeResource(resource, amount);
-        }
-        return true;
+    // Gives a paid cost back, used when a build is taken back
+    static void refundCost(Player player, BuildingType buildingType) {
+        player.addResources(COST_VECTORS[buildingType.ordinal()]);
     }
 
     public static String getCostString(BuildingType buildingType) {
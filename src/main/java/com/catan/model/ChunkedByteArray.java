@@ -0,0 +1,113 @@
+package com.catan.model;
+
+import java.util.Arrays;
+
+/**
+ * A byte array of fixed length that only allocates the parts that hold a non-zero value.
+ *
+ * <p>Indices are grouped into chunks of {@value #CHUNK_SIZE} consecutive ids. A chunk is
+ * allocated by the first write into it; reading from a chunk that was never written returns
+ * 0. With the row-major ids of {@link BoardTopology}, a chunk is a strip of one or a few
+ * board rows, so a large board where only a few regions are built on pays for those regions
+ * alone.</p>
+ *
+ * <p>{@link #fork()} shares every chunk with the copy. Afterwards each array copies its chunk
+ * table on its first write and a chunk on the first write into that chunk, so a fork costs
+ * one allocation and a change copies a single chunk.</p>
+ */
+final class ChunkedByteArray {
+    static final int CHUNK_BITS = 8;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final int length;
+    private byte[][] chunks;
+
+    // Chunks this array may write in place; null while the chunk table is shared
+    private boolean[] owned;
+
+    ChunkedByteArray(int length) {
+        this.length = length;
+        this.chunks = new byte[(length + CHUNK_MASK) >>> CHUNK_BITS][];
+        this.owned = new boolean[chunks.length];
+    }
+
+    private ChunkedByteArray(ChunkedByteArray source) {
+        this.length = source.length;
+        this.chunks = source.chunks;
+    }
+
+    /**
+     * Returns a copy-on-write copy. Neither array may modify a shared chunk from now on.
+     */
+    ChunkedByteArray fork() {
+        owned = null;
+        return new ChunkedByteArray(this);
+    }
+
+    int length() {
+        return length;
+    }
+
+    byte get(int index) {
+        byte[] chunk = chunks[index >>> CHUNK_BITS];
+        return chunk == null ? 0 : chunk[index & CHUNK_MASK];
+    }
+
+    void set(int index, byte value) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (owned == null) {
+            chunks = chunks.clone();
+            owned = new boolean[chunks.length];
+        }
+        int chunkIndex = index >>> CHUNK_BITS;
+        byte[] chunk = chunks[chunkIndex];
+        if (!owned[chunkIndex]) {
+            if (chunk == null) {
+                if (value == 0) {
+                    return;
+                }
+                chunk = new byte[CHUNK_SIZE];
+            } else {
+                chunk = chunk.clone();
+            }
+            chunks[chunkIndex] = chunk;
+            owned[chunkIndex] = true;
+        }
+        chunk[index & CHUNK_MASK] = value;
+    }
+
+    /**
+     * Sets every value to 0. Chunks this array owns are zeroed and kept for reuse; shared
+     * chunks are released.
+     */
+    void clear() {
+        if (owned == null) {
+            chunks = new byte[chunks.length][];
+            owned = new boolean[chunks.length];
+            return;
+        }
+        for (int i = 0; i < chunks.length; i++) {
+            if (owned[i]) {
+                Arrays.fill(chunks[i], (byte) 0);
+            } else {
+                chunks[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of chunks that are allocated.
+     */
+    int allocatedChunks() {
+        int count = 0;
+        for (byte[] chunk : chunks) {
+            if (chunk != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,91 @@
+package com.catan.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Undo and redo stacks of {@link GameCommand}s applied to one game.
+ */
+public class CommandHistory {
+    private final GameState state;
+    private final Deque<Applied> undoStack = new ArrayDeque<>();
+    private final Deque<GameCommand> redoStack = new ArrayDeque<>();
+
+    // A command on the undo stack and the number of the action it performed, see GameState#getRecordedActions()
+    private record Applied(GameCommand command, long action) {
+    }
+
+    public CommandHistory(GameState state) {
+        this.state = state;
+    }
+
+    /**
+     * Applies a command and records it. A successful command clears the redo stack.
+     *
+     * @param command The command to apply
+     * @return True if the command was applied
+     */
+    public boolean execute(GameCommand command) {
+        long action = state.getRecordedActions();
+        if (!command.apply(state)) {
+            return false;
+        }
+        undoStack.push(new Applied(command, action));
+        redoStack.clear();
+        return true;
+    }
+
+    /**
+     * Reverts the most recent command. A {@link GameRecorder} of the game sees the revert as
+     * a single {@link GameRecorder#undone(long)} naming the action of the command, not as the
+     * changes made to take it back.
+     *
+     * @return True if a command was reverted, false if there was nothing to undo
+     */
+    public boolean undo() {
+        Applied applied = undoStack.poll();
+        if (applied == null) {
+            return false;
+        }
+        GameRecorder recorder = state.getRecorder();
+        state.setRecorder(null);
+        try {
+            applied.command().revert(state);
+        } finally {
+            state.setRecorder(recorder);
+        }
+        if (recorder != null) {
+            recorder.undone(applied.action());
+        }
+        redoStack.push(applied.command());
+        return true;
+    }
+
+    /**
+     * Applies the most recently reverted command again.
+     *
+     * @return True if a command was applied again
+     */
+    public boolean redo() {
+        GameCommand command = redoStack.poll();
+        long action = state.getRecordedActions();
+        if (command == null || !command.apply(state)) {
+            return false;
+        }
+        undoStack.push(new Applied(command, action));
+        return true;
+    }
+
+    public boolean canUndo() {
+        return !undoStack.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoStack.isEmpty();
+    }
+
+    public void clear() {
+        undoStack.clear();
+        redoStack.clear();
+    }
+}
@@ -3,12 +3,14 @@ package com.catan.model;
 /**
  * Represents an edge where roads can be built.
  * Each edge connects two vertices and can hold one road.
+ * Edges obtained from a {@link GameBoard} are views: the road owner lives in the board.
  */
 public class Edge {
     private final int row;
     private final int col;
     private final boolean isHorizontal; // true = horizontal edge, false = vertical edge
-    private Player owner;
+    private int id = -1;        // Dense edge id on the attached board
+    private Player owner;       // Only used while not attached to a board
     private GameBoard gameBoard; // Reference to game board for validation
 
     public Edge(int row, int col, boolean isHorizontal) {
@@ -19,6 +21,15 @@ public class Edge {
         this.gameBoard = null; // Will be set by GameBoard
     }
 
+    // View of an edge of the given board
+    Edge(GameBoard gameBoard, int row, int col, boolean isHorizontal, int id) {
+        this.row = row;
+        this.col = col;
+        this.isHorizontal = isHorizontal;
+        this.id = id;
+        this.gameBoard = gameBoard;
+    }
+
     public int getRow() {
         return row;
     }
@@ -32,19 +43,29 @@ public class Edge {
     }
 
     public Player getOwner() {
-        return owner;
+        return gameBoard != null ? gameBoard.getEdgeOwner(id) : owner;
     }
 
     public void setOwner(Player owner) {
-        this.owner = owner;
+        if (gameBoard != null) {
+            gameBoard.setEdgeOwner(id, owner);
+        } else {
+            this.owner = owner;
+        }
     }
 
     public boolean isOccupied() {
-        return owner != null;
+        return getOwner() != null;
     }
 
     public void setGameBoard(GameBoard gameBoard) {
         this.gameBoard = gameBoard;
+        if (gameBoard == null) {
+            this.id = -1;
+        } else {
+            BoardTopology topology = gameBoard.getTopology();
+            this.id = isHorizontal ? topology.horizontalEdgeId(row, col) : topology.verticalEdgeId(row, col);
+        }
     }
 
     public boolean canBuildRoad(Player player) {
@@ -69,11 +90,24 @@ public class Edge {
         if (canBuildRoad(player)) {
             setOwner(player);
             player.useRoad();
+            if (gameBoard != null) {
+                gameBoard.onRoadBuilt(this);
+            }
             return true;
         }
         return false;
     }
 
+    // Takes back a road, e.g. when a build command is reverted; the owner's pieces are restored by the caller
+    void removeRoad() {
+        if (isOccupied()) {
+            if (gameBoard != null) {
+                gameBoard.onRoadRemoved(this);
+            }
+            setOwner(null);
+        }
+    }
+
     @Override
     public String toString() {
         return "Edge(" + row + ", " + col + ", " + (isHorizontal ? "H" : "V") + ")";
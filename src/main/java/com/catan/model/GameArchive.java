@@ -0,0 +1,175 @@
+package com.catan.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file of many saved games, read through a single memory mapping.
+ *
+ * <p>The file starts with a header followed by the games in {@link GameCodec} format, each
+ * prefixed with its length:</p>
+ * <pre>
+ *   magic:i32 version:u8 count:i32 (length:i32 game:u8[length])*
+ * </pre>
+ * <p>Opening an archive maps the file and records where each game starts; no game is read or
+ * copied until it is loaded, and loading decodes straight from the mapping. Archives are
+ * limited to 2 GB, several million games of the standard board.</p>
+ */
+public final class GameArchive implements AutoCloseable {
+    /** "SQCA" */
+    public static final int MAGIC = 0x53514341;
+    public static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 4 + 1 + 4;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int[] offsets;
+
+    private GameArchive(FileChannel channel) throws IOException {
+        if (channel.size() > Integer.MAX_VALUE) {
+            throw new IOException("Archive larger than 2 GB");
+        }
+        this.channel = channel;
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a game archive");
+        }
+        if (buffer.get(4) != VERSION) {
+            throw new IOException("Unsupported archive version " + buffer.get(4));
+        }
+        int count = buffer.getInt(5);
+        // Every game takes at least its length prefix
+        if (count < 0 || count > (buffer.limit() - HEADER_BYTES) / 4) {
+            throw new IOException("Corrupt game count " + count);
+        }
+        this.offsets = new int[count];
+        int position = HEADER_BYTES;
+        for (int i = 0; i < count; i++) {
+            if (position + 4 > buffer.limit()) {
+                throw new IOException("Archive is truncated after " + i + " games");
+            }
+            offsets[i] = position;
+            int length = buffer.getInt(position);
+            if (length < 0 || length > buffer.limit() - position - 4) {
+                throw new IOException("Archive is truncated or corrupt at game " + i);
+            }
+            position += 4 + length;
+        }
+    }
+
+    /**
+     * Opens an archive for reading.
+     */
+    public static GameArchive open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new GameArchive(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates an archive, replacing any existing file.
+     */
+    public static Writer create(Path file) throws IOException {
+        return new Writer(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * Returns a read-only view of the encoded bytes of a game, sharing the mapping.
+     */
+    public ByteBuffer slice(int index) {
+        int offset = offsets[index];
+        return buffer.slice(offset + 4, buffer.getInt(offset)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Loads a game with an unpredictably seeded dice generator.
+     */
+    public GameState load(int index) {
+        return GameCodec.decode(slice(index));
+    }
+
+    /**
+     * Loads a game.
+     *
+     * @param index The position of the game in the archive
+     * @param random The generator the loaded game rolls its dice with
+     */
+    public GameState load(int index, GameRandom random) {
+        return GameCodec.decode(slice(index), random);
+    }
+
+    /**
+     * Closes the file. The mapping itself is released by the garbage collector once no slice
+     * refers to it.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Appends games to a new archive. The count in the header is written on {@link #close()}.
+     */
+    public static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private ByteBuffer scratch = ByteBuffer.allocate(1024);
+        private int count;
+
+        private Writer(FileChannel channel) throws IOException {
+            this.channel = channel;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).put((byte) VERSION).putInt(0).flip();
+            write(header);
+        }
+
+        public void add(GameState state) throws IOException {
+            int size = GameCodec.encodedSize(state);
+            if (scratch.capacity() < size + 4) {
+                scratch = ByteBuffer.allocate(Math.max(size + 4, scratch.capacity() * 2));
+            }
+            scratch.clear();
+            scratch.putInt(size);
+            GameCodec.encode(state, scratch);
+            scratch.flip();
+            write(scratch);
+            count++;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                ByteBuffer header = ByteBuffer.allocate(4);
+                header.putInt(count).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, 5 + header.position());
+                }
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void write(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+}
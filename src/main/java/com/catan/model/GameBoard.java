@@ -8,7 +8,9 @@ import java.util.*;
  * <p>This class manages the complete game board structure including tiles, vertices (corners), 
  * and edges (roads). The board uses a 6x6 grid system with square tiles instead of the 
  * traditional hexagonal tiles. The board contains 36 total tiles, with 19 playable tiles 
- * following the original Catan distribution and 17 additional tiles to fill the square grid.</p>
+ * following the original Catan distribution and 17 additional tiles to fill the square grid.
+ * Larger (or smaller) rectangular boards of up to {@value #MAX_SIZE} tiles per side are
+ * supported as well; their terrain and number pools are scaled from the standard ones.</p>
  * 
  * <p>The board coordinates are organized as follows:</p>
  * <ul>
@@ -22,29 +24,53 @@ import java.util.*;
  * <ul>
  *   <li>Automatic terrain and number distribution based on original Catan rules</li>
  *   <li>Adjacency calculations for tiles, vertices, and edges</li>
- *   <li>Road network validation for building placement</li>
+ *   <li>Road network validation for building placement, kept incrementally per player</li>
  *   <li>Resource production coordination</li>
+ *   <li>Bitboard view of all buildings and roads for whole-board queries</li>
+ *   <li>Split into an immutable {@link BoardLayout} template (tiles, topology and static
+ *       production data), shared by every board on the same map, and the occupancy of this
+ *       game</li>
+ *   <li>Structure-of-arrays storage: primitive tile arrays with shared immutable tiles, and
+ *       chunked occupancy arrays that only allocate regions with buildings or roads, with
+ *       vertex and edge views, forked copy-on-write</li>
  * </ul>
  * 
- * <p>This class is thread-safe for read operations but should be accessed from a single 
- * thread for modifications during gameplay.</p>
+ * <p>This class is not thread-safe, not even for reads, since views and shared arrays are
+ * created on first use. Confine a game to one thread, or let a
+ * {@link com.catan.actor.GameActor} own it when several threads need to drive it.</p>
  * 
  * @author Development Team
  * @version 1.0
  * @since 1.0
  */
 public class GameBoard {
-    /** The 2D array of tiles representing the game board */
-    private final Tile[][] tiles;
-    
-    /** The 2D array of vertices (corners) where settlements and cities can be built */
-    private final Vertex[][] vertices;
-    
-    /** The 2D array of horizontal edges where roads can be built */
-    private final Edge[][] horizontalEdges;
+    /**
+     * Tiles, topology and static production data, shared with every board on the same layout.
+     * Only replaced by {@link #reset}, and reshuffled in place only while no one else sees it.
+     */
+    private BoardLayout layout;
+
+    /** Unshuffled terrain ordinals and number tokens for this size, created on first use */
+    private byte[] terrainPool;
+    private byte[] numberPool;
     
-    /** The 2D array of vertical edges where roads can be built */
-    private final Edge[][] verticalEdges;
+    /**
+     * Vertex views by vertex id, in chunks of {@link ChunkedByteArray#CHUNK_SIZE} ids. The
+     * table and each chunk are created on first access.
+     */
+    private Vertex[][] vertexViews;
+
+    /** Edge views by edge id, chunked like {@link #vertexViews} */
+    private Edge[][] edgeViews;
+
+    /** Owner of the building on each vertex id, as player index + 1 (0 = free) */
+    private final ChunkedByteArray vertexOwners;
+
+    /** Building on each vertex id (see {@link #NO_BUILDING}, {@link #SETTLEMENT}, {@link #CITY}) */
+    private final ChunkedByteArray vertexBuildings;
+
+    /** Owner of the road on each edge id, as player index + 1 (0 = free) */
+    private final ChunkedByteArray edgeOwners;
     
     /** Number of rows in the board */
     private final int rows;
@@ -53,7 +79,103 @@ public class GameBoard {
     private final int cols;
     
     /** Random number generator for board initialization */
-    private final Random random;
+    private GameRandom random;
+
+    /** Precomputed adjacency tables, shared by all boards of the same size */
+    private final BoardTopology topology;
+
+    /** Highest possible dice roll, used to size the per-roll production tables */
+    private static final int MAX_ROLL = BoardLayout.MAX_ROLL;
+
+    /** Largest initial size of a per-roll producer table; bigger boards grow them on demand */
+    private static final int MAX_INITIAL_PRODUCERS = 64;
+
+    private static final ResourceType[] RESOURCES = ResourceType.values();
+
+    private static final TerrainType[] TERRAINS = TerrainType.values();
+
+    /**
+     * Occupied vertices that produce on each dice roll, indexed by roll and then entry, packed
+     * as {@code vertexId << 8 | resource ordinal}
+     */
+    private int[][] producers;
+
+    /** Number of valid entries in each row of {@link #producers} */
+    private int[] producerCounts;
+
+    /** Players that have built on this board, in order of their first building */
+    private Player[] players = new Player[4];
+
+    /** Road connectivity of each player, indexed like {@link #players} */
+    private RoadNetwork[] roadNetworks = new RoadNetwork[4];
+
+    /** Number of registered players */
+    private int playerCount;
+
+    /** Bitboard view of the occupancy, maintained alongside the occupancy arrays */
+    private Bitboards bitboards;
+
+    /** Whether a settlement may not be built next to another building */
+    private boolean distanceRule = true;
+
+    /** Longest trail of each player's roads, indexed like {@link #players} */
+    private int[] roadLengths = new int[4];
+
+    /** Index of the player holding the Longest Road, or {@link #NO_HOLDER} */
+    private int longestRoadHolder = NO_HOLDER;
+
+    /**
+     * Undo records of the Longest Road, one per settlement or road built: the changed lengths
+     * as pairs of player index and previous length, then {@code changes << 8 | holder + 1}
+     * with the holder before the build
+     */
+    private int[] roadHistory = new int[16];
+    private int roadHistorySize;
+
+    /*
+     * Copy-on-write flags. A fork shares every mutable structure with its source, and both
+     * boards copy a shared structure before they first change it.
+     */
+    private boolean producersShared;
+    private boolean bitboardsShared;
+    private boolean layoutShared;
+    private boolean[] networkShared = new boolean[4];
+    private boolean roadHistoryShared;
+
+    /** Fewest roads in a row that earn the Longest Road */
+    public static final int LONGEST_ROAD_MINIMUM = 5;
+
+    /** Victory points of the Longest Road */
+    public static final int LONGEST_ROAD_POINTS = 2;
+
+    private static final int NO_HOLDER = -1;
+
+    /** Longest trail search of the calling thread, reused by every board */
+    private static final ThreadLocal<LongestRoad> ROAD_SEARCH = ThreadLocal.withInitial(LongestRoad::new);
+
+    /** Number of rows and columns of the standard board */
+    public static final int STANDARD_SIZE = 6;
+
+    /**
+     * Largest supported number of rows or columns. Vertex ids of the biggest board still fit
+     * the packed entries of the producer tables and road networks.
+     */
+    public static final int MAX_SIZE = 2048;
+
+    /** Relative frequencies of the productive terrain types on the standard board */
+    private static final TerrainType[] PRODUCTIVE_TERRAIN = {
+        TerrainType.FOREST, TerrainType.HILLS, TerrainType.MOUNTAINS, TerrainType.FIELDS, TerrainType.PASTURE
+    };
+    private static final int[] TERRAIN_WEIGHTS = {8, 7, 7, 7, 6};
+
+    /** Relative frequencies of the number tokens on the standard board */
+    private static final int[] NUMBER_TOKENS = {2, 12, 3, 4, 5, 6, 8, 9, 10, 11};
+    private static final int[] NUMBER_WEIGHTS = {2, 2, 3, 4, 4, 4, 5, 4, 4, 3};
+
+    /** Codes of {@link #vertexBuildings} */
+    private static final byte NO_BUILDING = 0;
+    private static final byte SETTLEMENT = 1;
+    private static final byte CITY = 2;
 
     // Coordinates of the empty field (e.g. center-ish)
     private static final int EMPTY_ROW = 2;
@@ -73,21 +195,251 @@ public class GameBoard {
      * and shuffled number tokens following original Catan rules.</p>
      */
     public GameBoard() {
-        this.rows = 6;
-        this.cols = 6;
-        this.tiles = new Tile[rows][cols];
-        this.vertices = new Vertex[rows + 1][cols + 1]; // +1 for corners
-        this.horizontalEdges = new Edge[rows + 1][cols]; // horizontal edges between tiles
-        this.verticalEdges = new Edge[rows][cols + 1];   // vertical edges between tiles
-        this.random = new Random();
+        this(new GameRandom());
+    }
+
+    /**
+     * Constructs a new game board with the standard 6x6 layout, shuffled by the given source.
+     * 
+     * <p>Boards built from generators with the same seed have identical layouts.</p>
+     * 
+     * @param random The source used to shuffle terrain and number tokens
+     */
+    public GameBoard(GameRandom random) {
+        this(new BoardLayout(STANDARD_SIZE, STANDARD_SIZE), Objects.requireNonNull(random));
+    }
+
+    /**
+     * Constructs a new game board of the given size, shuffled by the given source.
+     * 
+     * <p>The terrain and number pools keep the proportions of the standard board (see
+     * {@link #createTerrainDistribution(int)}), so a 6x6 board is identical to one created by
+     * {@link #GameBoard(GameRandom)}. Construction time and memory grow linearly with the
+     * number of tiles.</p>
+     * 
+     * @param rows The number of tile rows (1 to {@value #MAX_SIZE})
+     * @param cols The number of tile columns (1 to {@value #MAX_SIZE})
+     * @param random The source used to shuffle terrain and number tokens
+     * @throws IllegalArgumentException if a dimension is out of range
+     */
+    public GameBoard(int rows, int cols, GameRandom random) {
+        this(new BoardLayout(checkSize(rows, cols), cols), Objects.requireNonNull(random));
+    }
+
+    private static int checkSize(int rows, int cols) {
+        if (rows < 1 || rows > MAX_SIZE || cols < 1 || cols > MAX_SIZE) {
+            throw new IllegalArgumentException(
+                "Board size must be between 1x1 and " + MAX_SIZE + "x" + MAX_SIZE + ": " + rows + "x" + cols);
+        }
+        return rows;
+    }
+
+    /**
+     * Constructs an empty board with a prepared layout, e.g. one found by a
+     * {@link BoardGenerator}. The board keeps only its occupancy; tiles, topology and
+     * production data are the layout's, which any number of boards may share.
+     * 
+     * @param layout The terrain and number of every tile
+     */
+    public GameBoard(BoardLayout layout) {
+        this(layout, null);
+    }
+
+    /**
+     * Constructs an empty board with a saved layout, see {@link GameCodec}.
+     * 
+     * @param rows The number of tile rows
+     * @param cols The number of tile columns
+     * @param terrains The terrain type ordinal of each tile id; the board takes ownership
+     * @param numbers The number token of each tile id (0 = none); the board takes ownership
+     */
+    GameBoard(int rows, int cols, byte[] terrains, byte[] numbers) {
+        this(new BoardLayout(rows, cols, terrains, numbers), null);
+    }
+
+    private GameBoard(BoardLayout layout, GameRandom random) {
+        this.rows = layout.getRows();
+        this.cols = layout.getCols();
+        this.random = random;
+        this.topology = layout.topology();
+        this.layout = layout;
+        this.producers = new int[MAX_ROLL + 1][];
+        this.producerCounts = new int[MAX_ROLL + 1];
+        this.bitboards = new Bitboards(rows, cols);
+        if (random == null) {
+            this.layoutShared = true;
+        } else {
+            initializeBoard();
+        }
+        this.vertexOwners = new ChunkedByteArray(topology.getVertexCount());
+        this.vertexBuildings = new ChunkedByteArray(topology.getVertexCount());
+        this.edgeOwners = new ChunkedByteArray(topology.getEdgeCount());
+        initializeProductionIndex();
+    }
+
+    /**
+     * Constructs a copy-on-write fork of a board.
+     * 
+     * <p>The layout never changes once shared and is shared for good.
+     * The occupancy arrays, producer tables, road networks and bitboards are shared as well,
+     * but only until either board changes them: both boards mark them as shared here and copy
+     * each one before its first modification (the occupancy arrays just the modified chunk).
+     * Vertex and edge views are created on demand. Forking therefore costs a handful of small
+     * allocations however far the game has progressed.</p>
+     * 
+     * @param source The board to fork
+     * @param forkPlayers The players of the fork, in the order of the source's player indices
+     */
+    private GameBoard(GameBoard source, Player[] forkPlayers) {
+        this.rows = source.rows;
+        this.cols = source.cols;
+        this.layout = source.layout;
+        this.terrainPool = source.terrainPool;
+        this.numberPool = source.numberPool;
+        this.random = source.random;
+        this.topology = source.topology;
+
+        this.vertexOwners = source.vertexOwners.fork();
+        this.vertexBuildings = source.vertexBuildings.fork();
+        this.edgeOwners = source.edgeOwners.fork();
+        this.producers = source.producers;
+        this.producerCounts = source.producerCounts;
+        this.bitboards = source.bitboards;
+        this.playerCount = source.playerCount;
+        this.distanceRule = source.distanceRule;
+        this.players = forkPlayers;
+        this.roadNetworks = source.roadNetworks.clone();
+        this.networkShared = new boolean[roadNetworks.length];
+        this.roadLengths = source.roadLengths.clone();
+        this.longestRoadHolder = source.longestRoadHolder;
+        this.roadHistory = source.roadHistory;
+        this.roadHistorySize = source.roadHistorySize;
+
+        source.producersShared = producersShared = true;
+        source.bitboardsShared = bitboardsShared = true;
+        source.layoutShared = layoutShared = true;
+        source.roadHistoryShared = roadHistoryShared = true;
+        // Networks kept for reuse after a reset (beyond playerCount) are shared as well
+        for (int i = 0; i < roadNetworks.length; i++) {
+            if (roadNetworks[i] != null) {
+                source.networkShared[i] = networkShared[i] = true;
+            }
+        }
+    }
+
+    /**
+     * Forks this board for a forked game (see {@link GameState#fork(GameRandom)}).
+     * 
+     * @param playerCopies Maps every player of this board's game to its copy
+     * @return The fork
+     */
+    GameBoard fork(Map<Player, Player> playerCopies) {
+        Player[] forkPlayers = new Player[players.length];
+        for (int i = 0; i < playerCount; i++) {
+            forkPlayers[i] = playerCopies.get(players[i]);
+        }
+        return new GameBoard(this, forkPlayers);
+    }
+
+    /**
+     * Reinitializes this board in place for a new game, as if it had been constructed with
+     * {@code new GameBoard(getRows(), getCols(), random)}.
+     * 
+     * <p>The tiles are shuffled again, into a new layout if the current one is shared with
+     * another board or caller, and every building, road and registered player is
+     * removed. Arrays, views, bitboards and road networks owned by this board alone are
+     * cleared and reused rather than reallocated, so a reset allocates next to nothing.
+     * Vertex and edge objects obtained earlier stay valid views of this board.</p>
+     * 
+     * @param random The source used to shuffle terrain and number tokens
+     */
+    public void reset(GameRandom random) {
+        this.random = Objects.requireNonNull(random);
+        if (layoutShared) {
+            layout = new BoardLayout(rows, cols);
+            layoutShared = false;
+        }
         initializeBoard();
-        initializeVerticesAndEdges();
+        clearOccupancy();
+    }
+
+    /**
+     * Reinitializes this board in place for a new game on a prepared layout, like
+     * {@link #reset(GameRandom)} does with a shuffled one.
+     * 
+     * @param layout The terrain and number of every tile, of this board's size
+     * @throws IllegalArgumentException if the layout has a different size
+     */
+    public void reset(BoardLayout layout) {
+        if (layout.getRows() != rows || layout.getCols() != cols) {
+            throw new IllegalArgumentException("Layout is " + layout.getRows() + "x" + layout.getCols()
+                + ", board is " + rows + "x" + cols);
+        }
+        this.layout = layout;
+        this.layoutShared = true;
+        clearOccupancy();
+    }
+
+    private void clearOccupancy() {
+        vertexOwners.clear();
+        vertexBuildings.clear();
+        edgeOwners.clear();
+        if (producersShared) {
+            producers = new int[MAX_ROLL + 1][];
+            producerCounts = new int[MAX_ROLL + 1];
+            producersShared = false;
+            initializeProductionIndex();
+        } else {
+            // The tables keep their size and grow on demand if the new layout needs more
+            Arrays.fill(producerCounts, 0);
+        }
+        if (bitboardsShared) {
+            bitboards = new Bitboards(rows, cols);
+            bitboardsShared = false;
+        } else {
+            bitboards.clear();
+        }
+        Arrays.fill(players, null);
+        playerCount = 0;
+        distanceRule = true;
+        Arrays.fill(roadLengths, 0);
+        longestRoadHolder = NO_HOLDER;
+        roadHistorySize = 0;
+    }
+
+    private void writeProducers() {
+        if (producersShared) {
+            int[][] copy = new int[producers.length][];
+            for (int roll = 0; roll < producers.length; roll++) {
+                copy[roll] = producers[roll].clone();
+            }
+            producers = copy;
+            producerCounts = producerCounts.clone();
+            producersShared = false;
+        }
+    }
+
+    private Bitboards writeBitboards() {
+        if (bitboardsShared) {
+            bitboards = bitboards.copy();
+            bitboardsShared = false;
+        }
+        return bitboards;
+    }
+
+    private RoadNetwork writeNetwork(int player) {
+        if (networkShared[player]) {
+            roadNetworks[player] = roadNetworks[player].copy();
+            networkShared[player] = false;
+        }
+        return roadNetworks[player];
     }
 
     /**
      * Initializes the game board with terrain types and number tokens.
      * 
-     * <p>This method creates the terrain distribution optimized for a 6x6 grid:</p>
+     * <p>This method creates the terrain distribution optimized for a 6x6 grid, scaled to the
+     * actual size for other boards:</p>
      * <ul>
      *   <li>8 Forest tiles (Wood) - 22.2%</li>
      *   <li>7 Hills tiles (Brick) - 19.4%</li>
@@ -99,84 +451,93 @@ public class GameBoard {
      * 
      * <p>The number tokens are distributed as follows:</p>
      * <ul>
-     *   <li>Numbers 2 and 12: 4 tokens each</li>
-     *   <li>Numbers 3, 4, 5, 6, 8, 9, 10, 11: 4 tokens each</li>
+     *   <li>Numbers 2 and 12: 2 tokens each</li>
+     *   <li>Numbers 3 and 11: 3 tokens each</li>
+     *   <li>Numbers 4, 5, 6, 9, 10: 4 tokens each</li>
+     *   <li>Number 8: 5 tokens</li>
      *   <li>Number 7: Not used (robber)</li>
      * </ul>
      * 
      * <p>Both terrain types and numbers are shuffled randomly for each game.</p>
      */
     private void initializeBoard() {
-        // Create terrain distribution optimized for 6x6 grid
-        List<TerrainType> terrainTypes = createTerrainDistribution();
-        List<Integer> numbers = createNumberDistribution();
-        
-        // Verify we have exactly 36 terrain types and 35 numbers
         int totalTiles = rows * cols;
-        if (terrainTypes.size() != totalTiles) {
-            throw new IllegalStateException("Terrain distribution must contain exactly " + totalTiles + " tiles");
-        }
-        if (numbers.size() != 35) {
-            throw new IllegalStateException("Number distribution must contain exactly 35 numbers");
-        }
-        
-        // Shuffle both lists
-        Collections.shuffle(terrainTypes, random);
-        Collections.shuffle(numbers, random);
-        
-        int terrainIndex = 0;
-        int numberIndex = 0;
-        
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                TerrainType terrain = terrainTypes.get(terrainIndex++);
-                Integer number = terrain == TerrainType.DESERT ? null : numbers.get(numberIndex++);
-                tiles[row][col] = new Tile(terrain, number);
+        if (terrainPool == null) {
+            // Create terrain distribution optimized for 6x6 grid, scaled to the board size
+            byte[] terrains = createTerrainDistribution(totalTiles);
+            int productiveTiles = 0;
+            for (byte terrain : terrains) {
+                if (terrain != TerrainType.DESERT.ordinal()) {
+                    productiveTiles++;
+                }
             }
+            byte[] numbers = createNumberDistribution(productiveTiles);
+
+            // Verify every tile gets a terrain type and every productive tile a number
+            if (terrains.length != totalTiles) {
+                throw new IllegalStateException("Terrain distribution must contain exactly " + totalTiles + " tiles");
+            }
+            if (numbers.length != productiveTiles) {
+                throw new IllegalStateException("Number distribution must contain exactly " + productiveTiles + " numbers");
+            }
+            this.terrainPool = terrains;
+            this.numberPool = numbers;
         }
+
+        layout.shuffle(terrainPool, numberPool, random);
     }
 
     /**
-     * Initializes all vertices and edges on the game board.
+     * Sizes the dice-number production index.
      * 
-     * <p>This method creates:</p>
-     * <ul>
-     *   <li>All vertices (corners) where settlements and cities can be built</li>
-     *   <li>All horizontal edges where roads can be built</li>
-     *   <li>All vertical edges where roads can be built</li>
-     * </ul>
-     * 
-     * <p>Each edge is connected to the game board for validation purposes.</p>
+     * <p>Every corner of every producing tile is a potential producer for the tile's number
+     * (see {@link BoardLayout#producerSlots(int)}). The per-roll producer tables are sized for
+     * that worst case up to {@value #MAX_INITIAL_PRODUCERS} entries, so placing buildings on a
+     * standard board never reallocates; the tables of larger boards grow as settlements are
+     * placed.</p>
      */
-    private void initializeVerticesAndEdges() {
-        // Initialize vertices (corners)
-        for (int row = 0; row <= rows; row++) {
-            for (int col = 0; col <= cols; col++) {
-                vertices[row][col] = new Vertex(row, col);
-            }
-        }
-
-        // Initialize horizontal edges
-        for (int row = 0; row <= rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                horizontalEdges[row][col] = new Edge(row, col, true);
-                horizontalEdges[row][col].setGameBoard(this);
-            }
+    private void initializeProductionIndex() {
+        for (int roll = 0; roll <= MAX_ROLL; roll++) {
+            producers[roll] = new int[Math.min(layout.producerSlots(roll), MAX_INITIAL_PRODUCERS)];
         }
+    }
 
-        // Initialize vertical edges
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col <= cols; col++) {
-                verticalEdges[row][col] = new Edge(row, col, false);
-                verticalEdges[row][col].setGameBoard(this);
+    /**
+     * Registers a freshly built settlement as a producer for all rolls of its adjacent tiles
+     * and anchors the owner's road network at it. Called by {@link Vertex#buildSettlement(Player)};
+     * cities need no update because the building type is read at production time. A
+     * settlement between two roads of another player cuts that player's trails, so the
+     * Longest Road is updated as well.
+     * 
+     * @param vertex The vertex the settlement was built on
+     */
+    void onSettlementBuilt(Vertex vertex) {
+        int vertexId = topology.vertexId(vertex.getRow(), vertex.getCol());
+        int player = registerPlayer(vertex.getOwner());
+        writeNetwork(player).anchor(vertexId);
+        writeBitboards().addSettlement(player, vertexId);
+        writeProducers();
+        byte[] numbers = layout.numbers();
+        for (int i = topology.vertexTileStart(vertexId), end = topology.vertexTileStart(vertexId + 1); i < end; i++) {
+            int tile = topology.vertexTile(i);
+            int yield = layout.yield(tile);
+            if (yield != 0) {
+                int roll = numbers[tile];
+                int count = producerCounts[roll];
+                if (count == producers[roll].length) {
+                    producers[roll] = Arrays.copyOf(producers[roll], Math.max(4, count * 2));
+                }
+                producers[roll][count] = vertexId << 8 | yield - 1;
+                producerCounts[roll] = count + 1;
             }
         }
+        cutRoads(vertexId, player);
     }
 
     /**
      * Creates the terrain distribution for the game board.
      * 
-     * <p>This method creates a list of terrain types optimized for a 6x6 grid (36 tiles).
+     * <p>This method creates the terrain types optimized for a 6x6 grid (36 tiles).
      * The distribution is balanced to provide fair gameplay:</p>
      * <ul>
      *   <li>8 Forest tiles (Wood resource) - 22.2%</li>
@@ -187,21 +548,26 @@ public class GameBoard {
      *   <li>1 Desert tile (no resource) - 2.8%</li>
      * </ul>
      * 
+     * <p>Other board sizes get one desert per 36 tiles (at least one) and share the remaining
+     * tiles among the productive terrain types in the same 8:7:7:7:6 ratio, see
+     * {@link #apportion(int, int[])}.</p>
+     * 
      * <p>This distribution ensures balanced resource availability with minimal
      * desert tiles for strategic robber placement.</p>
      * 
-     * @return A list of terrain types ready for shuffling and placement
+     * @param totalTiles The number of tiles of the board
+     * @return The terrain type ordinals, ready for shuffling and placement
      */
-    private List<TerrainType> createTerrainDistribution() {
-        List<TerrainType> terrain = new ArrayList<>();
-        
-        // Optimized distribution for 36 tiles (6x6 grid) with 1 desert
-        terrain.addAll(Collections.nCopies(8, TerrainType.FOREST));    // 8 forests (22.2%)
-        terrain.addAll(Collections.nCopies(7, TerrainType.HILLS));     // 7 hills (19.4%)
-        terrain.addAll(Collections.nCopies(7, TerrainType.MOUNTAINS)); // 7 mountains (19.4%)
-        terrain.addAll(Collections.nCopies(7, TerrainType.FIELDS));    // 7 fields (19.4%)
-        terrain.addAll(Collections.nCopies(6, TerrainType.PASTURE));   // 6 pastures (16.7%)
-        terrain.add(TerrainType.DESERT);                               // 1 desert (2.8%)
+    static byte[] createTerrainDistribution(int totalTiles) {
+        int deserts = Math.max(1, (totalTiles + 18) / 36);
+        int[] counts = apportion(totalTiles - deserts, TERRAIN_WEIGHTS);
+
+        byte[] terrain = new byte[totalTiles];
+        int next = 0;
+        for (int i = 0; i < PRODUCTIVE_TERRAIN.length; i++) {
+            Arrays.fill(terrain, next, next += counts[i], (byte) PRODUCTIVE_TERRAIN[i].ordinal());
+        }
+        Arrays.fill(terrain, next, totalTiles, (byte) TerrainType.DESERT.ordinal());
         
         return terrain;
     }
@@ -209,47 +575,79 @@ public class GameBoard {
     /**
      * Creates the number token distribution for the game board.
      * 
-     * <p>This method creates a list of number tokens optimized for 35 productive tiles
-     * (36 total tiles minus 1 desert tile). The distribution is:</p>
+     * <p>This method creates one number token per productive tile. For the standard board
+     * (36 total tiles minus 1 desert tile) the distribution is:</p>
      * <ul>
-     *   <li>Numbers 2 and 12: 4 tokens each</li>
-     *   <li>Numbers 3, 4, 5, 6, 8, 9, 10, 11: 4 tokens each</li>
+     *   <li>Numbers 2 and 12: 2 tokens each</li>
+     *   <li>Numbers 3 and 11: 3 tokens each</li>
+     *   <li>Numbers 4, 5, 6, 9, 10: 4 tokens each</li>
+     *   <li>Number 8: 5 tokens</li>
      *   <li>Number 7: Not included (robber)</li>
      * </ul>
      * 
-     * <p>This creates a total of 35 tokens for 35 productive tiles, ensuring
-     * every productive tile gets a number token.</p>
-     * 
-     * @return A list of number tokens ready for shuffling and placement
-     */
-    private List<Integer> createNumberDistribution() {
-        List<Integer> numbers = new ArrayList<>();
-        // For 35 productive fields (36 total - 1 desert): distribute 35 numbers
-        // Distribution: 2, 12 each 4x; 3, 4, 5, 6, 8, 9, 10, 11 each 4x; plus one extra 8
-        numbers.addAll(Collections.nCopies(4, 2));
-        numbers.addAll(Collections.nCopies(4, 12));
-        numbers.addAll(Collections.nCopies(4, 3));
-        numbers.addAll(Collections.nCopies(4, 4));
-        numbers.addAll(Collections.nCopies(4, 5));
-        numbers.addAll(Collections.nCopies(4, 6));
-        numbers.addAll(Collections.nCopies(5, 8));  // 5 tokens for 8 (4+1 extra)
-        numbers.addAll(Collections.nCopies(4, 9));
-        numbers.addAll(Collections.nCopies(4, 10));
-        numbers.addAll(Collections.nCopies(4, 11));
-        // Results in 35 numbers for 35 productive tiles
+     * <p>Other board sizes keep these proportions, see {@link #apportion(int, int[])}.</p>
+     * 
+     * @param productiveTiles The number of tiles that need a token
+     * @return The number tokens, ready for shuffling and placement
+     */
+    static byte[] createNumberDistribution(int productiveTiles) {
+        int[] counts = apportion(productiveTiles, NUMBER_WEIGHTS);
+        byte[] numbers = new byte[productiveTiles];
+        int next = 0;
+        for (int i = 0; i < NUMBER_TOKENS.length; i++) {
+            Arrays.fill(numbers, next, next += counts[i], (byte) NUMBER_TOKENS[i]);
+        }
         return numbers;
     }
 
+    /**
+     * Splits a total into parts proportional to the given weights (largest remainder method).
+     * 
+     * <p>Every part first gets the floor of its exact share, then the parts with the largest
+     * remainders get one more until the total is reached; ties go to the earlier weight. When
+     * the total equals the sum of the weights, the parts are the weights themselves.</p>
+     * 
+     * @param total The total to split
+     * @param weights The relative size of each part
+     * @return The parts, summing to {@code total}
+     */
+    private static int[] apportion(int total, int[] weights) {
+        long weightSum = 0;
+        for (int weight : weights) {
+            weightSum += weight;
+        }
+        int[] parts = new int[weights.length];
+        long[] remainders = new long[weights.length];
+        int assigned = 0;
+        for (int i = 0; i < weights.length; i++) {
+            long share = (long) total * weights[i];
+            parts[i] = (int) (share / weightSum);
+            remainders[i] = share % weightSum;
+            assigned += parts[i];
+        }
+        for (; assigned < total; assigned++) {
+            int largest = 0;
+            for (int i = 1; i < weights.length; i++) {
+                if (remainders[i] > remainders[largest]) {
+                    largest = i;
+                }
+            }
+            parts[largest]++;
+            remainders[largest] = -1;
+        }
+        return parts;
+    }
+
     /**
      * Gets the tile at the specified coordinates.
      * 
-     * @param row The row coordinate (0-5)
-     * @param col The column coordinate (0-5)
+     * @param row The row coordinate (0 to rows - 1)
+     * @param col The column coordinate (0 to cols - 1)
      * @return The tile at the specified coordinates, or null if coordinates are invalid
      */
     public Tile getTile(int row, int col) {
         if (row >= 0 && row < rows && col >= 0 && col < cols) {
-            return tiles[row][col];
+            return getTileById(topology.tileId(row, col));
         }
         return null;
     }
@@ -257,13 +655,13 @@ public class GameBoard {
     /**
      * Gets the vertex at the specified coordinates.
      * 
-     * @param row The row coordinate (0-6)
-     * @param col The column coordinate (0-6)
+     * @param row The row coordinate (0 to rows)
+     * @param col The column coordinate (0 to cols)
      * @return The vertex at the specified coordinates, or null if coordinates are invalid
      */
     public Vertex getVertex(int row, int col) {
         if (row >= 0 && row <= rows && col >= 0 && col <= cols) {
-            return vertices[row][col];
+            return getVertexById(topology.vertexId(row, col));
         }
         return null;
     }
@@ -271,13 +669,13 @@ public class GameBoard {
     /**
      * Gets the horizontal edge at the specified coordinates.
      * 
-     * @param row The row coordinate (0-6)
-     * @param col The column coordinate (0-5)
+     * @param row The row coordinate (0 to rows)
+     * @param col The column coordinate (0 to cols - 1)
      * @return The horizontal edge at the specified coordinates, or null if coordinates are invalid
      */
     public Edge getHorizontalEdge(int row, int col) {
         if (row >= 0 && row <= rows && col >= 0 && col < cols) {
-            return horizontalEdges[row][col];
+            return getEdgeById(topology.horizontalEdgeId(row, col));
         }
         return null;
     }
@@ -285,13 +683,13 @@ public class GameBoard {
     /**
      * Gets the vertical edge at the specified coordinates.
      * 
-     * @param row The row coordinate (0-5)
-     * @param col The column coordinate (0-6)
+     * @param row The row coordinate (0 to rows - 1)
+     * @param col The column coordinate (0 to cols)
      * @return The vertical edge at the specified coordinates, or null if coordinates are invalid
      */
     public Edge getVerticalEdge(int row, int col) {
         if (row >= 0 && row < rows && col >= 0 && col <= cols) {
-            return verticalEdges[row][col];
+            return getEdgeById(topology.verticalEdgeId(row, col));
         }
         return null;
     }
@@ -299,7 +697,7 @@ public class GameBoard {
     /**
      * Gets the number of rows in the board.
      * 
-     * @return The number of rows (6)
+     * @return The number of rows (6 on the standard board)
      */
     public int getRows() {
         return rows;
@@ -308,12 +706,174 @@ public class GameBoard {
     /**
      * Gets the number of columns in the board.
      * 
-     * @return The number of columns (6)
+     * @return The number of columns (6 on the standard board)
      */
     public int getCols() {
         return cols;
     }
 
+    /**
+     * Gets the precomputed adjacency tables of this board.
+     * 
+     * <p>Hot paths should prefer the topology's index-based accessors over the list-returning
+     * adjacency methods of this class, which allocate a result list per call.</p>
+     * 
+     * @return The topology of this board
+     */
+    public BoardTopology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Gets a tile by its dense id (see {@link BoardTopology}).
+     * 
+     * <p>Tiles are stored as primitive arrays; the returned tile is a shared, immutable
+     * instance for its terrain and number (see {@link Tile#of(TerrainType, int)}).</p>
+     * 
+     * @param tileId The tile id
+     * @return The tile
+     */
+    public Tile getTileById(int tileId) {
+        return Tile.of(layout.getTerrain(tileId), layout.getNumber(tileId));
+    }
+
+    /**
+     * Gets the immutable layout this board is played on, e.g. to start further games on the
+     * same map. Boards built from it share its tiles, topology and production data.
+     * 
+     * @return The layout
+     */
+    public BoardLayout getLayout() {
+        layoutShared = true;
+        return layout;
+    }
+
+    /**
+     * Gets the terrain type of a tile without going through a {@link Tile}.
+     * 
+     * @param tileId The tile id
+     * @return The terrain type
+     */
+    public TerrainType getTileTerrain(int tileId) {
+        return layout.getTerrain(tileId);
+    }
+
+    /**
+     * Gets the number token of a tile without boxing it.
+     * 
+     * @param tileId The tile id
+     * @return The number token, or 0 if the tile has none
+     */
+    public int getTileNumber(int tileId) {
+        return layout.getNumber(tileId);
+    }
+
+    /**
+     * Gets a vertex by its dense id (see {@link BoardTopology}).
+     * 
+     * <p>The vertex is a view of this board's occupancy, created on first access. Concurrent
+     * readers may briefly obtain different but equivalent view objects.</p>
+     * 
+     * @param vertexId The vertex id
+     * @return The vertex
+     */
+    public Vertex getVertexById(int vertexId) {
+        Vertex[][] table = vertexViews;
+        if (table == null) {
+            table = new Vertex[chunkCount(topology.getVertexCount())][];
+            vertexViews = table;
+        }
+        Vertex[] views = table[vertexId >>> ChunkedByteArray.CHUNK_BITS];
+        if (views == null) {
+            views = new Vertex[ChunkedByteArray.CHUNK_SIZE];
+            table[vertexId >>> ChunkedByteArray.CHUNK_BITS] = views;
+        }
+        Vertex vertex = views[vertexId & ChunkedByteArray.CHUNK_SIZE - 1];
+        if (vertex == null) {
+            vertex = new Vertex(this, topology.vertexRow(vertexId), topology.vertexCol(vertexId), vertexId);
+            views[vertexId & ChunkedByteArray.CHUNK_SIZE - 1] = vertex;
+        }
+        return vertex;
+    }
+
+    /**
+     * Gets an edge by its dense id (see {@link BoardTopology}).
+     * 
+     * <p>Like vertices, edges are views created on first access.</p>
+     * 
+     * @param edgeId The edge id
+     * @return The horizontal or vertical edge
+     */
+    public Edge getEdgeById(int edgeId) {
+        Edge[][] table = edgeViews;
+        if (table == null) {
+            table = new Edge[chunkCount(topology.getEdgeCount())][];
+            edgeViews = table;
+        }
+        Edge[] views = table[edgeId >>> ChunkedByteArray.CHUNK_BITS];
+        if (views == null) {
+            views = new Edge[ChunkedByteArray.CHUNK_SIZE];
+            table[edgeId >>> ChunkedByteArray.CHUNK_BITS] = views;
+        }
+        Edge edge = views[edgeId & ChunkedByteArray.CHUNK_SIZE - 1];
+        if (edge == null) {
+            edge = new Edge(this, topology.edgeRow(edgeId), topology.edgeCol(edgeId), topology.isHorizontal(edgeId), edgeId);
+            views[edgeId & ChunkedByteArray.CHUNK_SIZE - 1] = edge;
+        }
+        return edge;
+    }
+
+    private static int chunkCount(int length) {
+        return (length + ChunkedByteArray.CHUNK_SIZE - 1) >>> ChunkedByteArray.CHUNK_BITS;
+    }
+
+    /**
+     * Gets the number of occupancy and road network chunks that have been allocated, see
+     * {@link ChunkedByteArray}. Regions without buildings or roads allocate none.
+     * 
+     * @return The allocated vertex, edge and road network chunks
+     */
+    public int getAllocatedChunkCount() {
+        int count = vertexOwners.allocatedChunks() + vertexBuildings.allocatedChunks() + edgeOwners.allocatedChunks();
+        for (int i = 0; i < playerCount; i++) {
+            count += roadNetworks[i].allocatedChunks();
+        }
+        return count;
+    }
+
+    // Occupancy accessors used by the vertex and edge views
+
+    Player getVertexOwner(int vertexId) {
+        int owner = vertexOwners.get(vertexId);
+        return owner == 0 ? null : players[owner - 1];
+    }
+
+    void setVertexOwner(int vertexId, Player owner) {
+        vertexOwners.set(vertexId, owner == null ? 0 : (byte) (registerPlayer(owner) + 1));
+    }
+
+    Vertex.BuildingType getVertexBuilding(int vertexId) {
+        return switch (vertexBuildings.get(vertexId)) {
+            case SETTLEMENT -> Vertex.BuildingType.SETTLEMENT;
+            case CITY -> Vertex.BuildingType.CITY;
+            default -> null;
+        };
+    }
+
+    void setVertexBuilding(int vertexId, Vertex.BuildingType buildingType) {
+        vertexBuildings.set(vertexId, buildingType == null ? NO_BUILDING
+            : buildingType == Vertex.BuildingType.CITY ? CITY : SETTLEMENT);
+    }
+
+    Player getEdgeOwner(int edgeId) {
+        int owner = edgeOwners.get(edgeId);
+        return owner == 0 ? null : players[owner - 1];
+    }
+
+    void setEdgeOwner(int edgeId, Player owner) {
+        edgeOwners.set(edgeId, owner == null ? 0 : (byte) (registerPlayer(owner) + 1));
+    }
+
     /**
      * Gets all tiles adjacent to the specified tile.
      * 
@@ -322,23 +882,19 @@ public class GameBoard {
      * 
      * @param row The row coordinate of the center tile
      * @param col The column coordinate of the center tile
-     * @return A list of adjacent tiles (may be empty if no valid adjacent tiles exist)
+     * @return A list of adjacent tiles (empty if the coordinates are invalid)
      */
     public List<Tile> getAdjacentTiles(int row, int col) {
-        List<Tile> adjacent = new ArrayList<>();
-        
-        // Check all 4 adjacent squares (up, down, left, right)
-        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-        
-        for (int[] dir : directions) {
-            int newRow = row + dir[0];
-            int newCol = col + dir[1];
-            Tile tile = getTile(newRow, newCol);
-            if (tile != null) {
-                adjacent.add(tile);
-            }
+        if (getTile(row, col) == null) {
+            return new ArrayList<>();
+        }
+        int tile = topology.tileId(row, col);
+        int start = topology.tileNeighbourStart(tile);
+        int end = topology.tileNeighbourStart(tile + 1);
+        List<Tile> adjacent = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            adjacent.add(getTileById(topology.tileNeighbour(i)));
         }
-        
         return adjacent;
     }
 
@@ -350,25 +906,16 @@ public class GameBoard {
      * 
      * @param row The row coordinate of the tile
      * @param col The column coordinate of the tile
-     * @return A list of adjacent vertices (typically 4 vertices)
+     * @return A list of adjacent vertices (4 vertices, or empty if the coordinates are invalid)
      */
     public List<Vertex> getAdjacentVertices(int row, int col) {
-        List<Vertex> adjacent = new ArrayList<>();
-        
-        // For a tile at (row, col), the adjacent vertices are at the corners
-        Vertex[] corners = {
-            getVertex(row, col),           // top-left
-            getVertex(row, col + 1),       // top-right
-            getVertex(row + 1, col),       // bottom-left
-            getVertex(row + 1, col + 1)    // bottom-right
-        };
-        
-        for (Vertex vertex : corners) {
-            if (vertex != null) {
-                adjacent.add(vertex);
+        List<Vertex> adjacent = new ArrayList<>(4);
+        if (getTile(row, col) != null) {
+            int tile = topology.tileId(row, col);
+            for (int corner = 0; corner < 4; corner++) {
+                adjacent.add(getVertexById(topology.tileCorner(tile, corner)));
             }
         }
-        
         return adjacent;
     }
 
@@ -380,22 +927,16 @@ public class GameBoard {
      * 
      * @param row The row coordinate of the tile
      * @param col The column coordinate of the tile
-     * @return A list of adjacent edges (typically 4 edges)
+     * @return A list of adjacent edges (top, bottom, left, right, or empty if the coordinates are invalid)
      */
     public List<Edge> getAdjacentEdges(int row, int col) {
-        List<Edge> adjacent = new ArrayList<>();
-        
-        // For a tile at (row, col), the adjacent edges are:
-        Edge top = getHorizontalEdge(row, col);
-        Edge bottom = getHorizontalEdge(row + 1, col);
-        Edge left = getVerticalEdge(row, col);
-        Edge right = getVerticalEdge(row, col + 1);
-        
-        if (top != null) adjacent.add(top);
-        if (bottom != null) adjacent.add(bottom);
-        if (left != null) adjacent.add(left);
-        if (right != null) adjacent.add(right);
-        
+        List<Edge> adjacent = new ArrayList<>(4);
+        if (getTile(row, col) != null) {
+            int tile = topology.tileId(row, col);
+            for (int side = 0; side < 4; side++) {
+                adjacent.add(getEdgeById(topology.tileSide(tile, side)));
+            }
+        }
         return adjacent;
     }
 
@@ -404,16 +945,13 @@ public class GameBoard {
      * 
      * @param edgeRow The row coordinate of the edge
      * @param edgeCol The column coordinate of the edge
-     * @return A list containing the two vertices connected by this edge
+     * @return A list containing the two vertices connected by this edge (empty if the coordinates are invalid)
      */
     public List<Vertex> getVerticesForHorizontalEdge(int edgeRow, int edgeCol) {
-        List<Vertex> vertices = new ArrayList<>();
-        Vertex left = getVertex(edgeRow, edgeCol);
-        Vertex right = getVertex(edgeRow, edgeCol + 1);
-        
-        if (left != null) vertices.add(left);
-        if (right != null) vertices.add(right);
-        
+        List<Vertex> vertices = new ArrayList<>(2);
+        if (getHorizontalEdge(edgeRow, edgeCol) != null) {
+            addEdgeEnds(topology.horizontalEdgeId(edgeRow, edgeCol), vertices);
+        }
         return vertices;
     }
 
@@ -422,19 +960,21 @@ public class GameBoard {
      * 
      * @param edgeRow The row coordinate of the edge
      * @param edgeCol The column coordinate of the edge
-     * @return A list containing the two vertices connected by this edge
+     * @return A list containing the two vertices connected by this edge (empty if the coordinates are invalid)
      */
     public List<Vertex> getVerticesForVerticalEdge(int edgeRow, int edgeCol) {
-        List<Vertex> vertices = new ArrayList<>();
-        Vertex top = getVertex(edgeRow, edgeCol);
-        Vertex bottom = getVertex(edgeRow + 1, edgeCol);
-        
-        if (top != null) vertices.add(top);
-        if (bottom != null) vertices.add(bottom);
-        
+        List<Vertex> vertices = new ArrayList<>(2);
+        if (getVerticalEdge(edgeRow, edgeCol) != null) {
+            addEdgeEnds(topology.verticalEdgeId(edgeRow, edgeCol), vertices);
+        }
         return vertices;
     }
 
+    private void addEdgeEnds(int edgeId, List<Vertex> out) {
+        out.add(getVertexById(topology.edgeEnd(edgeId, 0)));
+        out.add(getVertexById(topology.edgeEnd(edgeId, 1)));
+    }
+
     /**
      * Checks if a road can be built at the specified edge by connecting to existing buildings.
      * 
@@ -469,21 +1009,15 @@ public class GameBoard {
      * @return True if a road can be built, false otherwise
      */
     public boolean canBuildRoadAtEdge(int edgeRow, int edgeCol, boolean isHorizontal, Player player, boolean allowWithoutConnection) {
-        Edge edge = isHorizontal ? getHorizontalEdge(edgeRow, edgeCol) : getVerticalEdge(edgeRow, edgeCol);
-        if (edge == null || edge.isOccupied() || player.getRoads() <= 0) {
+        boolean valid = isHorizontal
+            ? edgeRow >= 0 && edgeRow <= rows && edgeCol >= 0 && edgeCol < cols
+            : edgeRow >= 0 && edgeRow < rows && edgeCol >= 0 && edgeCol <= cols;
+        if (!valid) {
             return false;
         }
-
-        // Get connected vertices
-        List<Vertex> connectedVertices = isHorizontal ? 
-            getVerticesForHorizontalEdge(edgeRow, edgeCol) : 
-            getVerticesForVerticalEdge(edgeRow, edgeCol);
-
-        // Check if at least one connected vertex has a building owned by the player
-        for (Vertex vertex : connectedVertices) {
-            if (vertex != null && vertex.isOccupied() && vertex.getOwner() == player) {
-                return true;
-            }
+        int edgeId = isHorizontal ? topology.horizontalEdgeId(edgeRow, edgeCol) : topology.verticalEdgeId(edgeRow, edgeCol);
+        if (edgeOwners.get(edgeId) != 0 || player.getRoads() <= 0) {
+            return false;
         }
 
         // If setup phase allows building without connections, return true
@@ -491,138 +1025,474 @@ public class GameBoard {
             return true;
         }
 
-        // Check if there's a road network connection (for play phase)
-        return hasRoadNetworkConnection(edgeRow, edgeCol, isHorizontal, player);
+        // The edge must touch a vertex connected to one of the player's buildings
+        RoadNetwork network = findRoadNetwork(player);
+        if (network == null) {
+            return false;
+        }
+        return network.isAnchored(topology.edgeEnd(edgeId, 0)) || network.isAnchored(topology.edgeEnd(edgeId, 1));
+    }
+
+    /**
+     * Gets the road network of a player without registering the player.
+     * 
+     * @param player The player
+     * @return The player's network, or null if the player has not built anything yet
+     */
+    private RoadNetwork findRoadNetwork(Player player) {
+        int index = getPlayerIndex(player);
+        return index < 0 ? null : roadNetworks[index];
     }
 
     /**
-     * Checks if there's a road network connection to this edge.
+     * Gets the index of a player on this board.
      * 
-     * <p>This method recursively explores the road network to determine if the 
-     * specified edge can be reached from the player's existing buildings or roads.</p>
+     * <p>Players are numbered in the order in which they first built something. The index
+     * identifies the player in the {@link #getBitboards() bitboard view}.</p>
      * 
-     * @param edgeRow The row coordinate of the edge
-     * @param edgeCol The column coordinate of the edge
-     * @param isHorizontal True if this is a horizontal edge, false if vertical
-     * @param player The player attempting to build the road
-     * @return True if there's a road network connection, false otherwise
+     * @param player The player
+     * @return The player's index, or -1 if the player has not built anything yet
      */
-    private boolean hasRoadNetworkConnection(int edgeRow, int edgeCol, boolean isHorizontal, Player player) {
-        // Get connected vertices
-        List<Vertex> connectedVertices = isHorizontal ? 
-            getVerticesForHorizontalEdge(edgeRow, edgeCol) : 
-            getVerticesForVerticalEdge(edgeRow, edgeCol);
+    public int getPlayerIndex(Player player) {
+        for (int i = 0; i < playerCount; i++) {
+            if (players[i] == player) {
+                return i;
+            }
+        }
+        return -1;
+    }
 
-        // Check if any connected vertex has a road network
-        for (Vertex vertex : connectedVertices) {
-            if (vertex != null && hasRoadNetworkToVertex(vertex, player, new HashSet<>())) {
-                return true;
+    /**
+     * Gets the index of a player, registering the player on first use.
+     * 
+     * @param player The player
+     * @return The player's index
+     */
+    private int registerPlayer(Player player) {
+        int index = getPlayerIndex(player);
+        if (index < 0) {
+            if (playerCount == players.length) {
+                players = Arrays.copyOf(players, playerCount * 2);
+                roadNetworks = Arrays.copyOf(roadNetworks, playerCount * 2);
+                networkShared = Arrays.copyOf(networkShared, playerCount * 2);
+                roadLengths = Arrays.copyOf(roadLengths, playerCount * 2);
+            }
+            index = playerCount++;
+            players[index] = player;
+            if (roadNetworks[index] != null && !networkShared[index]) {
+                // Left over from before a reset and owned by this board alone
+                roadNetworks[index].clear();
+            } else {
+                roadNetworks[index] = new RoadNetwork(topology.getVertexCount());
+                networkShared[index] = false;
             }
         }
+        return index;
+    }
 
-        return false;
+    /**
+     * Registers the players of a loaded game in their saved order, so that every player keeps
+     * its index. Must be called before anything is placed.
+     * 
+     * @param order The players by index
+     */
+    void restorePlayerOrder(Player[] order) {
+        for (Player player : order) {
+            registerPlayer(player);
+        }
     }
 
     /**
-     * Recursively checks if there's a road network path to a vertex.
+     * Places a saved building without checking any rule, e.g. when a game is loaded.
+     * The owner's pieces and points are left to the caller.
      * 
-     * <p>This method uses depth-first search to explore the road network and 
-     * determine if a path exists from the player's buildings to the target vertex.</p>
+     * @param vertexId The dense id of the vertex
+     * @param owner The owner
+     * @param city Whether the building is a city
+     */
+    void restoreBuilding(int vertexId, Player owner, boolean city) {
+        Vertex vertex = getVertexById(vertexId);
+        vertex.setOwner(owner);
+        vertex.setBuildingType(Vertex.BuildingType.SETTLEMENT);
+        onSettlementBuilt(vertex);
+        if (city) {
+            vertex.setBuildingType(Vertex.BuildingType.CITY);
+            onCityBuilt(vertex);
+        }
+    }
+
+    /**
+     * Places a saved road without checking any rule, e.g. when a game is loaded. The Longest
+     * Road is updated on the way and may move victory points; see {@link #restoreLongestRoad}.
      * 
-     * @param targetVertex The vertex to reach
-     * @param player The player whose road network to check
-     * @param visited A set of already visited vertices to prevent infinite loops
-     * @return True if there's a path to the vertex, false otherwise
+     * @param edgeId The dense id of the edge
+     * @param owner The owner
      */
-    private boolean hasRoadNetworkToVertex(Vertex targetVertex, Player player, Set<String> visited) {
-        String vertexKey = targetVertex.getRow() + "," + targetVertex.getCol();
-        if (visited.contains(vertexKey)) {
-            return false;
+    void restoreRoad(int edgeId, Player owner) {
+        Edge edge = getEdgeById(edgeId);
+        edge.setOwner(owner);
+        onRoadBuilt(edge);
+    }
+
+    /**
+     * Checks whether the distance rule is enforced, which it is by default.
+     * 
+     * @return True if settlements must be at least two edges away from every building
+     */
+    public boolean isDistanceRule() {
+        return distanceRule;
+    }
+
+    /**
+     * Enables or disables the distance rule: no settlement on a vertex next to a settlement or
+     * city of any player. Buildings already on the board are kept either way. A
+     * {@link #reset} enables the rule again.
+     * 
+     * @param distanceRule True to enforce the rule
+     */
+    public void setDistanceRule(boolean distanceRule) {
+        this.distanceRule = distanceRule;
+    }
+
+    /**
+     * Checks in constant time whether the distance rule forbids a settlement on a vertex,
+     * using the blocked vertices maintained by the {@link Bitboards}.
+     * 
+     * @param vertexId The vertex id
+     * @return True if the rule is enforced and the vertex is occupied or next to a building
+     */
+    boolean isSettlementBlocked(int vertexId) {
+        return distanceRule && bitboards.isBlocked(vertexId);
+    }
+
+    /**
+     * Gets the bitboard view of the occupancy of this board.
+     * 
+     * <p>The view is live: it reflects every building and road placed through the vertex
+     * and edge objects of this board. Use {@link Bitboards#copy()} to keep a snapshot. While
+     * the view is shared with a fork, the next change replaces it with a private copy, so
+     * callers should fetch it again rather than hold on to it.</p>
+     * 
+     * @return The bitboard view
+     */
+    public Bitboards getBitboards() {
+        return bitboards;
+    }
+
+    /**
+     * Connects both endpoints of a freshly built road in the owner's road network and
+     * measures the owner's longest trail through it. Called by {@link Edge#buildRoad(Player)}.
+     * 
+     * @param edge The edge the road was built on
+     */
+    void onRoadBuilt(Edge edge) {
+        int edgeId = edge.isHorizontal()
+            ? topology.horizontalEdgeId(edge.getRow(), edge.getCol())
+            : topology.verticalEdgeId(edge.getRow(), edge.getCol());
+        int first = topology.edgeEnd(edgeId, 0);
+        int second = topology.edgeEnd(edgeId, 1);
+        int player = registerPlayer(edge.getOwner());
+        writeNetwork(player).connect(first, second);
+        writeBitboards().addRoad(player, edge.isHorizontal(), first);
+        extendRoad(edgeId, player);
+    }
+
+    /**
+     * Records a settlement upgraded to a city. Called by {@link Vertex#buildCity(Player)}.
+     * 
+     * @param vertex The vertex the city was built on
+     */
+    void onCityBuilt(Vertex vertex) {
+        writeBitboards().upgradeToCity(registerPlayer(vertex.getOwner()), topology.vertexId(vertex.getRow(), vertex.getCol()));
+    }
+
+    /**
+     * Takes back the settlement on a vertex before its owner is cleared. Reverts the anchor of
+     * the owner's road network, which must be the latest change to that network, and the
+     * Longest Road, which must be the latest settlement or road built. Removes the vertex from
+     * the producer tables, keeping the order of the remaining producers.
+     * 
+     * @param vertex The vertex whose settlement is removed
+     */
+    void onSettlementRemoved(Vertex vertex) {
+        int vertexId = topology.vertexId(vertex.getRow(), vertex.getCol());
+        int player = getPlayerIndex(vertex.getOwner());
+        writeNetwork(player).undo();
+        undoLongestRoad();
+        writeBitboards().removeSettlement(player, vertexId);
+        writeProducers();
+        byte[] numbers = layout.numbers();
+        for (int t = topology.vertexTileStart(vertexId), end = topology.vertexTileStart(vertexId + 1); t < end; t++) {
+            int tile = topology.vertexTile(t);
+            if (layout.yield(tile) == 0) {
+                continue;
+            }
+            int roll = numbers[tile];
+            int[] entries = producers[roll];
+            int count = producerCounts[roll];
+            for (int i = count - 1; i >= 0; i--) {
+                if (entries[i] >>> 8 == vertexId) {
+                    System.arraycopy(entries, i + 1, entries, i, count - i - 1);
+                    producerCounts[roll] = count - 1;
+                    break;
+                }
+            }
         }
-        visited.add(vertexKey);
+    }
 
-        // Check if this vertex has a building owned by the player
-        if (targetVertex.isOccupied() && targetVertex.getOwner() == player) {
-            return true;
+    /**
+     * Records a city taken back to a settlement. Called by {@link Vertex#downgradeCity()}.
+     * 
+     * @param vertex The vertex of the city
+     */
+    void onCityRemoved(Vertex vertex) {
+        writeBitboards().downgradeToSettlement(getPlayerIndex(vertex.getOwner()), topology.vertexId(vertex.getRow(), vertex.getCol()));
+    }
+
+    /**
+     * Takes back a road before its owner is cleared. Reverts the connection in the owner's road
+     * network, which must be the latest change to that network, and the Longest Road, which
+     * must be the latest settlement or road built.
+     * 
+     * @param edge The edge whose road is removed
+     */
+    void onRoadRemoved(Edge edge) {
+        int edgeId = edge.isHorizontal()
+            ? topology.horizontalEdgeId(edge.getRow(), edge.getCol())
+            : topology.verticalEdgeId(edge.getRow(), edge.getCol());
+        int player = getPlayerIndex(edge.getOwner());
+        writeNetwork(player).undo();
+        writeBitboards().removeRoad(player, edge.isHorizontal(), topology.edgeEnd(edgeId, 0));
+        undoLongestRoad();
+    }
+
+    // Longest Road
+
+    /**
+     * Gets the number of roads on a player's longest trail: connected roads, each used at
+     * most once, that do not pass through a settlement or city of another player.
+     * 
+     * <p>The lengths are kept up to date as pieces are placed, so this is a lookup. A new
+     * road only changes the trails of its own component, which is searched again; a new
+     * settlement only shortens the trails of players with two roads at its vertex, and only
+     * when their longest trail passed through it is a player's whole network searched again.</p>
+     * 
+     * @param player The player
+     * @return The length of the player's longest trail, 0 if the player has no roads
+     */
+    public int getLongestRoad(Player player) {
+        int index = getPlayerIndex(player);
+        return index < 0 ? 0 : roadLengths[index];
+    }
+
+    /**
+     * Gets the holder of the Longest Road and its {@value #LONGEST_ROAD_POINTS} victory points.
+     * 
+     * <p>The first player with a trail of at least {@value #LONGEST_ROAD_MINIMUM} roads takes
+     * the award, and another player only takes it over with a strictly longer trail. When the
+     * holder's trail is cut and falls behind, the award goes to the single longest trail of at
+     * least {@value #LONGEST_ROAD_MINIMUM} roads, or to nobody on a tie.</p>
+     * 
+     * @return The holder, or null if nobody holds the award
+     */
+    public Player getLongestRoadHolder() {
+        return longestRoadHolder == NO_HOLDER ? null : players[longestRoadHolder];
+    }
+
+    /**
+     * Measures every player's longest trail and sets the holder of a loaded game, without
+     * changing any victory points. Undo records of earlier builds are dropped.
+     * 
+     * @param holder The holder's player index, or -1 for nobody
+     */
+    void restoreLongestRoad(int holder) {
+        LongestRoad search = ROAD_SEARCH.get();
+        for (int player = 0; player < playerCount; player++) {
+            roadLengths[player] = search.measureAll(topology, edgeOwners, vertexOwners, bitboards, player);
         }
+        longestRoadHolder = holder;
+        roadHistorySize = 0;
+    }
 
-        // Check all edges connected to this vertex
-        int row = targetVertex.getRow();
-        int col = targetVertex.getCol();
+    // Measures the component of a new road; the owner's other components are unchanged
+    private void extendRoad(int edgeId, int player) {
+        int previous = roadLengths[player];
+        int length = ROAD_SEARCH.get().measure(topology, edgeOwners, vertexOwners, player + 1, edgeId);
+        int changes = 0;
+        if (length > previous) {
+            roadLengths[player] = length;
+            pushRoadHistory(player);
+            pushRoadHistory(previous);
+            changes++;
+        }
+        pushRoadHistory(changes << 8 | longestRoadHolder + 1);
+        awardLongestRoad();
+    }
 
-        // Check horizontal edges
-        Edge leftEdge = getHorizontalEdge(row, col - 1);
-        Edge rightEdge = getHorizontalEdge(row, col);
-        
-        // Check vertical edges
-        Edge topEdge = getVerticalEdge(row - 1, col);
-        Edge bottomEdge = getVerticalEdge(row, col);
-
-        // Check if any of these edges have roads owned by the player
-        if ((leftEdge != null && leftEdge.isOccupied() && leftEdge.getOwner() == player) ||
-            (rightEdge != null && rightEdge.isOccupied() && rightEdge.getOwner() == player) ||
-            (topEdge != null && topEdge.isOccupied() && topEdge.getOwner() == player) ||
-            (bottomEdge != null && bottomEdge.isOccupied() && bottomEdge.getOwner() == player)) {
-            
-            // Follow the road network
-            if (leftEdge != null && leftEdge.isOccupied() && leftEdge.getOwner() == player) {
-                List<Vertex> leftVertices = getVerticesForHorizontalEdge(row, col - 1);
-                for (Vertex v : leftVertices) {
-                    if (v != targetVertex && hasRoadNetworkToVertex(v, player, visited)) {
-                        return true;
-                    }
-                }
+    // Measures the roads of other players that a new settlement cuts apart
+    private void cutRoads(int vertexId, int owner) {
+        int start = topology.vertexEdgeStart(vertexId);
+        int end = topology.vertexEdgeStart(vertexId + 1);
+        LongestRoad search = null;
+        int changes = 0;
+        for (int i = start; i < end; i++) {
+            int player = edgeOwners.get(topology.vertexEdge(i)) - 1;
+            if (player < 0 || player == owner || !isFirstCut(i, start, end, player)) {
+                continue;
             }
-            if (rightEdge != null && rightEdge.isOccupied() && rightEdge.getOwner() == player) {
-                List<Vertex> rightVertices = getVerticesForHorizontalEdge(row, col);
-                for (Vertex v : rightVertices) {
-                    if (v != targetVertex && hasRoadNetworkToVertex(v, player, visited)) {
-                        return true;
-                    }
-                }
+            if (search == null) {
+                search = ROAD_SEARCH.get();
             }
-            if (topEdge != null && topEdge.isOccupied() && topEdge.getOwner() == player) {
-                List<Vertex> topVertices = getVerticesForVerticalEdge(row - 1, col);
-                for (Vertex v : topVertices) {
-                    if (v != targetVertex && hasRoadNetworkToVertex(v, player, visited)) {
-                        return true;
-                    }
+            // The player's longest trail is at least the best of the parts at the vertex
+            int length = 0;
+            for (int j = i; j < end; j++) {
+                int edgeId = topology.vertexEdge(j);
+                if (edgeOwners.get(edgeId) == player + 1) {
+                    length = Math.max(length, search.measure(topology, edgeOwners, vertexOwners, player + 1, edgeId));
                 }
             }
-            if (bottomEdge != null && bottomEdge.isOccupied() && bottomEdge.getOwner() == player) {
-                List<Vertex> bottomVertices = getVerticesForVerticalEdge(row, col);
-                for (Vertex v : bottomVertices) {
-                    if (v != targetVertex && hasRoadNetworkToVertex(v, player, visited)) {
-                        return true;
-                    }
-                }
+            int previous = roadLengths[player];
+            if (length < previous) {
+                // The longest trail passed through the vertex or lies in another component
+                length = search.measureAll(topology, edgeOwners, vertexOwners, bitboards, player);
+            }
+            if (length != previous) {
+                roadLengths[player] = length;
+                pushRoadHistory(player);
+                pushRoadHistory(previous);
+                changes++;
             }
         }
+        pushRoadHistory(changes << 8 | longestRoadHolder + 1);
+        awardLongestRoad();
+    }
 
+    // True for the first of at least two roads of the player at the vertex
+    private boolean isFirstCut(int index, int start, int end, int player) {
+        for (int i = start; i < index; i++) {
+            if (edgeOwners.get(topology.vertexEdge(i)) == player + 1) {
+                return false;
+            }
+        }
+        for (int i = index + 1; i < end; i++) {
+            if (edgeOwners.get(topology.vertexEdge(i)) == player + 1) {
+                return true;
+            }
+        }
         return false;
     }
 
+    private void awardLongestRoad() {
+        int leader = NO_HOLDER;
+        int longest = 0;
+        boolean tied = false;
+        for (int player = 0; player < playerCount; player++) {
+            if (roadLengths[player] > longest) {
+                leader = player;
+                longest = roadLengths[player];
+                tied = false;
+            } else if (roadLengths[player] == longest) {
+                tied = true;
+            }
+        }
+        int holder;
+        if (longest < LONGEST_ROAD_MINIMUM) {
+            holder = NO_HOLDER;
+        } else if (longestRoadHolder != NO_HOLDER && roadLengths[longestRoadHolder] == longest) {
+            holder = longestRoadHolder;
+        } else {
+            holder = tied ? NO_HOLDER : leader;
+        }
+        transferLongestRoad(holder);
+    }
+
+    private void transferLongestRoad(int holder) {
+        if (holder == longestRoadHolder) {
+            return;
+        }
+        if (longestRoadHolder != NO_HOLDER) {
+            players[longestRoadHolder].addVictoryPoints(-LONGEST_ROAD_POINTS);
+        }
+        if (holder != NO_HOLDER) {
+            players[holder].addVictoryPoints(LONGEST_ROAD_POINTS);
+        }
+        longestRoadHolder = holder;
+    }
+
+    private void pushRoadHistory(int value) {
+        if (roadHistoryShared || roadHistorySize == roadHistory.length) {
+            roadHistory = Arrays.copyOf(roadHistory, Math.max(16, roadHistorySize * 2));
+            roadHistoryShared = false;
+        }
+        roadHistory[roadHistorySize++] = value;
+    }
+
+    // Reverts the lengths and holder recorded for the latest settlement or road built
+    private void undoLongestRoad() {
+        if (roadHistorySize == 0) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        int record = roadHistory[--roadHistorySize];
+        for (int changes = record >>> 8; changes > 0; changes--) {
+            int previous = roadHistory[--roadHistorySize];
+            roadLengths[roadHistory[--roadHistorySize]] = previous;
+        }
+        transferLongestRoad((record & 0xff) - 1);
+    }
+
     /**
-     * Triggers resource production for all tiles with the specified dice roll.
+     * Distributes resources for the specified dice roll.
      * 
-     * <p>This method is called when dice are rolled. It identifies all tiles with 
-     * the rolled number and marks them for resource production. The actual resource 
-     * distribution is handled by the game logic when settlements and cities are present.</p>
+     * <p>This method walks the precomputed producer list of the roll, which only contains
+     * occupied vertices next to a tile with that number. Each settlement receives one and
+     * each city two units of the tile's resource. No tiles are scanned and nothing is
+     * allocated.</p>
      * 
      * @param diceRoll The dice roll value (2-12)
      */
     public void produceResources(int diceRoll) {
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                Tile tile = tiles[row][col];
-                if (tile != null && tile.getNumber() != null && tile.getNumber() == diceRoll && tile.getTerrainType().producesResource()) {
-                    // This tile produces resources - will be handled by game logic
-                    // when settlements/cities are placed
-                }
+        produceResources(diceRoll, null);
+    }
+
+    /**
+     * Distributes resources for the specified dice roll and reports every grant.
+     * 
+     * @param diceRoll The dice roll value (2-12)
+     * @param listener Notified once per grant, or null
+     * @see #produceResources(int)
+     */
+    public void produceResources(int diceRoll, ProductionListener listener) {
+        if (diceRoll < 0 || diceRoll > MAX_ROLL) {
+            return;
+        }
+        int[] entries = producers[diceRoll];
+        for (int i = 0, count = producerCounts[diceRoll]; i < count; i++) {
+            int vertexId = entries[i] >>> 8;
+            ResourceType resource = RESOURCES[entries[i] & 0xff];
+            Player owner = players[vertexOwners.get(vertexId) - 1];
+            int amount = vertexBuildings.get(vertexId) == CITY ? 2 : 1;
+            owner.addResource(resource, amount);
+            if (listener != null) {
+                listener.resourcesProduced(owner, resource, amount);
             }
         }
     }
 
+    /**
+     * Receives the resource grants of a dice roll.
+     */
+    @FunctionalInterface
+    public interface ProductionListener {
+        /**
+         * Called after a player received resources from a tile.
+         * 
+         * @param owner The player receiving the resources
+         * @param resource The resource type
+         * @param amount The amount received (1 for a settlement, 2 for a city)
+         */
+        void resourcesProduced(Player owner, ResourceType resource, int amount);
+    }
+
     /**
      * Represents a single tile on the game board.
      * 
@@ -637,6 +1507,17 @@ public class GameBoard {
      * @since 1.0
      */
     public static class Tile {
+        /** Shared instances by terrain type ordinal and number token (0 = none) */
+        private static final Tile[][] SHARED = new Tile[TERRAINS.length][MAX_ROLL + 1];
+
+        static {
+            for (TerrainType terrain : TERRAINS) {
+                for (int number = 0; number <= MAX_ROLL; number++) {
+                    SHARED[terrain.ordinal()][number] = new Tile(terrain, number == 0 ? null : number);
+                }
+            }
+        }
+
         /** The terrain type of this tile */
         private final TerrainType terrainType;
         
@@ -654,6 +1535,22 @@ public class GameBoard {
             this.number = number;
         }
 
+        /**
+         * Returns the shared tile with the specified terrain type and number. A board holds
+         * its tiles as primitive arrays and hands out these instances, so looking up a tile
+         * never allocates.
+         * 
+         * @param terrainType The terrain type of the tile
+         * @param number The number token on the tile (0 for none)
+         * @return The shared tile
+         */
+        public static Tile of(TerrainType terrainType, int number) {
+            if (number < 0 || number > MAX_ROLL) {
+                return new Tile(terrainType, number);
+            }
+            return SHARED[terrainType.ordinal()][number];
+        }
+
         /**
          * Gets the terrain type of this tile.
          * 
@@ -0,0 +1,300 @@
+package com.catan.model;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Versioned binary format of a complete {@link GameState}.
+ *
+ * <p>A saved game holds the board layout, every building and road, the players' resources,
+ * pieces and points, and the turn and phase bookkeeping. All numbers are big-endian:</p>
+ * <pre>
+ *   magic:i32 version:u8 rows:u16 cols:u16 players:u8
+ *   currentSeat:u8 phase:u8 setupPhase:u8 diceRoll:u8 flags:u8 winnerSeat+1:u8
+ *   tiles:u8[rows * cols]         terrain ordinal &lt;&lt; 4 | number token (0 for none)
+ *   per player: nameLength:u8 name:utf8 resources:u16[5] settlements:u8 cities:u8 roads:u8
+ *               points:u8 boardIndex+1:u8
+ *   vertices:u8[vertexCount]      owner seat+1 &lt;&lt; 2 | building (0 none, 1 settlement, 2 city)
+ *   edges:u8[(edgeCount + 1) / 2] owner seat+1 per edge, two edges per byte, high nibble first
+ * </pre>
+ * <p>The board index of a player is the order of its first build, 0 if it has not built.</p>
+ * <p>The flags are bit 0 for a settlement and bit 1 for a road built in the current setup turn,
+ * bit 2 for a finished game and bit 3 for a game played without the distance rule. Bits 4-7
+ * hold the seat + 1 of the Longest Road holder, 0 for nobody; the road lengths themselves are
+ * measured again when the game is loaded. A four-player game on the standard board takes about 240 bytes.
+ * The state of the random generator is not saved: a loaded game continues with the dice of
+ * the generator passed to {@link #decode(ByteBuffer, GameRandom)}.</p>
+ *
+ * <p>Decoding reads straight from the buffer, so games can be loaded from memory-mapped files
+ * without copying; see {@link GameArchive} for files holding many games.</p>
+ */
+public final class GameCodec {
+    /** "SQCG" */
+    public static final int MAGIC = 0x53514347;
+    public static final int VERSION = 1;
+
+    private static final TerrainType[] TERRAINS = TerrainType.values();
+    private static final int RESOURCE_COUNT = ResourceType.values().length;
+    private static final int FLAG_SETTLEMENT_BUILT = 1;
+    private static final int FLAG_ROAD_BUILT = 2;
+    private static final int FLAG_GAME_ENDED = 4;
+    private static final int FLAG_NO_DISTANCE_RULE = 8;
+    private static final int LONGEST_ROAD_SHIFT = 4;
+
+    private GameCodec() {
+    }
+
+    /**
+     * Returns the exact number of bytes {@link #encode(GameState, ByteBuffer)} writes.
+     */
+    public static int encodedSize(GameState state) {
+        BoardTopology topology = state.getGameBoard().getTopology();
+        int size = 4 + 1 + 2 + 2 + 1 + 6
+            + topology.getTileCount()
+            + topology.getVertexCount()
+            + (topology.getEdgeCount() + 1) / 2;
+        for (Player player : state.getPlayers()) {
+            size += 1 + nameBytes(player).length + 2 * RESOURCE_COUNT + 5;
+        }
+        return size;
+    }
+
+    public static byte[] encode(GameState state) {
+        ByteBuffer out = ByteBuffer.allocate(encodedSize(state));
+        encode(state, out);
+        return out.array();
+    }
+
+    /**
+     * Writes a game at the position of the buffer and advances it.
+     *
+     * @throws java.nio.BufferOverflowException If fewer than {@link #encodedSize} bytes remain
+     */
+    public static void encode(GameState state, ByteBuffer out) {
+        GameBoard board = state.getGameBoard();
+        BoardTopology topology = board.getTopology();
+        List<Player> players = state.getPlayers();
+        Player winner = state.getWinner();
+
+        out.putInt(MAGIC);
+        out.put((byte) VERSION);
+        out.putShort((short) board.getRows());
+        out.putShort((short) board.getCols());
+        out.put((byte) players.size());
+
+        out.put((byte) state.getCurrentPlayerIndex());
+        out.put((byte) state.getCurrentPhase().ordinal());
+        out.put((byte) state.getSetupPhase().ordinal());
+        out.put((byte) state.getDiceRoll());
+        out.put((byte) ((state.isSettlementBuilt() ? FLAG_SETTLEMENT_BUILT : 0)
+            | (state.isRoadBuilt() ? FLAG_ROAD_BUILT : 0)
+            | (state.isGameEnded() ? FLAG_GAME_ENDED : 0)
+            | (board.isDistanceRule() ? 0 : FLAG_NO_DISTANCE_RULE)
+            | seatCode(players, board.getLongestRoadHolder()) << LONGEST_ROAD_SHIFT));
+        out.put((byte) (winner == null ? 0 : players.indexOf(winner) + 1));
+
+        for (int tile = 0; tile < topology.getTileCount(); tile++) {
+            out.put((byte) (board.getTileTerrain(tile).ordinal() << 4 | board.getTileNumber(tile)));
+        }
+
+        for (Player player : players) {
+            byte[] name = nameBytes(player);
+            out.put((byte) name.length);
+            out.put(name);
+            for (ResourceType resource : ResourceType.values()) {
+                out.putShort((short) player.getResourceCount(resource));
+            }
+            out.put((byte) player.getSettlements());
+            out.put((byte) player.getCities());
+            out.put((byte) player.getRoads());
+            out.put((byte) player.getVictoryPoints());
+            out.put((byte) (board.getPlayerIndex(player) + 1));
+        }
+
+        for (int vertex = 0; vertex < topology.getVertexCount(); vertex++) {
+            Player owner = board.getVertexOwner(vertex);
+            Vertex.BuildingType building = board.getVertexBuilding(vertex);
+            int code = building == null ? 0 : building == Vertex.BuildingType.CITY ? 2 : 1;
+            out.put((byte) (seatCode(players, owner) << 2 | code));
+        }
+
+        for (int edge = 0; edge < topology.getEdgeCount(); edge += 2) {
+            int high = seatCode(players, board.getEdgeOwner(edge));
+            int low = edge + 1 < topology.getEdgeCount() ? seatCode(players, board.getEdgeOwner(edge + 1)) : 0;
+            out.put((byte) (high << 4 | low));
+        }
+
+    }
+
+    /**
+     * Reads a game with an unpredictably seeded dice generator.
+     */
+    public static GameState decode(ByteBuffer in) {
+        return decode(in, new GameRandom());
+    }
+
+    /**
+     * Reads a game at the position of the buffer and advances it past the game.
+     *
+     * @param in The buffer, e.g. a slice of a memory-mapped file
+     * @param random The generator the loaded game rolls its dice with
+     * @return The loaded game
+     * @throws IllegalArgumentException If the data is not a saved game of a supported version
+     */
+    public static GameState decode(ByteBuffer in, GameRandom random) {
+        try {
+            return read(in, random);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Saved game is truncated or corrupt", e);
+        }
+    }
+
+    /**
+     * Writes a game to a file, replacing its contents.
+     */
+    public static void save(GameState state, Path file) throws IOException {
+        Files.write(file, encode(state));
+    }
+
+    /**
+     * Loads a game from a memory-mapped file.
+     */
+    public static GameState load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer);
+        }
+    }
+
+    private static GameState read(ByteBuffer in, GameRandom random) {
+        if (in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a saved game");
+        }
+        int version = in.get() & 0xff;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported save version " + version);
+        }
+        int rows = in.getShort() & 0xffff;
+        int cols = in.getShort() & 0xffff;
+        int playerCount = in.get() & 0xff;
+        if (rows < 1 || rows > GameBoard.MAX_SIZE || cols < 1 || cols > GameBoard.MAX_SIZE) {
+            throw new IllegalArgumentException("Unsupported board size " + rows + "x" + cols);
+        }
+        if (playerCount < 2 || playerCount > 4) {
+            throw new IllegalArgumentException("Unsupported player count " + playerCount);
+        }
+
+        int currentSeat = in.get() & 0xff;
+        GameState.GamePhase phase = GameState.GamePhase.values()[in.get()];
+        GameState.SetupPhase setupPhase = GameState.SetupPhase.values()[in.get()];
+        int diceRoll = in.get() & 0xff;
+        int flags = in.get() & 0xff;
+        int winnerSeat = (in.get() & 0xff) - 1;
+        if (currentSeat >= playerCount || winnerSeat >= playerCount) {
+            throw new IllegalArgumentException("Corrupt seat " + currentSeat + " or winner " + winnerSeat);
+        }
+
+        byte[] terrains = new byte[rows * cols];
+        byte[] numbers = new byte[rows * cols];
+        for (int tile = 0; tile < terrains.length; tile++) {
+            int packed = in.get() & 0xff;
+            if (packed >>> 4 >= TERRAINS.length || (packed & 0xf) > 12) {
+                throw new IllegalArgumentException("Corrupt tile " + packed);
+            }
+            terrains[tile] = (byte) (packed >>> 4);
+            numbers[tile] = (byte) (packed & 0xf);
+        }
+        GameBoard board = new GameBoard(rows, cols, terrains, numbers);
+        board.setDistanceRule((flags & FLAG_NO_DISTANCE_RULE) == 0);
+        BoardTopology topology = board.getTopology();
+
+        List<Player> players = new ArrayList<>(playerCount);
+        int[][] resources = new int[playerCount][RESOURCE_COUNT];
+        int[][] pieces = new int[playerCount][4];
+        int[] boardIndices = new int[playerCount];
+        for (int seat = 0; seat < playerCount; seat++) {
+            byte[] name = new byte[in.get() & 0xff];
+            in.get(name);
+            players.add(new Player(new String(name, StandardCharsets.UTF_8)));
+            for (int i = 0; i < RESOURCE_COUNT; i++) {
+                resources[seat][i] = in.getShort() & 0xffff;
+            }
+            for (int i = 0; i < 4; i++) {
+                pieces[seat][i] = in.get() & 0xff;
+            }
+            boardIndices[seat] = (in.get() & 0xff) - 1;
+        }
+
+        Player[] order = new Player[playerCount];
+        int registered = 0;
+        for (int seat = 0; seat < playerCount; seat++) {
+            if (boardIndices[seat] >= 0) {
+                order[boardIndices[seat]] = players.get(seat);
+                registered++;
+            }
+        }
+        for (int i = 0; i < registered; i++) {
+            if (order[i] == null) {
+                throw new IllegalArgumentException("Saved player order is inconsistent");
+            }
+        }
+        board.restorePlayerOrder(Arrays.copyOf(order, registered));
+
+        for (int vertex = 0; vertex < topology.getVertexCount(); vertex++) {
+            int code = in.get() & 0xff;
+            if ((code & 3) == 3) {
+                throw new IllegalArgumentException("Corrupt vertex " + code);
+            }
+            if ((code & 3) != 0) {
+                board.restoreBuilding(vertex, players.get((code >>> 2) - 1), (code & 3) == 2);
+            }
+        }
+        for (int edge = 0; edge < topology.getEdgeCount(); edge += 2) {
+            int code = in.get() & 0xff;
+            if (code >>> 4 != 0) {
+                board.restoreRoad(edge, players.get((code >>> 4) - 1));
+            }
+            if ((code & 0xf) != 0 && edge + 1 < topology.getEdgeCount()) {
+                board.restoreRoad(edge + 1, players.get((code & 0xf) - 1));
+            }
+        }
+
+        int holderSeat = (flags >>> LONGEST_ROAD_SHIFT) - 1;
+        if (holderSeat >= playerCount) {
+            throw new IllegalArgumentException("Corrupt Longest Road holder " + holderSeat);
+        }
+        board.restoreLongestRoad(holderSeat < 0 ? -1 : board.getPlayerIndex(players.get(holderSeat)));
+
+        // The saved counters are authoritative over any the placements above changed
+        for (int seat = 0; seat < playerCount; seat++) {
+            int[] p = pieces[seat];
+            players.get(seat).restore(resources[seat], p[0], p[1], p[2], p[3]);
+        }
+        GameState state = new GameState(players, board, random);
+        state.restoreTurn(currentSeat, phase, setupPhase, diceRoll, (flags & FLAG_SETTLEMENT_BUILT) != 0,
+            (flags & FLAG_ROAD_BUILT) != 0, (flags & FLAG_GAME_ENDED) != 0, winnerSeat);
+        return state;
+    }
+
+    private static int seatCode(List<Player> players, Player owner) {
+        return owner == null ? 0 : players.indexOf(owner) + 1;
+    }
+
+    private static byte[] nameBytes(Player player) {
+        byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > 255) {
+            throw new IllegalArgumentException("Player name too long: " + player.getName());
+        }
+        return name;
+    }
+}
@@ -0,0 +1,32 @@
+package com.catan.model;
+
+/**
+ * An action on a {@link GameState} that can be taken back exactly.
+ *
+ * <p>{@link #apply} performs the action for the current player with the same rules as the
+ * corresponding {@code GameState} method and records what it changed: resources paid or
+ * produced, victory points, pieces and the turn and phase bookkeeping. {@link #revert} undoes
+ * exactly those changes in constant time, so a search can backtrack instead of copying the
+ * game and the UI can offer undo and redo (see {@link CommandHistory}).</p>
+ *
+ * <p>Commands must be reverted in the reverse order of application. A reverted command may be
+ * applied again.</p>
+ */
+public interface GameCommand {
+
+    /**
+     * Performs the action if it is legal.
+     *
+     * @param state The game to change
+     * @return True if the action was performed, false if it was illegal and nothing changed
+     */
+    boolean apply(GameState state);
+
+    /**
+     * Undoes the last successful {@link #apply}. Every command applied after it must have been
+     * reverted already.
+     *
+     * @param state The game the command was applied to
+     */
+    void revert(GameState state);
+}
@@ -0,0 +1,116 @@
+package com.catan.model;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Source of randomness for dice rolls and board setup.
+ *
+ * <p>Each game owns its own instance, so parallel games never share a generator and a
+ * single seed reproduces the board, every dice roll and any policy decision drawn from
+ * {@link GameState#getRandom()}. Instances are not thread-safe; use {@link #split()} to
+ * hand an independent stream to another thread.</p>
+ */
+public final class GameRandom {
+    /** Odd constant of the SplitMix64 sequence, used to spread consecutive seeds */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final SplittableRandom random;
+
+    /**
+     * Creates an unpredictably seeded generator.
+     */
+    public GameRandom() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Creates a generator that always produces the same sequence for the same seed.
+     *
+     * @param seed The seed
+     */
+    public GameRandom(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private GameRandom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Rolls two six-sided dice.
+     *
+     * <p>A single draw from the 36 equally likely outcomes is split into both dice,
+     * which halves the generator calls compared to rolling each die separately.</p>
+     *
+     * @return The sum of both dice (2-12)
+     */
+    public int rollDice() {
+        int outcome = random.nextInt(36);
+        return outcome / 6 + outcome % 6 + 2;
+    }
+
+    /**
+     * Returns a uniformly distributed value between 0 (inclusive) and bound (exclusive).
+     *
+     * @param bound The upper bound, must be positive
+     * @return The random value
+     */
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * Shuffles a list in place (Fisher-Yates).
+     *
+     * @param list The list to shuffle
+     */
+    public <T> void shuffle(List<T> list) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            list.set(i, list.set(j, list.get(i)));
+        }
+    }
+
+    /**
+     * Shuffles the first values of an array in place, drawing exactly like
+     * {@link #shuffle(List)} on a list of the same length.
+     *
+     * @param values The array to shuffle
+     * @param length The number of leading values to shuffle
+     */
+    public void shuffle(byte[] values, int length) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+
+    /**
+     * Creates a new generator whose sequence is independent of this one.
+     *
+     * @return The split-off generator
+     */
+    public GameRandom split() {
+        return new GameRandom(random.split());
+    }
+
+    /**
+     * Derives the seed of the game at a given index from a base seed.
+     *
+     * <p>Games seeded this way are reproducible individually, no matter which worker
+     * thread plays them or in which order.</p>
+     *
+     * @param baseSeed The seed of the whole batch
+     * @param index The index of the game within the batch
+     * @return The seed of that game
+     */
+    public static long seedFor(long baseSeed, long index) {
+        long z = baseSeed + (index + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,41 @@
+package com.catan.model;
+
+/**
+ * Receives every change of a {@link GameState} as it happens, e.g. to write a journal.
+ *
+ * <p>Unlike the event log, a recorder is called synchronously on the thread that changes the
+ * game and sees every change in order, so the recorded actions are enough to rebuild the
+ * game. Phase changes follow from the actions but are reported as well. Forks of a game do not
+ * inherit its recorder.</p>
+ */
+public interface GameRecorder {
+
+    /**
+     * The current player rolled the dice; production and the turn change follow.
+     */
+    void diceRolled(int seat, int roll);
+
+    /**
+     * A player built a settlement, city or road.
+     *
+     * @param seat The builder
+     * @param move The {@link Move} that was built
+     */
+    void built(int seat, int move);
+
+    /**
+     * Two players swapped one resource each.
+     */
+    void traded(int fromSeat, int toSeat, ResourceType give, ResourceType get);
+
+    void phaseChanged(GameState.GamePhase phase);
+
+    /**
+     * A recorded action was taken back, see {@link CommandHistory#undo()}. This is the latest
+     * command of the history, but not necessarily the latest action of the game, since the
+     * game may also have been changed directly.
+     *
+     * @param action The number of the reverted action, see {@link GameState#getRecordedActions()}
+     */
+    void undone(long action);
+}
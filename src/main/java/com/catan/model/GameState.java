@@ -1,14 +1,19 @@
 package com.catan.model;
 
+import com.catan.log.GameEventLog;
+import com.catan.log.GameEventType;
+
 import java.util.*;
 
 /**
  * Manages the overall state of the Catan game.
  * Handles turns, game phases, and player management.
+ * Not thread-safe; see {@link com.catan.actor.GameActor} for sharing a game between threads.
  */
 public class GameState {
     private final List<Player> players;
     private final GameBoard gameBoard;
+    private GameRandom random;
     private int currentPlayerIndex;
     private GamePhase currentPhase;
     private SetupPhase setupPhase;
@@ -20,6 +25,20 @@ public class GameState {
     private boolean settlementBuilt; // Has current player built settlement this turn?
     private boolean roadBuilt;       // Has current player built road this turn?
 
+    // Events go to an asynchronous log; the default records nothing, so headless runs pay no I/O
+    private GameEventLog eventLog = GameEventLog.disabled();
+    private final GameBoard.ProductionListener productionLogger;
+
+    // Sees every change synchronously, e.g. a journal; null when nothing records this game
+    private GameRecorder recorder;
+    // Rolls, builds and trades reported to a recorder so far; never decreases, not even on undo or reset
+    private long recordedActions;
+
+    // Scratch masks for move generation, reused so that generating moves never allocates
+    private final BitBoard vertexScratch;
+    private final BitBoard horizontalScratch;
+    private final BitBoard verticalScratch;
+
     public enum GamePhase {
         SETUP("Setup"),
         PLAY("Play"),
@@ -52,6 +71,42 @@ public class GameState {
     }
 
     public GameState(int playerCount) {
+        this(playerCount, new GameRandom());
+    }
+
+    public GameState(int playerCount, long seed) {
+        this(playerCount, new GameRandom(seed));
+    }
+
+    public GameState(int playerCount, GameRandom random) {
+        this(playerCount, GameBoard.STANDARD_SIZE, GameBoard.STANDARD_SIZE, random);
+    }
+
+    /**
+     * Creates a game on a board of the given size, see {@link GameBoard#GameBoard(int, int, GameRandom)}.
+     *
+     * @param playerCount The number of players (2-4)
+     * @param rows The number of tile rows
+     * @param cols The number of tile columns
+     * @param random The source of the board layout and all dice rolls
+     */
+    public GameState(int playerCount, int rows, int cols, GameRandom random) {
+        // The board gets its own stream so dice rolls do not depend on how many draws the shuffle used
+        this(playerCount, new GameBoard(rows, cols, random.split()), random);
+    }
+
+    /**
+     * Creates a game on a prepared layout, e.g. one found by a {@link BoardGenerator}.
+     *
+     * @param playerCount The number of players (2-4)
+     * @param layout The terrain and number of every tile
+     * @param random The source of all dice rolls
+     */
+    public GameState(int playerCount, BoardLayout layout, GameRandom random) {
+        this(playerCount, new GameBoard(layout), random);
+    }
+
+    private GameState(int playerCount, GameBoard gameBoard, GameRandom random) {
         if (playerCount < 2 || playerCount > 4) {
             throw new IllegalArgumentException("Player count must be between 2 and 4");
         }
@@ -61,8 +116,13 @@ public class GameState {
             players.add(new Player("Player " + i));
         }
 
-        // Create a 5x4 board with 19 tiles
-        this.gameBoard = new GameBoard();
+        this.random = random;
+        this.gameBoard = gameBoard;
+        this.productionLogger = (owner, resource, amount) -> eventLog.log(
+            GameEventType.RESOURCES_PRODUCED, owner.getName(), 0, 0, amount, resource.getDisplayName());
+        this.vertexScratch = gameBoard.getBitboards().newBitBoard();
+        this.horizontalScratch = gameBoard.getBitboards().newBitBoard();
+        this.verticalScratch = gameBoard.getBitboards().newBitBoard();
         this.currentPlayerIndex = 0;
         this.currentPhase = GamePhase.SETUP;
         this.setupPhase = SetupPhase.FORWARD;
@@ -75,6 +135,106 @@ public class GameState {
         this.roadBuilt = false;
     }
 
+    // Fork of a game in progress; the fork logs nothing and draws from the given source
+    private GameState(GameState source, GameRandom random) {
+        Map<Player, Player> playerCopies = new IdentityHashMap<>();
+        this.players = new ArrayList<>(source.players.size());
+        for (Player player : source.players) {
+            Player copy = new Player(player);
+            players.add(copy);
+            playerCopies.put(player, copy);
+        }
+        this.random = random;
+        this.gameBoard = source.gameBoard.fork(playerCopies);
+        this.productionLogger = (owner, resource, amount) -> eventLog.log(
+            GameEventType.RESOURCES_PRODUCED, owner.getName(), 0, 0, amount, resource.getDisplayName());
+        this.vertexScratch = gameBoard.getBitboards().newBitBoard();
+        this.horizontalScratch = gameBoard.getBitboards().newBitBoard();
+        this.verticalScratch = gameBoard.getBitboards().newBitBoard();
+        this.currentPlayerIndex = source.currentPlayerIndex;
+        this.currentPhase = source.currentPhase;
+        this.setupPhase = source.setupPhase;
+        this.diceRoll = source.diceRoll;
+        this.gameEnded = source.gameEnded;
+        this.winner = source.winner == null ? null : playerCopies.get(source.winner);
+        this.settlementBuilt = source.settlementBuilt;
+        this.roadBuilt = source.roadBuilt;
+        this.recordedActions = source.recordedActions;
+    }
+
+    // Restores a saved game, see GameCodec; the board already holds every building and road
+    GameState(List<Player> players, GameBoard gameBoard, GameRandom random) {
+        this.players = new ArrayList<>(players);
+        this.random = random;
+        this.gameBoard = gameBoard;
+        this.productionLogger = (owner, resource, amount) -> eventLog.log(
+            GameEventType.RESOURCES_PRODUCED, owner.getName(), 0, 0, amount, resource.getDisplayName());
+        this.vertexScratch = gameBoard.getBitboards().newBitBoard();
+        this.horizontalScratch = gameBoard.getBitboards().newBitBoard();
+        this.verticalScratch = gameBoard.getBitboards().newBitBoard();
+        this.currentPhase = GamePhase.SETUP;
+        this.setupPhase = SetupPhase.FORWARD;
+    }
+
+    // Creates an independent copy of this game for what-if analysis. Tiles, topology and costs are
+    // shared; occupancy, road networks and resources are shared copy-on-write, so forking allocates
+    // only a few small objects. Players of the fork are new objects in the same seat order.
+    // Forking changes sharing flags in this game too, so it must not run concurrently with other
+    // use of this game.
+    public GameState fork(GameRandom random) {
+        return new GameState(this, random);
+    }
+
+    // Forks with a dice stream split off this game's random source
+    public GameState fork() {
+        return fork(random.split());
+    }
+
+    /**
+     * Starts a new game in this instance, as if it had been created with
+     * {@code new GameState(playerCount, rows, cols, new GameRandom(seed))} for its
+     * current size.
+     *
+     * <p>The board is reshuffled and cleared in place (see {@link GameBoard#reset(GameRandom)})
+     * and the players keep their objects but return to the starting supply. The event log and
+     * recorder stay attached. Together this lets a simulator play any number of games with
+     * almost no allocation; see {@code com.catan.sim.GameStatePool}.</p>
+     *
+     * @param seed The seed of the new game
+     */
+    public void reset(long seed) {
+        GameRandom random = new GameRandom(seed);
+        // Same draws as the constructor: the board shuffles with a split-off stream
+        gameBoard.reset(random.split());
+        resetTurnState(random);
+    }
+
+    /**
+     * Starts a new game in this instance on a prepared layout, like {@link #reset(long)}.
+     *
+     * @param layout The terrain and number of every tile, of this game's board size
+     * @param random The source of all dice rolls
+     */
+    public void reset(BoardLayout layout, GameRandom random) {
+        gameBoard.reset(layout);
+        resetTurnState(random);
+    }
+
+    private void resetTurnState(GameRandom random) {
+        this.random = random;
+        for (Player player : players) {
+            player.reset();
+        }
+        this.currentPlayerIndex = 0;
+        this.currentPhase = GamePhase.SETUP;
+        this.setupPhase = SetupPhase.FORWARD;
+        this.diceRoll = 0;
+        this.gameEnded = false;
+        this.winner = null;
+        this.settlementBuilt = false;
+        this.roadBuilt = false;
+    }
+
     public List<Player> getPlayers() {
         return new ArrayList<>(players);
     }
@@ -91,6 +251,11 @@ public class GameState {
         return gameBoard;
     }
 
+    // Bots should draw from this source so that the seed of the game also reproduces their decisions
+    public GameRandom getRandom() {
+        return random;
+    }
+
     public GamePhase getCurrentPhase() {
         return currentPhase;
     }
@@ -119,6 +284,93 @@ public class GameState {
         return roadBuilt;
     }
 
+    public GameEventLog getEventLog() {
+        return eventLog;
+    }
+
+    public void setEventLog(GameEventLog eventLog) {
+        this.eventLog = Objects.requireNonNull(eventLog);
+    }
+
+    public GameRecorder getRecorder() {
+        return recorder;
+    }
+
+    // Sets the recorder that sees every change of this game, or null to stop recording
+    public void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Gets the number of dice rolls, builds and trades reported to a {@link GameRecorder} so
+     * far. Every recorded action is numbered by the count before it, which lets a recorder
+     * tell which action an undo reverts. Undo and reset do not lower the count.
+     *
+     * @return The number of recorded actions
+     */
+    public long getRecordedActions() {
+        return recordedActions;
+    }
+
+    private void record(Player player, int move) {
+        if (recorder != null) {
+            recordedActions++;
+            recorder.built(players.indexOf(player), move);
+        }
+    }
+
+    private void recordPhase() {
+        if (recorder != null) {
+            recorder.phaseChanged(currentPhase);
+        }
+    }
+
+    int getPlayerCount() {
+        return players.size();
+    }
+
+    Player getPlayer(int seat) {
+        return players.get(seat);
+    }
+
+    // Packs the turn and phase bookkeeping into one value, so that a command can restore it exactly
+    long saveProgress() {
+        int winnerSeat = winner == null ? 0 : players.indexOf(winner) + 1;
+        return currentPlayerIndex
+            | (long) currentPhase.ordinal() << 8
+            | (long) setupPhase.ordinal() << 10
+            | (long) diceRoll << 12
+            | (settlementBuilt ? 1L << 20 : 0L)
+            | (roadBuilt ? 1L << 21 : 0L)
+            | (gameEnded ? 1L << 22 : 0L)
+            | (long) winnerSeat << 24;
+    }
+
+    void restoreProgress(long progress) {
+        int winnerSeat = (int) (progress >>> 24 & 0xff) - 1;
+        restoreTurn((int) (progress & 0xff),
+            GamePhase.values()[(int) (progress >>> 8 & 0x3)],
+            SetupPhase.values()[(int) (progress >>> 10 & 0x3)],
+            (int) (progress >>> 12 & 0xff),
+            (progress & 1L << 20) != 0,
+            (progress & 1L << 21) != 0,
+            (progress & 1L << 22) != 0,
+            winnerSeat);
+    }
+
+    // Sets the turn and phase bookkeeping, e.g. of a loaded game; winnerSeat is -1 without a winner
+    void restoreTurn(int currentPlayerIndex, GamePhase currentPhase, SetupPhase setupPhase, int diceRoll,
+                     boolean settlementBuilt, boolean roadBuilt, boolean gameEnded, int winnerSeat) {
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.currentPhase = currentPhase;
+        this.setupPhase = setupPhase;
+        this.diceRoll = diceRoll;
+        this.settlementBuilt = settlementBuilt;
+        this.roadBuilt = roadBuilt;
+        this.gameEnded = gameEnded;
+        this.winner = winnerSeat < 0 ? null : players.get(winnerSeat);
+    }
+
     private void nextPlayer() {
         if (currentPhase == GamePhase.SETUP) {
             if (setupPhase == SetupPhase.FORWARD) {
@@ -152,8 +404,19 @@ public class GameState {
 
     public void rollDice() {
         if (currentPhase == GamePhase.PLAY) {
-            diceRoll = (int) (Math.random() * 6) + (int) (Math.random() * 6) + 2; // 2-12
-            System.out.println("Dice: " + diceRoll);
+            rollDice(random.rollDice()); // 2-12
+        }
+    }
+
+    // Ends the turn with a known dice result, e.g. an outcome chosen by a search or a replay
+    public void rollDice(int roll) {
+        if (currentPhase == GamePhase.PLAY) {
+            diceRoll = roll;
+            eventLog.log(GameEventType.DICE_ROLLED, getCurrentPlayer().getName(), 0, 0, diceRoll, null);
+            if (recorder != null) {
+                recordedActions++;
+                recorder.diceRolled(currentPlayerIndex, diceRoll);
+            }
             produceResources();
             
             // Switch to next player after rolling
@@ -162,25 +425,9 @@ public class GameState {
     }
 
     private void produceResources() {
-        // Check if any player has settlements/cities on tiles with the rolled number
-        for (int row = 0; row < gameBoard.getRows(); row++) {
-            for (int col = 0; col < gameBoard.getCols(); col++) {
-                GameBoard.Tile tile = gameBoard.getTile(row, col);
-                if (tile != null && tile.getNumber() != null && tile.getNumber() == diceRoll && tile.getTerrainType().producesResource()) {
-                    // Find vertices adjacent to this tile
-                    List<Vertex> adjacentVertices = gameBoard.getAdjacentVertices(row, col);
-                    for (Vertex vertex : adjacentVertices) {
-                        if (vertex.isOccupied()) {
-                            Player owner = vertex.getOwner();
-                            ResourceType resource = tile.getTerrainType().getResourceType();
-                            int amount = vertex.getBuildingType() == Vertex.BuildingType.CITY ? 2 : 1;
-                            owner.addResource(resource, amount);
-                            System.out.println(owner.getName() + " receives " + amount + "x " + resource.getDisplayName());
-                        }
-                    }
-                }
-            }
-        }
+        // Only occupied vertices next to a tile with the rolled number are visited
+        gameBoard.produceResources(diceRoll,
+            eventLog.isEnabled(GameEventType.RESOURCES_PRODUCED) ? productionLogger : null);
     }
 
     public void endSetupPhase() {
@@ -189,6 +436,8 @@ public class GameState {
             currentPlayerIndex = 0; // Start with first player
             // Reset dice roll for new phase
             diceRoll = 0;
+            eventLog.log(GameEventType.PHASE_CHANGED, null, 0, 0, 0, currentPhase.getDisplayName());
+            recordPhase();
         }
     }
 
@@ -218,7 +467,11 @@ public class GameState {
                 }
             }
             
+            Player longestRoadHolder = gameBoard.getLongestRoadHolder();
             if (vertex.buildSettlement(player)) {
+                eventLog.log(GameEventType.SETTLEMENT_BUILT, player.getName(), vertexRow, vertexCol, 0, null);
+                logLongestRoad(longestRoadHolder);
+                record(player, Move.settlement(vertexRow, vertexCol));
                 if (currentPhase == GamePhase.SETUP) {
                     settlementBuilt = true;
                 }
@@ -240,6 +493,8 @@ public class GameState {
             if (BuildingCosts.canAfford(player, BuildingCosts.BuildingType.CITY)) {
                 if (BuildingCosts.payCost(player, BuildingCosts.BuildingType.CITY) && 
                     vertex.buildCity(player)) {
+                    eventLog.log(GameEventType.CITY_BUILT, player.getName(), vertexRow, vertexCol, 0, null);
+                    record(player, Move.city(vertexRow, vertexCol));
                     checkForWinner(player);
                     return true;
                 }
@@ -266,6 +521,8 @@ public class GameState {
             Edge edge = gameBoard.getHorizontalEdge(edgeRow, edgeCol);
             if (edge != null && edge.canBuildRoad(player, true)) { // Allow without connection in setup
                 if (edge.buildRoad(player)) {
+                    eventLog.log(GameEventType.ROAD_BUILT, player.getName(), edgeRow, edgeCol, 0, "H");
+                    record(player, Move.horizontalRoad(edgeRow, edgeCol));
                     roadBuilt = true;
                     // Both settlement and road built, move to next player
                     nextPlayer();
@@ -278,8 +535,13 @@ public class GameState {
             Edge edge = gameBoard.getHorizontalEdge(edgeRow, edgeCol);
             if (edge != null && edge.canBuildRoad(player, false)) { // Require connection in play phase
                 if (BuildingCosts.canAfford(player, BuildingCosts.BuildingType.ROAD)) {
-                    if (BuildingCosts.payCost(player, BuildingCosts.BuildingType.ROAD)) {
-                        return edge.buildRoad(player);
+                    Player longestRoadHolder = gameBoard.getLongestRoadHolder();
+                    if (BuildingCosts.payCost(player, BuildingCosts.BuildingType.ROAD) && edge.buildRoad(player)) {
+                        eventLog.log(GameEventType.ROAD_BUILT, player.getName(), edgeRow, edgeCol, 0, "H");
+                        logLongestRoad(longestRoadHolder);
+                        record(player, Move.horizontalRoad(edgeRow, edgeCol));
+                        checkForWinner(player);
+                        return true;
                     }
                 }
             }
@@ -304,6 +566,8 @@ public class GameState {
             Edge edge = gameBoard.getVerticalEdge(edgeRow, edgeCol);
             if (edge != null && edge.canBuildRoad(player, true)) { // Allow without connection in setup
                 if (edge.buildRoad(player)) {
+                    eventLog.log(GameEventType.ROAD_BUILT, player.getName(), edgeRow, edgeCol, 0, "V");
+                    record(player, Move.verticalRoad(edgeRow, edgeCol));
                     roadBuilt = true;
                     // Both settlement and road built, move to next player
                     nextPlayer();
@@ -316,8 +580,13 @@ public class GameState {
             Edge edge = gameBoard.getVerticalEdge(edgeRow, edgeCol);
             if (edge != null && edge.canBuildRoad(player, false)) { // Require connection in play phase
                 if (BuildingCosts.canAfford(player, BuildingCosts.BuildingType.ROAD)) {
-                    if (BuildingCosts.payCost(player, BuildingCosts.BuildingType.ROAD)) {
-                        return edge.buildRoad(player);
+                    Player longestRoadHolder = gameBoard.getLongestRoadHolder();
+                    if (BuildingCosts.payCost(player, BuildingCosts.BuildingType.ROAD) && edge.buildRoad(player)) {
+                        eventLog.log(GameEventType.ROAD_BUILT, player.getName(), edgeRow, edgeCol, 0, "V");
+                        logLongestRoad(longestRoadHolder);
+                        record(player, Move.verticalRoad(edgeRow, edgeCol));
+                        checkForWinner(player);
+                        return true;
                     }
                 }
             }
@@ -325,6 +594,72 @@ public class GameState {
         }
     }
 
+    // Fills the list with every settlement, city and road the current player may build right now.
+    // Reads the cached bitboards and frontier of the board, so it is cheap enough for bots to call per decision.
+    public void generateLegalMoves(MoveList moves) {
+        moves.clear();
+        Player player = getCurrentPlayer();
+        Bitboards bitboards = gameBoard.getBitboards();
+        int playerIndex = gameBoard.getPlayerIndex(player);
+
+        if (currentPhase == GamePhase.SETUP) {
+            if (!settlementBuilt) {
+                if (player.getSettlements() > 0) {
+                    settlementSpots(bitboards);
+                    addMoves(Move.SETTLEMENT, vertexScratch, moves);
+                }
+            } else if (!roadBuilt && player.getRoads() > 0) {
+                bitboards.roadFrontier(playerIndex, horizontalScratch, verticalScratch);
+                addMoves(Move.HORIZONTAL_ROAD, horizontalScratch, moves);
+                addMoves(Move.VERTICAL_ROAD, verticalScratch, moves);
+            }
+        } else if (currentPhase == GamePhase.PLAY) {
+            if (player.getCities() > 0 && BuildingCosts.canAfford(player, BuildingCosts.BuildingType.CITY)) {
+                bitboards.settlements(playerIndex, vertexScratch);
+                addMoves(Move.CITY, vertexScratch, moves);
+            }
+            if (player.getSettlements() > 0 && BuildingCosts.canAfford(player, BuildingCosts.BuildingType.SETTLEMENT)) {
+                settlementSpots(bitboards);
+                addMoves(Move.SETTLEMENT, vertexScratch, moves);
+            }
+            if (player.getRoads() > 0 && BuildingCosts.canAfford(player, BuildingCosts.BuildingType.ROAD)) {
+                bitboards.roadFrontier(playerIndex, horizontalScratch, verticalScratch);
+                addMoves(Move.HORIZONTAL_ROAD, horizontalScratch, moves);
+                addMoves(Move.VERTICAL_ROAD, verticalScratch, moves);
+            }
+        }
+    }
+
+    // Free vertices, without those next to a building while the distance rule is enforced
+    private void settlementSpots(Bitboards bitboards) {
+        if (gameBoard.isDistanceRule()) {
+            bitboards.openVertices(vertexScratch);
+        } else {
+            bitboards.freeVertices(vertexScratch);
+        }
+    }
+
+    private void addMoves(int type, BitBoard positions, MoveList moves) {
+        Bitboards bitboards = gameBoard.getBitboards();
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            moves.add(Move.of(type, bitboards.rowOf(i), bitboards.colOf(i)));
+        }
+    }
+
+    // Performs a move produced by generateLegalMoves for the current player
+    public boolean applyMove(int move) {
+        Player player = getCurrentPlayer();
+        int row = Move.row(move);
+        int col = Move.col(move);
+        return switch (Move.type(move)) {
+            case Move.SETTLEMENT -> buildSettlementAtVertex(row, col, player);
+            case Move.CITY -> buildCityAtVertex(row, col, player);
+            case Move.HORIZONTAL_ROAD -> buildRoadAtHorizontalEdge(row, col, player);
+            case Move.VERTICAL_ROAD -> buildRoadAtVerticalEdge(row, col, player);
+            default -> false;
+        };
+    }
+
     // Legacy methods for backward compatibility
     public boolean canBuildSettlement(Player player) {
         return player.getSettlements() > 0;
@@ -353,19 +688,39 @@ public class GameState {
         return false;
     }
 
+    // Reports a new holder of the Longest Road after a build
+    private void logLongestRoad(Player previousHolder) {
+        Player holder = gameBoard.getLongestRoadHolder();
+        if (holder != previousHolder) {
+            eventLog.log(GameEventType.LONGEST_ROAD, holder == null ? null : holder.getName(), 0, 0,
+                holder == null ? 0 : gameBoard.getLongestRoad(holder), null);
+        }
+    }
+
     private void checkForWinner(Player player) {
         if (player.hasWon()) {
             gameEnded = true;
             winner = player;
             currentPhase = GamePhase.GAME_OVER;
+            eventLog.log(GameEventType.GAME_WON, player.getName(), 0, 0, player.getVictoryPoints(), null);
+            recordPhase();
         }
     }
 
-    public void tradeResources(Player from, Player to, ResourceType fromResource, ResourceType toResource) {
-        if (from.removeResource(fromResource, 1) && to.removeResource(toResource, 1)) {
-            from.addResource(toResource, 1);
-            to.addResource(fromResource, 1);
+    public boolean tradeResources(Player from, Player to, ResourceType fromResource, ResourceType toResource) {
+        // Both sides are checked first so that a failed trade leaves both players unchanged
+        if (from == to || from.getResourceCount(fromResource) < 1 || to.getResourceCount(toResource) < 1) {
+            return false;
+        }
+        from.removeResource(fromResource, 1);
+        to.removeResource(toResource, 1);
+        from.addResource(toResource, 1);
+        to.addResource(fromResource, 1);
+        if (recorder != null) {
+            recordedActions++;
+            recorder.traded(players.indexOf(from), players.indexOf(to), fromResource, toResource);
         }
+        return true;
     }
 
     public String getGameStatus() {
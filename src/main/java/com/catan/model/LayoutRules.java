@@ -0,0 +1,174 @@
+package com.catan.model;
+
+/**
+ * Fairness constraints on a {@link BoardLayout}, enforced by a {@link BoardGenerator}.
+ *
+ * <p>Tiles are adjacent when they share a side, as in {@link GameBoard#getAdjacentTiles}.
+ * A "pip" is one of the 36 dice outcomes that produce on a tile: 1 for 2 and 12, up to 5 for
+ * 6 and 8. The rules are:</p>
+ * <ul>
+ *   <li>{@code separateHotNumbers}: no two tiles with a 6 or an 8 are adjacent.</li>
+ *   <li>{@code maxPipDeviationPercent}: the pips of each resource deviate by at most this
+ *       percentage from the resource's fair share, which is proportional to its number of
+ *       tiles. {@link #UNLIMITED} disables the rule.</li>
+ *   <li>{@code maxTerrainCluster}: no connected group of same-terrain tiles is larger than
+ *       this. {@link #UNLIMITED} disables the rule.</li>
+ * </ul>
+ *
+ * @param separateHotNumbers Whether 6 and 8 tokens may not be adjacent
+ * @param maxPipDeviationPercent The largest allowed deviation from a fair pip share (0 or more)
+ * @param maxTerrainCluster The largest allowed same-terrain group (1 or more)
+ */
+public record LayoutRules(boolean separateHotNumbers, int maxPipDeviationPercent, int maxTerrainCluster) {
+    /** Disables a numeric rule */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    // A deviation of 500% can never be exceeded, since no token has more than 5 pips
+    private static final int MAX_EFFECTIVE_PERCENT = 500;
+
+    private static final LayoutRules UNCONSTRAINED = new LayoutRules(false, UNLIMITED, UNLIMITED);
+    private static final LayoutRules TOURNAMENT = new LayoutRules(true, 10, 3);
+
+    public LayoutRules {
+        if (maxPipDeviationPercent < 0) {
+            throw new IllegalArgumentException("Pip deviation must not be negative");
+        }
+        if (maxTerrainCluster < 1) {
+            throw new IllegalArgumentException("Terrain clusters must allow at least one tile");
+        }
+    }
+
+    /**
+     * Returns the rules that accept every layout, like the plain shuffle of {@link GameBoard}.
+     */
+    public static LayoutRules unconstrained() {
+        return UNCONSTRAINED;
+    }
+
+    /**
+     * Returns the rules for tournament boards: separated 6 and 8 tokens, every resource within
+     * 10% of its fair pip share and no more than 3 connected tiles of one terrain.
+     */
+    public static LayoutRules tournament() {
+        return TOURNAMENT;
+    }
+
+    public LayoutRules withSeparateHotNumbers(boolean separate) {
+        return new LayoutRules(separate, maxPipDeviationPercent, maxTerrainCluster);
+    }
+
+    public LayoutRules withMaxPipDeviationPercent(int percent) {
+        return new LayoutRules(separateHotNumbers, percent, maxTerrainCluster);
+    }
+
+    public LayoutRules withMaxTerrainCluster(int tiles) {
+        return new LayoutRules(separateHotNumbers, maxPipDeviationPercent, tiles);
+    }
+
+    /**
+     * Checks a complete layout against these rules.
+     *
+     * @param layout The layout to check
+     * @return True if every rule holds
+     */
+    public boolean isSatisfiedBy(BoardLayout layout) {
+        BoardTopology topology = BoardTopology.of(layout.getRows(), layout.getCols());
+        byte[] terrains = layout.terrains();
+        byte[] numbers = layout.numbers();
+        int tileCount = terrains.length;
+
+        if (separateHotNumbers) {
+            for (int tile = 0; tile < tileCount; tile++) {
+                if (isHot(numbers[tile])) {
+                    for (int i = topology.tileNeighbourStart(tile); i < topology.tileNeighbourStart(tile + 1); i++) {
+                        if (isHot(numbers[topology.tileNeighbour(i)])) {
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+
+        if (maxPipDeviationPercent != UNLIMITED) {
+            long[] pips = new long[TerrainType.values().length];
+            long[] tiles = new long[pips.length];
+            long totalPips = 0;
+            long productive = 0;
+            for (int tile = 0; tile < tileCount; tile++) {
+                if (numbers[tile] != 0) {
+                    pips[terrains[tile]] += pips(numbers[tile]);
+                    tiles[terrains[tile]]++;
+                    totalPips += pips(numbers[tile]);
+                    productive++;
+                }
+            }
+            for (int terrain = 0; terrain < pips.length; terrain++) {
+                if (pipExcess(pips[terrain], tiles[terrain], productive, totalPips) > 0) {
+                    return false;
+                }
+            }
+        }
+
+        if (maxTerrainCluster < tileCount) {
+            // Flood fill every group once, stopping as soon as one grows too large
+            int[] group = new int[tileCount];
+            int[] queue = new int[tileCount];
+            int groups = 0;
+            for (int start = 0; start < tileCount; start++) {
+                if (group[start] != 0) {
+                    continue;
+                }
+                group[start] = ++groups;
+                int head = 0;
+                int tail = 0;
+                queue[tail++] = start;
+                while (head < tail) {
+                    int tile = queue[head++];
+                    for (int i = topology.tileNeighbourStart(tile); i < topology.tileNeighbourStart(tile + 1); i++) {
+                        int neighbour = topology.tileNeighbour(i);
+                        if (group[neighbour] == 0 && terrains[neighbour] == terrains[start]) {
+                            group[neighbour] = groups;
+                            queue[tail++] = neighbour;
+                        }
+                    }
+                    if (tail > maxTerrainCluster) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of dice outcomes (out of 36) that roll a number.
+     */
+    static int pips(int number) {
+        return number == 0 ? 0 : 6 - Math.abs(7 - number);
+    }
+
+    static boolean isHot(int number) {
+        return number == 6 || number == 8;
+    }
+
+    /**
+     * Measures how far the pips of one resource exceed the allowed deviation from its fair
+     * share. The result is 0 if the rule holds and otherwise grows with the violation, in
+     * units that are only meaningful for comparison.
+     *
+     * @param pips The pips on the resource's tiles
+     * @param tiles The number of the resource's tiles with a token
+     * @param productive The number of tiles with a token on the board
+     * @param totalPips The pips of all tiles with a token
+     * @return The excess, 0 if within bounds
+     */
+    long pipExcess(long pips, long tiles, long productive, long totalPips) {
+        if (maxPipDeviationPercent == UNLIMITED || tiles == 0) {
+            return 0;
+        }
+        // |pips / fair share - 1| <= percent / 100, with fair share = tiles * totalPips / productive
+        long fair = tiles * totalPips;
+        long deviation = Math.abs(pips * productive - fair) * 100;
+        return Math.max(0, deviation - Math.min(maxPipDeviationPercent, MAX_EFFECTIVE_PERCENT) * fair);
+    }
+}
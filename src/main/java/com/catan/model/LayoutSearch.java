@@ -0,0 +1,340 @@
+package com.catan.model;
+
+import java.util.Arrays;
+
+/**
+ * Randomized search and repair for one {@link BoardLayout} that satisfies a set of
+ * {@link LayoutRules}. Used by {@link BoardGenerator}; an instance belongs to one thread and
+ * reuses its buffers for every layout of the same size.
+ *
+ * <p>An attempt starts from the proportional terrain and number pools of {@link GameBoard},
+ * shuffled, and repairs them in three stages with min-conflicts local search: terrain swaps
+ * break up oversized clusters, number swaps separate 6 and 8 tokens, and further number swaps
+ * even out the pips per resource. A swap is kept when it does not make the tiles it touches
+ * worse, which lets the search cross plateaus. Each stage has a step budget linear in the
+ * board size; an attempt that runs out starts over with a new shuffle. Every check and update
+ * is local to the swapped tiles, so an attempt takes time linear in the number of tiles.</p>
+ */
+final class LayoutSearch {
+    private static final int NO_NUMBER = 0;
+
+    private final LayoutRules rules;
+    private final int rows;
+    private final int cols;
+    private final BoardTopology topology;
+    private final int tileCount;
+    private final byte[] terrainPool;
+    private final byte[] numberPool;
+    private final int productiveCount;
+
+    private final byte[] terrains;
+    private final byte[] numbers;
+    private final byte[] shuffledNumbers;
+
+    // Tiles that may violate a rule; flags avoid duplicates
+    private final int[] worklist;
+    private final boolean[] queued;
+    private int worklistSize;
+
+    // Flood fill state for the cluster rule, reset by bumping the stamp
+    private final int[] visited;
+    private final int[] queue;
+    private int stamp;
+
+    // Tiles with a number token, and the pips and token count per terrain
+    private final int[] productive;
+    private final long[] terrainPips = new long[TerrainType.values().length];
+    private final long[] terrainTokens = new long[TerrainType.values().length];
+    private long totalPips;
+
+    LayoutSearch(int rows, int cols, LayoutRules rules) {
+        this.rules = rules;
+        this.rows = rows;
+        this.cols = cols;
+        this.topology = BoardTopology.of(rows, cols);
+        this.tileCount = rows * cols;
+
+        this.terrainPool = GameBoard.createTerrainDistribution(tileCount);
+        int deserts = 0;
+        for (byte terrain : terrainPool) {
+            if (terrain == TerrainType.DESERT.ordinal()) {
+                deserts++;
+            }
+        }
+        this.productiveCount = tileCount - deserts;
+        this.numberPool = GameBoard.createNumberDistribution(productiveCount);
+
+        this.terrains = new byte[tileCount];
+        this.numbers = new byte[tileCount];
+        this.shuffledNumbers = new byte[productiveCount];
+        this.worklist = new int[tileCount];
+        this.queued = new boolean[tileCount];
+        this.visited = new int[tileCount];
+        this.queue = new int[tileCount];
+        this.productive = new int[productiveCount];
+    }
+
+    /**
+     * Makes one attempt to find a layout.
+     *
+     * @param random The source of the shuffles and repair moves
+     * @return The layout, or null if a repair stage ran out of steps
+     */
+    BoardLayout attempt(GameRandom random) {
+        System.arraycopy(terrainPool, 0, terrains, 0, tileCount);
+        random.shuffle(terrains, tileCount);
+        if (!separateClusters(random)) {
+            return null;
+        }
+        placeNumbers(random);
+        if (!separateHotNumbers(random) || !balancePips(random)) {
+            return null;
+        }
+        return new BoardLayout(rows, cols, terrains.clone(), numbers.clone());
+    }
+
+    private int budget() {
+        return 64 * tileCount + 1024;
+    }
+
+    // Stage 1: no same-terrain cluster larger than the limit
+
+    private boolean separateClusters(GameRandom random) {
+        int limit = rules.maxTerrainCluster();
+        if (limit >= tileCount) {
+            return true;
+        }
+        clearWorklist();
+        for (int tile = 0; tile < tileCount; tile++) {
+            if (inOversizedCluster(tile, limit)) {
+                enqueue(tile);
+            }
+        }
+        for (int steps = budget(); worklistSize > 0; steps--) {
+            if (steps == 0) {
+                return false;
+            }
+            int a = dequeue(random);
+            if (!inOversizedCluster(a, limit)) {
+                continue;
+            }
+            int b = random.nextInt(tileCount);
+            if (terrains[a] == terrains[b]) {
+                enqueue(a);
+                continue;
+            }
+            int before = oversizedAround(a, b, limit);
+            swap(terrains, a, b);
+            if (oversizedAround(a, b, limit) > before) {
+                swap(terrains, a, b);
+                enqueue(a);
+            } else {
+                enqueueOversizedAround(a, limit);
+                enqueueOversizedAround(b, limit);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a tile belongs to a same-terrain group larger than the limit, visiting
+     * at most limit + 1 tiles.
+     */
+    private boolean inOversizedCluster(int start, int limit) {
+        if (++stamp == 0) {
+            Arrays.fill(visited, 0);
+            stamp = 1;
+        }
+        byte terrain = terrains[start];
+        int head = 0;
+        int tail = 0;
+        visited[start] = stamp;
+        queue[tail++] = start;
+        while (head < tail) {
+            int tile = queue[head++];
+            for (int i = topology.tileNeighbourStart(tile); i < topology.tileNeighbourStart(tile + 1); i++) {
+                int neighbour = topology.tileNeighbour(i);
+                if (visited[neighbour] != stamp && terrains[neighbour] == terrain) {
+                    if (tail == limit) {
+                        return true;
+                    }
+                    visited[neighbour] = stamp;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Number of violating tiles among two tiles and their neighbours
+    private int oversizedAround(int a, int b, int limit) {
+        return oversizedAround(a, limit) + oversizedAround(b, limit);
+    }
+
+    private int oversizedAround(int tile, int limit) {
+        int count = inOversizedCluster(tile, limit) ? 1 : 0;
+        for (int i = topology.tileNeighbourStart(tile); i < topology.tileNeighbourStart(tile + 1); i++) {
+            if (inOversizedCluster(topology.tileNeighbour(i), limit)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void enqueueOversizedAround(int tile, int limit) {
+        if (inOversizedCluster(tile, limit)) {
+            enqueue(tile);
+        }
+        for (int i = topology.tileNeighbourStart(tile); i < topology.tileNeighbourStart(tile + 1); i++) {
+            int neighbour = topology.tileNeighbour(i);
+            if (inOversizedCluster(neighbour, limit)) {
+                enqueue(neighbour);
+            }
+        }
+    }
+
+    // Stage 2: shuffled tokens on every non-desert tile, then no adjacent 6 and 8
+
+    private void placeNumbers(GameRandom random) {
+        System.arraycopy(numberPool, 0, shuffledNumbers, 0, productiveCount);
+        random.shuffle(shuffledNumbers, productiveCount);
+        Arrays.fill(terrainPips, 0);
+        Arrays.fill(terrainTokens, 0);
+        totalPips = 0;
+        int next = 0;
+        for (int tile = 0; tile < tileCount; tile++) {
+            if (terrains[tile] == TerrainType.DESERT.ordinal()) {
+                numbers[tile] = NO_NUMBER;
+            } else {
+                productive[next] = tile;
+                numbers[tile] = shuffledNumbers[next++];
+                terrainPips[terrains[tile]] += LayoutRules.pips(numbers[tile]);
+                terrainTokens[terrains[tile]]++;
+                totalPips += LayoutRules.pips(numbers[tile]);
+            }
+        }
+    }
+
+    private boolean separateHotNumbers(GameRandom random) {
+        if (!rules.separateHotNumbers() || productiveCount == 0) {
+            return true;
+        }
+        clearWorklist();
+        for (int i = 0; i < productiveCount; i++) {
+            if (hotConflicts(productive[i]) > 0) {
+                enqueue(productive[i]);
+            }
+        }
+        for (int steps = budget(); worklistSize > 0; steps--) {
+            if (steps == 0) {
+                return false;
+            }
+            int a = dequeue(random);
+            if (hotConflicts(a) == 0) {
+                continue;
+            }
+            int b = productive[random.nextInt(productiveCount)];
+            if (LayoutRules.isHot(numbers[b])) {
+                enqueue(a);
+                continue;
+            }
+            int before = hotConflicts(a) + hotConflicts(b);
+            swapNumbers(a, b);
+            if (hotConflicts(a) + hotConflicts(b) > before) {
+                swapNumbers(a, b);
+                enqueue(a);
+            } else if (hotConflicts(b) > 0) {
+                enqueue(b);
+            }
+        }
+        return true;
+    }
+
+    // Number of hot neighbours of a tile with a hot token, 0 otherwise
+    private int hotConflicts(int tile) {
+        if (!LayoutRules.isHot(numbers[tile])) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = topology.tileNeighbourStart(tile); i < topology.tileNeighbourStart(tile + 1); i++) {
+            if (LayoutRules.isHot(numbers[topology.tileNeighbour(i)])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Stage 3: pips per resource within the allowed deviation, keeping hot tokens apart
+
+    private boolean balancePips(GameRandom random) {
+        if (rules.maxPipDeviationPercent() == LayoutRules.UNLIMITED || productiveCount == 0) {
+            return true;
+        }
+        long excess = totalPipExcess();
+        for (int steps = budget(); excess > 0; steps--) {
+            if (steps == 0) {
+                return false;
+            }
+            int a = productive[random.nextInt(productiveCount)];
+            int b = productive[random.nextInt(productiveCount)];
+            if (terrains[a] == terrains[b] || numbers[a] == numbers[b]) {
+                continue;
+            }
+            int hotBefore = rules.separateHotNumbers() ? hotConflicts(a) + hotConflicts(b) : 0;
+            swapNumbers(a, b);
+            long after = totalPipExcess();
+            if (after > excess || rules.separateHotNumbers() && hotConflicts(a) + hotConflicts(b) > hotBefore) {
+                swapNumbers(a, b);
+            } else {
+                excess = after;
+            }
+        }
+        return true;
+    }
+
+    private long totalPipExcess() {
+        long excess = 0;
+        for (int terrain = 0; terrain < terrainPips.length; terrain++) {
+            excess += rules.pipExcess(terrainPips[terrain], terrainTokens[terrain], productiveCount, totalPips);
+        }
+        return excess;
+    }
+
+    private void swapNumbers(int a, int b) {
+        int pipsA = LayoutRules.pips(numbers[a]);
+        int pipsB = LayoutRules.pips(numbers[b]);
+        terrainPips[terrains[a]] += pipsB - pipsA;
+        terrainPips[terrains[b]] += pipsA - pipsB;
+        swap(numbers, a, b);
+    }
+
+    private static void swap(byte[] values, int a, int b) {
+        byte swap = values[a];
+        values[a] = values[b];
+        values[b] = swap;
+    }
+
+    // Worklist of candidate tiles, taken in random order
+
+    private void clearWorklist() {
+        for (int i = 0; i < worklistSize; i++) {
+            queued[worklist[i]] = false;
+        }
+        worklistSize = 0;
+    }
+
+    private void enqueue(int tile) {
+        if (!queued[tile]) {
+            queued[tile] = true;
+            worklist[worklistSize++] = tile;
+        }
+    }
+
+    private int dequeue(GameRandom random) {
+        int index = random.nextInt(worklistSize);
+        int tile = worklist[index];
+        worklist[index] = worklist[--worklistSize];
+        queued[tile] = false;
+        return tile;
+    }
+}
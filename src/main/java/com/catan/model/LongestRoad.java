@@ -0,0 +1,357 @@
+package com.catan.model;
+
+import java.util.Arrays;
+
+/**
+ * Measures the longest trail of one player's roads, for the Longest Road award of
+ * {@link GameBoard}.
+ *
+ * <p>A trail is a sequence of connected roads that uses every road at most once; it may
+ * pass through a vertex more than once, but never through a building of another player,
+ * which ends the trail there. Finding the longest trail is NP-hard in general, so the search
+ * is confined to a single connected component of the player's roads (at most the player's
+ * road supply) and runs a depth-first search memoized on the current vertex and the bitmask
+ * of roads used so far. Different orders of taking the same roads lead to one memo entry,
+ * which keeps dense networks with many cycles cheap. The search only starts at the vertices
+ * a longest trail can start at (see {@link #isTrailStart}). Trees, the common case, need no
+ * search at all: their longest trail is the diameter, found by two breadth-first sweeps.</p>
+ *
+ * <p>An instance belongs to one thread and reuses its buffers for every search.</p>
+ */
+final class LongestRoad {
+    /** Largest component searched with memoization; larger ones use plain backtracking */
+    private static final int MAX_MEMO_EDGES = Long.SIZE;
+
+    private static final int NOT_FOUND = -1;
+
+    // The component being measured: global edge ids and the local indices of their ends
+    private int[] edges = new int[16];
+    private int[] edgeEnds = new int[32];
+    private int edgeCount;
+
+    // Local vertices: global ids, whether a trail must end there, and up to 4 local edges each
+    private int[] vertices = new int[16];
+    private boolean[] blocked = new boolean[16];
+    private int[] vertexEdges = new int[64];
+    private int[] degree = new int[16];
+    private int vertexCount;
+
+    // All roads of the player, and those in components already measured, for measureAll
+    private int[] roads = new int[16];
+    private int[] measured = new int[16];
+    private int measuredCount;
+
+    // Memo of the longest continuation per (vertex, used roads), cleared by bumping the stamp
+    private long[] memoUsed = new long[256];
+    private int[] memoVertex = new int[256];
+    private int[] memoLength = new int[256];
+    private int[] memoStamp = new int[256];
+    private int memoSize;
+    private int stamp;
+
+    // Roads taken by the unmemoized search
+    private boolean[] taken = new boolean[16];
+
+    // Breadth-first sweeps over a tree
+    private int[] distance = new int[16];
+    private int[] queue = new int[16];
+
+    /**
+     * Measures the longest trail in the component of one road.
+     *
+     * @param topology The adjacency tables of the board
+     * @param edgeOwners The owner code (player index + 1) of every edge
+     * @param vertexOwners The owner code of every vertex
+     * @param owner The owner code of the player
+     * @param seedEdge A road of the player
+     * @return The number of roads on the longest trail through the component
+     */
+    int measure(BoardTopology topology, ChunkedByteArray edgeOwners, ChunkedByteArray vertexOwners,
+                int owner, int seedEdge) {
+        collect(topology, edgeOwners, vertexOwners, owner, seedEdge);
+        return longestTrail();
+    }
+
+    /**
+     * Measures the longest trail over all of a player's roads, one component at a time.
+     *
+     * @param bitboards The bitboards listing the player's roads
+     * @param player The index of the player
+     * @return The number of roads on the longest trail
+     */
+    int measureAll(BoardTopology topology, ChunkedByteArray edgeOwners, ChunkedByteArray vertexOwners,
+                   Bitboards bitboards, int player) {
+        int count = bitboards.roadCount(player);
+        if (roads.length < count) {
+            roads = new int[Math.max(count, roads.length * 2)];
+            measured = new int[roads.length];
+        }
+        bitboards.roadEdges(player, roads);
+        measuredCount = 0;
+        int longest = 0;
+        for (int i = 0; i < count; i++) {
+            if (indexOf(measured, measuredCount, roads[i]) != NOT_FOUND) {
+                continue;
+            }
+            collect(topology, edgeOwners, vertexOwners, player + 1, roads[i]);
+            longest = Math.max(longest, longestTrail());
+            System.arraycopy(edges, 0, measured, measuredCount, edgeCount);
+            measuredCount += edgeCount;
+        }
+        return longest;
+    }
+
+    /**
+     * Gathers the roads connected to the seed without passing another player's building.
+     */
+    private void collect(BoardTopology topology, ChunkedByteArray edgeOwners, ChunkedByteArray vertexOwners,
+                         int owner, int seedEdge) {
+        edgeCount = 0;
+        vertexCount = 0;
+        addEdge(topology, vertexOwners, owner, seedEdge);
+        // Vertices are scanned once each, in the order they are reached
+        for (int local = 0; local < vertexCount; local++) {
+            if (blocked[local]) {
+                continue;
+            }
+            int vertex = vertices[local];
+            for (int j = topology.vertexEdgeStart(vertex), end = topology.vertexEdgeStart(vertex + 1); j < end; j++) {
+                int edge = topology.vertexEdge(j);
+                if (edgeOwners.get(edge) == owner && !isIncident(local, edge)) {
+                    addEdge(topology, vertexOwners, owner, edge);
+                }
+            }
+        }
+    }
+
+    // Every collected road is listed at both ends, so this is a check of at most 4 entries
+    private boolean isIncident(int local, int edge) {
+        for (int i = 0; i < degree[local]; i++) {
+            if (edges[vertexEdges[local * 4 + i]] == edge) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addEdge(BoardTopology topology, ChunkedByteArray vertexOwners, int owner, int edge) {
+        if (edgeCount == edges.length) {
+            edges = Arrays.copyOf(edges, edgeCount * 2);
+            edgeEnds = Arrays.copyOf(edgeEnds, edgeCount * 4);
+        }
+        int index = edgeCount++;
+        edges[index] = edge;
+        for (int end = 0; end < 2; end++) {
+            int local = localVertex(topology.edgeEnd(edge, end), vertexOwners, owner);
+            edgeEnds[index * 2 + end] = local;
+            vertexEdges[local * 4 + degree[local]++] = index;
+        }
+    }
+
+    private int localVertex(int vertex, ChunkedByteArray vertexOwners, int owner) {
+        int local = indexOf(vertices, vertexCount, vertex);
+        if (local != NOT_FOUND) {
+            return local;
+        }
+        if (vertexCount == vertices.length) {
+            vertices = Arrays.copyOf(vertices, vertexCount * 2);
+            blocked = Arrays.copyOf(blocked, vertexCount * 2);
+            vertexEdges = Arrays.copyOf(vertexEdges, vertexCount * 8);
+            degree = Arrays.copyOf(degree, vertexCount * 2);
+        }
+        local = vertexCount++;
+        vertices[local] = vertex;
+        int building = vertexOwners.get(vertex);
+        blocked[local] = building != 0 && building != owner;
+        degree[local] = 0;
+        return local;
+    }
+
+    private static int indexOf(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private int longestTrail() {
+        int odd = 0;
+        boolean blockedEnd = false;
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            odd += degree[vertex] & 1;
+            blockedEnd |= blocked[vertex];
+        }
+        if (odd <= 2 && !blockedEnd) {
+            // An Euler trail, between the two odd vertices or closed, takes every road
+            return edgeCount;
+        }
+        if (vertexCount == edgeCount + 1) {
+            return treeDiameter();
+        }
+        boolean memoized = edgeCount <= MAX_MEMO_EDGES;
+        if (memoized) {
+            clearMemo();
+        } else if (taken.length < edgeCount) {
+            taken = new boolean[edgeCount];
+        }
+        int longest = 0;
+        for (int vertex = 0; vertex < vertexCount && longest < edgeCount; vertex++) {
+            if (isTrailStart(vertex)) {
+                longest = Math.max(longest, memoized ? extend(vertex, 0L) : extendUnmemoized(vertex, true));
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Measures a tree component, in which a trail is a path. Another player's building can
+     * only be a leaf of a tree, since the roads beyond it are not collected, so it never
+     * shortens a path and the longest trail is the diameter of the tree.
+     */
+    private int treeDiameter() {
+        if (distance.length < vertexCount) {
+            distance = new int[vertices.length];
+            queue = new int[vertices.length];
+        }
+        return farthest(farthest(0)) >>> 16 & 0xffff;
+    }
+
+    // Returns the distance << 16 | vertex of a vertex farthest from the start
+    private int farthest(int start) {
+        int from = start & 0xffff;
+        Arrays.fill(distance, 0, vertexCount, -1);
+        distance[from] = 0;
+        queue[0] = from;
+        int last = from;
+        for (int head = 0, tail = 1; head < tail; head++) {
+            last = queue[head];
+            for (int i = 0; i < degree[last]; i++) {
+                int edge = vertexEdges[last * 4 + i];
+                int next = edgeEnds[edge * 2] == last ? edgeEnds[edge * 2 + 1] : edgeEnds[edge * 2];
+                if (distance[next] < 0) {
+                    distance[next] = distance[last] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return distance[last] << 16 | last;
+    }
+
+    /**
+     * Checks whether a longest trail may start at a vertex. A trail that cannot be extended
+     * at its start has used every road there, once to leave and twice per later visit, so it
+     * starts at a vertex of odd degree or at another player's building. A closed trail that
+     * cannot be extended takes every road of the component, so with a vertex of odd degree
+     * or a building of another player some longest trail starts at one of them as well.
+     */
+    private boolean isTrailStart(int vertex) {
+        return (degree[vertex] & 1) != 0 || blocked[vertex];
+    }
+
+    /**
+     * Returns the most roads a trail can still take from a vertex, given the roads used so
+     * far. A trail may start at another player's building but not continue through one.
+     */
+    private int extend(int vertex, long used) {
+        if (used != 0 && blocked[vertex]) {
+            return 0;
+        }
+        int slot = find(vertex, used);
+        if (memoStamp[slot] == stamp) {
+            return memoLength[slot];
+        }
+        int longest = 0;
+        for (int i = 0; i < degree[vertex]; i++) {
+            int edge = vertexEdges[vertex * 4 + i];
+            if ((used & 1L << edge) == 0) {
+                int next = edgeEnds[edge * 2] == vertex ? edgeEnds[edge * 2 + 1] : edgeEnds[edge * 2];
+                longest = Math.max(longest, 1 + extend(next, used | 1L << edge));
+            }
+        }
+        // The recursion may have grown the table, so the slot is looked up again
+        store(vertex, used, longest);
+        return longest;
+    }
+
+    private int extendUnmemoized(int vertex, boolean start) {
+        if (!start && blocked[vertex]) {
+            return 0;
+        }
+        int longest = 0;
+        for (int i = 0; i < degree[vertex]; i++) {
+            int edge = vertexEdges[vertex * 4 + i];
+            if (!taken[edge]) {
+                taken[edge] = true;
+                int next = edgeEnds[edge * 2] == vertex ? edgeEnds[edge * 2 + 1] : edgeEnds[edge * 2];
+                longest = Math.max(longest, 1 + extendUnmemoized(next, false));
+                taken[edge] = false;
+            }
+        }
+        return longest;
+    }
+
+    // Open addressing with linear probing
+
+    private void clearMemo() {
+        memoSize = 0;
+        if (++stamp == 0) {
+            Arrays.fill(memoStamp, 0);
+            stamp = 1;
+        }
+    }
+
+    private int find(int vertex, long used) {
+        int mask = memoStamp.length - 1;
+        int slot = hash(vertex, used) & mask;
+        while (memoStamp[slot] == stamp && (memoUsed[slot] != used || memoVertex[slot] != vertex)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void store(int vertex, long used, int length) {
+        if (2 * (memoSize + 1) > memoStamp.length) {
+            grow();
+        }
+        int slot = find(vertex, used);
+        if (memoStamp[slot] != stamp) {
+            memoStamp[slot] = stamp;
+            memoUsed[slot] = used;
+            memoVertex[slot] = vertex;
+            memoSize++;
+        }
+        memoLength[slot] = length;
+    }
+
+    private void grow() {
+        long[] oldUsed = memoUsed;
+        int[] oldVertex = memoVertex;
+        int[] oldLength = memoLength;
+        int[] oldStamp = memoStamp;
+        int current = stamp;
+        int capacity = oldStamp.length * 2;
+        memoUsed = new long[capacity];
+        memoVertex = new int[capacity];
+        memoLength = new int[capacity];
+        memoStamp = new int[capacity];
+        stamp = 1;
+        for (int i = 0; i < oldStamp.length; i++) {
+            if (oldStamp[i] == current) {
+                int slot = find(oldVertex[i], oldUsed[i]);
+                memoStamp[slot] = stamp;
+                memoUsed[slot] = oldUsed[i];
+                memoVertex[slot] = oldVertex[i];
+                memoLength[slot] = oldLength[i];
+            }
+        }
+    }
+
+    // Every input bit reaches the low bits that select the slot
+    private static int hash(int vertex, long used) {
+        long h = used ^ vertex * 0x9E3779B97F4A7C15L;
+        h = (h ^ h >>> 33) * 0xFF51AFD7ED558CCDL;
+        return (int) (h ^ h >>> 33);
+    }
+}
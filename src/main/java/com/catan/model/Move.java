@@ -0,0 +1,81 @@
+package com.catan.model;
+
+/**
+ * Encodes build actions as plain {@code int}s so that move lists never allocate.
+ *
+ * <p>The top bits hold the move type, followed by the row and the column of the vertex
+ * or edge. Use the factory methods to create moves and the accessors to decode them.</p>
+ */
+public final class Move {
+    public static final int SETTLEMENT = 1;
+    public static final int CITY = 2;
+    public static final int HORIZONTAL_ROAD = 3;
+    public static final int VERTICAL_ROAD = 4;
+
+    private static final int TYPE_SHIFT = 28;
+    private static final int ROW_SHIFT = 14;
+    private static final int COORDINATE_MASK = (1 << ROW_SHIFT) - 1;
+
+    private Move() {
+    }
+
+    public static int of(int type, int row, int col) {
+        return type << TYPE_SHIFT | row << ROW_SHIFT | col;
+    }
+
+    public static int settlement(int row, int col) {
+        return of(SETTLEMENT, row, col);
+    }
+
+    public static int city(int row, int col) {
+        return of(CITY, row, col);
+    }
+
+    public static int horizontalRoad(int row, int col) {
+        return of(HORIZONTAL_ROAD, row, col);
+    }
+
+    public static int verticalRoad(int row, int col) {
+        return of(VERTICAL_ROAD, row, col);
+    }
+
+    public static int type(int move) {
+        return move >>> TYPE_SHIFT;
+    }
+
+    public static int row(int move) {
+        return move >>> ROW_SHIFT & COORDINATE_MASK;
+    }
+
+    public static int col(int move) {
+        return move & COORDINATE_MASK;
+    }
+
+    public static boolean isRoad(int move) {
+        return type(move) == HORIZONTAL_ROAD || type(move) == VERTICAL_ROAD;
+    }
+
+    /**
+     * Creates the revertible command performing a move for the current player.
+     */
+    public static GameCommand toCommand(int move) {
+        return switch (type(move)) {
+            case SETTLEMENT -> new BuildSettlementCommand(row(move), col(move));
+            case CITY -> new BuildCityCommand(row(move), col(move));
+            case HORIZONTAL_ROAD -> new BuildRoadCommand(row(move), col(move), true);
+            case VERTICAL_ROAD -> new BuildRoadCommand(row(move), col(move), false);
+            default -> throw new IllegalArgumentException("Unknown move: " + move);
+        };
+    }
+
+    public static String toString(int move) {
+        String name = switch (type(move)) {
+            case SETTLEMENT -> "Settlement";
+            case CITY -> "City";
+            case HORIZONTAL_ROAD -> "Road H";
+            case VERTICAL_ROAD -> "Road V";
+            default -> "Unknown";
+        };
+        return name + "(" + row(move) + ", " + col(move) + ")";
+    }
+}
@@ -1,6 +1,7 @@
 package com.catan.model;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
@@ -8,8 +9,12 @@ import java.util.Map;
  * Manages player's resources, buildings, and victory points.
  */
 public class Player {
+    private static final ResourceType[] RESOURCE_TYPES = ResourceType.values();
+
     private final String name;
-    private final Map<ResourceType, Integer> resources;
+    private int[] resources; // Indexed by ResourceType ordinal, shared with forks until written
+    private boolean resourcesShared;
+    private int totalResources;
     private int settlements;
     private int cities;
     private int roads;
@@ -17,16 +22,24 @@ public class Player {
 
     public Player(String name) {
         this.name = name;
-        this.resources = new HashMap<>();
+        this.resources = new int[RESOURCE_TYPES.length];
         this.settlements = 5; // Starting settlements
         this.cities = 4;      // Starting cities
         this.roads = 15;      // Starting roads
         this.victoryPoints = 0;
-        
-        // Initialize resources to 0
-        for (ResourceType resource : ResourceType.values()) {
-            resources.put(resource, 0);
-        }
+    }
+
+    // Copies every counter of another player for a forked game; the resource vector is copied on first write
+    Player(Player other) {
+        this.name = other.name;
+        this.resources = other.resources;
+        this.resourcesShared = true;
+        other.resourcesShared = true;
+        this.totalResources = other.totalResources;
+        this.settlements = other.settlements;
+        this.cities = other.cities;
+        this.roads = other.roads;
+        this.victoryPoints = other.victoryPoints;
     }
 
     public String getName() {
@@ -34,26 +47,108 @@ public class Player {
     }
 
     public Map<ResourceType, Integer> getResources() {
-        return new HashMap<>(resources);
+        Map<ResourceType, Integer> copy = new EnumMap<>(ResourceType.class);
+        for (ResourceType resource : RESOURCE_TYPES) {
+            copy.put(resource, resources[resource.ordinal()]);
+        }
+        return copy;
     }
 
     public int getResourceCount(ResourceType resource) {
-        return resources.getOrDefault(resource, 0);
+        return resources[resource.ordinal()];
+    }
+
+    private int[] writableResources() {
+        if (resourcesShared) {
+            resources = resources.clone();
+            resourcesShared = false;
+        }
+        return resources;
     }
 
     public void addResource(ResourceType resource, int amount) {
-        resources.put(resource, resources.getOrDefault(resource, 0) + amount);
+        writableResources()[resource.ordinal()] += amount;
+        totalResources += amount;
     }
 
     public boolean removeResource(ResourceType resource, int amount) {
-        int current = resources.getOrDefault(resource, 0);
+        int current = resources[resource.ordinal()];
         if (current >= amount) {
-            resources.put(resource, current - amount);
+            writableResources()[resource.ordinal()] = current - amount;
+            totalResources -= amount;
             return true;
         }
         return false;
     }
 
+    // Checks an ordinal-indexed resource vector such as the precompiled building costs
+    boolean hasResources(int[] amounts) {
+        for (int i = 0; i < amounts.length; i++) {
+            if (resources[i] < amounts[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Removes a whole resource vector, or nothing if any resource is short
+    boolean removeResources(int[] amounts) {
+        if (!hasResources(amounts)) {
+            return false;
+        }
+        int[] resources = writableResources();
+        for (int i = 0; i < amounts.length; i++) {
+            resources[i] -= amounts[i];
+            totalResources -= amounts[i];
+        }
+        return true;
+    }
+
+    // Adds a whole resource vector, e.g. to refund a building cost
+    void addResources(int[] amounts) {
+        int[] resources = writableResources();
+        for (int i = 0; i < amounts.length; i++) {
+            resources[i] += amounts[i];
+            totalResources += amounts[i];
+        }
+    }
+
+    // Applies signed changes to the piece supply, used when a build is taken back
+    void adjustPieces(int settlements, int cities, int roads) {
+        this.settlements += settlements;
+        this.cities += cities;
+        this.roads += roads;
+    }
+
+    // Returns to the starting supply without resources, when a pooled game is reset
+    void reset() {
+        if (resourcesShared) {
+            resources = new int[RESOURCE_TYPES.length];
+            resourcesShared = false;
+        } else {
+            Arrays.fill(resources, 0);
+        }
+        this.totalResources = 0;
+        this.settlements = 5;
+        this.cities = 4;
+        this.roads = 15;
+        this.victoryPoints = 0;
+    }
+
+    // Overwrites every counter with saved values when a game is loaded
+    void restore(int[] resources, int settlements, int cities, int roads, int victoryPoints) {
+        this.resources = resources.clone();
+        this.resourcesShared = false;
+        this.totalResources = 0;
+        for (int amount : resources) {
+            totalResources += amount;
+        }
+        this.settlements = settlements;
+        this.cities = cities;
+        this.roads = roads;
+        this.victoryPoints = victoryPoints;
+    }
+
     public int getSettlements() {
         return settlements;
     }
@@ -64,6 +159,10 @@ public class Player {
         }
     }
 
+    public void returnSettlement() {
+        settlements++;
+    }
+
     public int getCities() {
         return cities;
     }
@@ -97,7 +196,7 @@ public class Player {
     }
 
     public int getTotalResourceCount() {
-        return resources.values().stream().mapToInt(Integer::intValue).sum();
+        return totalResources;
     }
 
     @Override
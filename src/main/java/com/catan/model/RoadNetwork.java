@@ -0,0 +1,228 @@
+package com.catan.model;
+
+import java.util.Arrays;
+
+/**
+ * Tracks which vertices a single player's roads and buildings connect.
+ *
+ * <p>This is a disjoint-set forest over vertex ids. Every road merges the sets of its two
+ * endpoints and every building marks the set of its vertex as anchored. A vertex is part of
+ * the player's network when its set is anchored, so a road may be built on an edge if either
+ * endpoint is anchored.</p>
+ *
+ * <p>Union by rank keeps every tree logarithmic in height. Paths are deliberately not
+ * compressed: each {@link #connect} and {@link #anchor} then changes at most two entries,
+ * which are recorded so that {@link #undo()} can revert the latest operation in constant
+ * time when a build is taken back.</p>
+ *
+ * <p>The forest is stored in chunks of {@value ChunkedByteArray#CHUNK_SIZE} vertices, like
+ * {@link ChunkedByteArray}. A chunk is allocated by the first operation that changes one of
+ * its vertices; a vertex in a missing chunk is its own root, with rank 0 and not anchored.
+ * A player's network on a large board therefore only pays for the regions the player built
+ * in.</p>
+ */
+final class RoadNetwork {
+    // History entries: operation kind, two vertex ids and the previous flags, packed into a long
+    private static final int ID_BITS = 24;
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+    private static final long RANK_RAISED = 1L << 48;
+    private static final long WAS_ANCHORED = 1L << 49;
+    private static final long KIND_NONE = 0L;
+    private static final long KIND_CONNECT = 1L << 60;
+    private static final long KIND_ANCHOR = 2L << 60;
+    private static final long KIND_MASK = 3L << 60;
+
+    private static final int CHUNK_BITS = ChunkedByteArray.CHUNK_BITS;
+    private static final int CHUNK_SIZE = ChunkedByteArray.CHUNK_SIZE;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // Allocated together: a chunk exists in all three tables or in none
+    private final int[][] parent;
+    private final byte[][] rank;
+    private final boolean[][] anchored;
+    private long[] history;
+    private int historySize;
+
+    RoadNetwork(int vertexCount) {
+        if (vertexCount > ID_MASK + 1) {
+            throw new IllegalArgumentException("Too many vertices: " + vertexCount);
+        }
+        int chunks = (vertexCount + CHUNK_MASK) >>> CHUNK_BITS;
+        this.parent = new int[chunks][];
+        this.rank = new byte[chunks][];
+        this.anchored = new boolean[chunks][];
+        this.history = new long[16];
+    }
+
+    private RoadNetwork(RoadNetwork other) {
+        this.parent = other.parent.clone();
+        this.rank = other.rank.clone();
+        this.anchored = other.anchored.clone();
+        for (int i = 0; i < parent.length; i++) {
+            if (parent[i] != null) {
+                parent[i] = parent[i].clone();
+                rank[i] = rank[i].clone();
+                anchored[i] = anchored[i].clone();
+            }
+        }
+        this.history = other.history.clone();
+        this.historySize = other.historySize;
+    }
+
+    RoadNetwork copy() {
+        return new RoadNetwork(this);
+    }
+
+    /**
+     * Disconnects every vertex and forgets the history, as after construction. Allocated
+     * chunks are reset and kept for reuse.
+     */
+    void clear() {
+        for (int i = 0; i < parent.length; i++) {
+            if (parent[i] != null) {
+                resetChunk(i);
+            }
+        }
+        historySize = 0;
+    }
+
+    /**
+     * Finds the representative of a vertex's set.
+     */
+    int find(int vertex) {
+        int next;
+        while ((next = parentOf(vertex)) != vertex) {
+            vertex = next;
+        }
+        return vertex;
+    }
+
+    /**
+     * Connects the sets of both endpoints of a new road.
+     */
+    void connect(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            record(KIND_NONE);
+            return;
+        }
+        if (rankOf(rootA) < rankOf(rootB)) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        long entry = KIND_CONNECT | (long) rootA << ID_BITS | rootB;
+        boolean wasAnchored = isRootAnchored(rootA);
+        if (wasAnchored) {
+            entry |= WAS_ANCHORED;
+        }
+        int chunkA = writableChunk(rootA);
+        int chunkB = writableChunk(rootB);
+        parent[chunkB][rootB & CHUNK_MASK] = rootA;
+        anchored[chunkA][rootA & CHUNK_MASK] = wasAnchored | anchored[chunkB][rootB & CHUNK_MASK];
+        if (rank[chunkA][rootA & CHUNK_MASK] == rank[chunkB][rootB & CHUNK_MASK]) {
+            rank[chunkA][rootA & CHUNK_MASK]++;
+            entry |= RANK_RAISED;
+        }
+        record(entry);
+    }
+
+    /**
+     * Marks the set of a vertex that received one of the player's buildings.
+     */
+    void anchor(int vertex) {
+        int root = find(vertex);
+        record(KIND_ANCHOR | root | (isRootAnchored(root) ? WAS_ANCHORED : 0L));
+        anchored[writableChunk(root)][root & CHUNK_MASK] = true;
+    }
+
+    /**
+     * Reverts the latest {@link #connect} or {@link #anchor} that has not been undone yet.
+     */
+    void undo() {
+        if (historySize == 0) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        long entry = history[--historySize];
+        long kind = entry & KIND_MASK;
+        int first = (int) (entry & ID_MASK);
+        // The recorded operation wrote to these vertices, so their chunks exist
+        if (kind == KIND_ANCHOR) {
+            anchored[first >>> CHUNK_BITS][first & CHUNK_MASK] = (entry & WAS_ANCHORED) != 0;
+        } else if (kind == KIND_CONNECT) {
+            int root = (int) (entry >>> ID_BITS & ID_MASK);
+            parent[first >>> CHUNK_BITS][first & CHUNK_MASK] = first;
+            anchored[root >>> CHUNK_BITS][root & CHUNK_MASK] = (entry & WAS_ANCHORED) != 0;
+            if ((entry & RANK_RAISED) != 0) {
+                rank[root >>> CHUNK_BITS][root & CHUNK_MASK]--;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a vertex is reachable from one of the player's buildings.
+     */
+    boolean isAnchored(int vertex) {
+        return isRootAnchored(find(vertex));
+    }
+
+    /**
+     * Returns the number of chunks that are allocated.
+     */
+    int allocatedChunks() {
+        int count = 0;
+        for (int[] chunk : parent) {
+            if (chunk != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int parentOf(int vertex) {
+        int[] chunk = parent[vertex >>> CHUNK_BITS];
+        return chunk == null ? vertex : chunk[vertex & CHUNK_MASK];
+    }
+
+    private int rankOf(int vertex) {
+        byte[] chunk = rank[vertex >>> CHUNK_BITS];
+        return chunk == null ? 0 : chunk[vertex & CHUNK_MASK];
+    }
+
+    private boolean isRootAnchored(int vertex) {
+        boolean[] chunk = anchored[vertex >>> CHUNK_BITS];
+        return chunk != null && chunk[vertex & CHUNK_MASK];
+    }
+
+    /**
+     * Gets the chunk index of a vertex, allocating the chunk if needed.
+     */
+    private int writableChunk(int vertex) {
+        int chunk = vertex >>> CHUNK_BITS;
+        if (parent[chunk] == null) {
+            parent[chunk] = new int[CHUNK_SIZE];
+            rank[chunk] = new byte[CHUNK_SIZE];
+            anchored[chunk] = new boolean[CHUNK_SIZE];
+            resetChunk(chunk);
+        }
+        return chunk;
+    }
+
+    private void resetChunk(int chunk) {
+        int base = chunk << CHUNK_BITS;
+        int[] parents = parent[chunk];
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            parents[i] = base + i;
+        }
+        Arrays.fill(rank[chunk], (byte) 0);
+        Arrays.fill(anchored[chunk], false);
+    }
+
+    private void record(long entry) {
+        if (historySize == history.length) {
+            history = Arrays.copyOf(history, historySize * 2);
+        }
+        history[historySize++] = entry;
+    }
+}
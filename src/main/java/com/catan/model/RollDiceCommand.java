@@ -0,0 +1,90 @@
+package com.catan.model;
+
+/**
+ * Rolls the dice, produces resources and passes the turn to the next player.
+ *
+ * <p>The roll is either given up front or drawn from the game's random source on the first
+ * application. Either way it is kept, so applying the command again after a revert repeats
+ * the same roll. Reverting does not rewind the random source.</p>
+ */
+public final class RollDiceCommand implements GameCommand {
+    private static final ResourceType[] RESOURCES = ResourceType.values();
+
+    private int roll;
+
+    // Recorded by apply: the resources each seat received, indexed by seat and resource ordinal
+    private boolean applied;
+    private int[] produced;
+    private long progress;
+
+    public RollDiceCommand() {
+        this(0);
+    }
+
+    /**
+     * @param roll The dice result 2-12, or 0 to roll with the game's random source
+     */
+    public RollDiceCommand(int roll) {
+        if (roll != 0 && (roll < 2 || roll > 12)) {
+            throw new IllegalArgumentException("Dice roll must be between 2 and 12");
+        }
+        this.roll = roll;
+    }
+
+    public int getRoll() {
+        return roll;
+    }
+
+    @Override
+    public boolean apply(GameState state) {
+        if (applied) {
+            throw new IllegalStateException("Command is already applied");
+        }
+        if (state.getCurrentPhase() != GameState.GamePhase.PLAY) {
+            return false;
+        }
+        if (roll == 0) {
+            roll = state.getRandom().rollDice();
+        }
+        progress = state.saveProgress();
+        int seats = state.getPlayerCount();
+        if (produced == null || produced.length != seats * RESOURCES.length) {
+            produced = new int[seats * RESOURCES.length];
+        }
+        for (int seat = 0, i = 0; seat < seats; seat++) {
+            Player player = state.getPlayer(seat);
+            for (ResourceType resource : RESOURCES) {
+                produced[i++] = -player.getResourceCount(resource);
+            }
+        }
+        state.rollDice(roll);
+        for (int seat = 0, i = 0; seat < seats; seat++) {
+            Player player = state.getPlayer(seat);
+            for (ResourceType resource : RESOURCES) {
+                produced[i++] += player.getResourceCount(resource);
+            }
+        }
+        applied = true;
+        return true;
+    }
+
+    @Override
+    public void revert(GameState state) {
+        if (!applied) {
+            throw new IllegalStateException("Command is not applied");
+        }
+        for (int seat = 0, i = 0; i < produced.length; seat++) {
+            Player player = state.getPlayer(seat);
+            for (ResourceType resource : RESOURCES) {
+                player.removeResource(resource, produced[i++]);
+            }
+        }
+        state.restoreProgress(progress);
+        applied = false;
+    }
+
+    @Override
+    public String toString() {
+        return "RollDice(" + (roll == 0 ? "?" : String.valueOf(roll)) + ")";
+    }
+}
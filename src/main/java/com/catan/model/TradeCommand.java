@@ -0,0 +1,50 @@
+package com.catan.model;
+
+/**
+ * Swaps one resource between two players, as {@link GameState#tradeResources} does.
+ */
+public final class TradeCommand implements GameCommand {
+    private final Player from;
+    private final Player to;
+    private final ResourceType give;
+    private final ResourceType get;
+
+    private boolean applied;
+
+    /**
+     * @param from The player giving {@code give}
+     * @param to The player giving {@code get} in return
+     * @param give The resource {@code from} hands over
+     * @param get The resource {@code from} receives
+     */
+    public TradeCommand(Player from, Player to, ResourceType give, ResourceType get) {
+        this.from = from;
+        this.to = to;
+        this.give = give;
+        this.get = get;
+    }
+
+    @Override
+    public boolean apply(GameState state) {
+        if (applied) {
+            throw new IllegalStateException("Command is already applied");
+        }
+        applied = state.tradeResources(from, to, give, get);
+        return applied;
+    }
+
+    @Override
+    public void revert(GameState state) {
+        if (!applied) {
+            throw new IllegalStateException("Command is not applied");
+        }
+        // Trading the resources back is the exact inverse and cannot fail
+        state.tradeResources(from, to, get, give);
+        applied = false;
+    }
+
+    @Override
+    public String toString() {
+        return "Trade(" + from + " gives " + give + ", " + to + " gives " + get + ")";
+    }
+}
@@ -3,12 +3,15 @@ package com.catan.model;
 /**
  * Represents a vertex (corner point) where settlements and cities can be built.
  * Each vertex connects to adjacent tiles and can hold one building.
+ * Vertices obtained from a {@link GameBoard} are views: owner and building live in the board.
  */
 public class Vertex {
     private final int row;
     private final int col;
-    private Player owner;
+    private int id = -1;         // Dense vertex id on the attached board
+    private Player owner;        // Only used while not attached to a board
     private BuildingType buildingType;
+    private GameBoard gameBoard; // Board holding the occupancy and the production bookkeeping
 
     public enum BuildingType {
         SETTLEMENT("Settlement"),
@@ -32,6 +35,14 @@ public class Vertex {
         this.buildingType = null;
     }
 
+    // View of a vertex of the given board
+    Vertex(GameBoard gameBoard, int row, int col, int id) {
+        this.row = row;
+        this.col = col;
+        this.id = id;
+        this.gameBoard = gameBoard;
+    }
+
     public int getRow() {
         return row;
     }
@@ -41,32 +52,46 @@ public class Vertex {
     }
 
     public Player getOwner() {
-        return owner;
+        return gameBoard != null ? gameBoard.getVertexOwner(id) : owner;
     }
 
     public void setOwner(Player owner) {
-        this.owner = owner;
+        if (gameBoard != null) {
+            gameBoard.setVertexOwner(id, owner);
+        } else {
+            this.owner = owner;
+        }
     }
 
     public BuildingType getBuildingType() {
-        return buildingType;
+        return gameBoard != null ? gameBoard.getVertexBuilding(id) : buildingType;
     }
 
     public void setBuildingType(BuildingType buildingType) {
-        this.buildingType = buildingType;
+        if (gameBoard != null) {
+            gameBoard.setVertexBuilding(id, buildingType);
+        } else {
+            this.buildingType = buildingType;
+        }
+    }
+
+    public void setGameBoard(GameBoard gameBoard) {
+        this.gameBoard = gameBoard;
+        this.id = gameBoard != null ? gameBoard.getTopology().vertexId(row, col) : -1;
     }
 
     public boolean isOccupied() {
-        return buildingType != null;
+        return getBuildingType() != null;
     }
 
     public boolean canBuildSettlement(Player player) {
-        return !isOccupied() && player.getSettlements() > 0;
+        return !isOccupied() && player.getSettlements() > 0
+            && (gameBoard == null || !gameBoard.isSettlementBlocked(id));
     }
 
     public boolean canBuildCity(Player player) {
-        return buildingType == BuildingType.SETTLEMENT && 
-               owner == player && 
+        return getBuildingType() == BuildingType.SETTLEMENT && 
+               getOwner() == player && 
                player.getCities() > 0;
     }
 
@@ -76,6 +101,9 @@ public class Vertex {
             setBuildingType(BuildingType.SETTLEMENT);
             player.useSettlement();
             player.addVictoryPoints(1);
+            if (gameBoard != null) {
+                gameBoard.onSettlementBuilt(this);
+            }
             return true;
         }
         return false;
@@ -85,12 +113,37 @@ public class Vertex {
         if (canBuildCity(player)) {
             setBuildingType(BuildingType.CITY);
             player.useCity();
+            player.returnSettlement(); // The upgraded settlement goes back to the supply
             player.addVictoryPoints(1);
+            if (gameBoard != null) {
+                gameBoard.onCityBuilt(this);
+            }
             return true;
         }
         return false;
     }
 
+    // Takes back a settlement, e.g. when a build command is reverted; the owner's pieces are restored by the caller
+    void removeSettlement() {
+        if (getBuildingType() == BuildingType.SETTLEMENT) {
+            if (gameBoard != null) {
+                gameBoard.onSettlementRemoved(this);
+            }
+            setOwner(null);
+            setBuildingType(null);
+        }
+    }
+
+    // Turns a city back into the settlement it was upgraded from
+    void downgradeCity() {
+        if (getBuildingType() == BuildingType.CITY) {
+            setBuildingType(BuildingType.SETTLEMENT);
+            if (gameBoard != null) {
+                gameBoard.onCityRemoved(this);
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return "Vertex(" + row + ", " + col + ")";
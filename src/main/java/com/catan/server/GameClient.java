@@ -0,0 +1,135 @@
+package com.catan.server;
+
+import com.catan.model.GameState;
+import com.catan.model.MoveList;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * A blocking client for a {@link GameServer}, e.g. for tests, bots and load generation.
+ *
+ * <p>Each call sends one request and waits for its response. A client is not thread-safe;
+ * concurrent players should each open their own connection.</p>
+ */
+public class GameClient implements AutoCloseable {
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private int status;
+    private int value;
+    private int[] values = new int[64];
+    private int count;
+
+    public GameClient(String host, int port) throws IOException {
+        this.socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    /**
+     * Starts a game on the server.
+     *
+     * @return The id of the new game
+     */
+    public int createGame(int playerCount, long seed) throws IOException {
+        call(Protocol.CREATE_GAME, playerCount, 0, seed);
+        expectOk();
+        return value;
+    }
+
+    /**
+     * Fills the list with the moves the seat may play right now.
+     *
+     * @return The status, {@link Protocol#OK} if the seat has the turn
+     */
+    public int legalMoves(int game, int seat, MoveList moves) throws IOException {
+        call(Protocol.LEGAL_MOVES, seat, game, 0);
+        moves.clear();
+        for (int i = 0; i < count; i++) {
+            moves.add(values[i]);
+        }
+        return status;
+    }
+
+    /**
+     * Plays a {@link com.catan.model.Move} for the seat.
+     *
+     * @return The status, {@link Protocol#OK} if the move was applied
+     */
+    public int move(int game, int seat, int move) throws IOException {
+        return call(Protocol.MOVE, seat, game, move);
+    }
+
+    /**
+     * Rolls the dice for the seat, which ends its turn.
+     *
+     * @return The dice roll, or -1 if the server refused
+     */
+    public int endTurn(int game, int seat) throws IOException {
+        return call(Protocol.END_TURN, seat, game, 0) == Protocol.OK ? value : -1;
+    }
+
+    /**
+     * Fetches a summary of the game.
+     */
+    public GameSummary getState(int game) throws IOException {
+        call(Protocol.GET_STATE, 0, game, 0);
+        expectOk();
+        int[] victoryPoints = new int[count - 3];
+        System.arraycopy(values, 3, victoryPoints, 0, victoryPoints.length);
+        return new GameSummary(value, GameState.GamePhase.values()[values[0]], values[1], values[2], victoryPoints);
+    }
+
+    public boolean closeGame(int game) throws IOException {
+        return call(Protocol.CLOSE_GAME, 0, game, 0) == Protocol.OK;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    private int call(int opcode, int seat, int game, long argument) throws IOException {
+        out.writeByte(opcode);
+        out.writeByte(seat);
+        out.writeInt(game);
+        out.writeLong(argument);
+        out.flush();
+
+        status = in.readUnsignedByte();
+        value = in.readInt();
+        count = in.readUnsignedShort();
+        if (count > values.length) {
+            values = new int[Math.max(count, values.length * 2)];
+        }
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readInt();
+        }
+        return status;
+    }
+
+    private void expectOk() throws IOException {
+        if (status != Protocol.OK) {
+            throw new IOException("Server refused: " + Protocol.statusName(status));
+        }
+    }
+
+    /**
+     * A snapshot of a hosted game.
+     *
+     * @param currentSeat The seat that has the turn
+     * @param phase The phase of the game
+     * @param diceRoll The latest dice roll, or 0
+     * @param winnerSeat The winning seat, or -1
+     * @param victoryPoints The victory points per seat
+     */
+    public record GameSummary(int currentSeat, GameState.GamePhase phase, int diceRoll, int winnerSeat,
+                              int[] victoryPoints) {
+    }
+}
@@ -0,0 +1,225 @@
+package com.catan.server;
+
+import com.catan.journal.GameJournal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hosts any number of games for remote players over the binary {@link Protocol}.
+ *
+ * <p>Each connection is served by its own thread with plain blocking I/O. On a runtime with
+ * virtual threads one virtual thread is started per connection, otherwise a cached pool of
+ * daemon platform threads is used. Games live in a {@link SessionRegistry}. Each game is
+ * owned by a {@link com.catan.actor.GameActor} whose drain tasks run on a fork-join pool with
+ * one worker per core, so there is no lock shared by all games.</p>
+ *
+ * <p>The time from decoding a request to having its response ready is recorded in
+ * {@link #getServiceLatency()}, which reports the tail percentiles of the server.</p>
+ */
+public class GameServer implements AutoCloseable {
+    private final ServerSocket serverSocket;
+    private final ForkJoinPool actors;
+    private final SessionRegistry registry;
+    private final ExecutorService connections;
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private final LatencyHistogram serviceLatency = new LatencyHistogram();
+    private final LongAdder requests = new LongAdder();
+    private final Thread acceptor;
+    private volatile boolean running = true;
+
+    /**
+     * Binds the server and starts accepting connections.
+     *
+     * @param port The TCP port, or 0 for any free port
+     */
+    public GameServer(int port) throws IOException {
+        this(port, null);
+    }
+
+    /**
+     * Binds the server and starts accepting connections.
+     *
+     * @param port The TCP port, or 0 for any free port
+     * @param journal Records every hosted game under its id, or null; the caller closes it
+     */
+    public GameServer(int port, GameJournal journal) throws IOException {
+        this.serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(port));
+        this.actors = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+            ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        this.registry = new SessionRegistry(actors, journal);
+        this.connections = connectionExecutor();
+        this.acceptor = new Thread(this::acceptLoop, "catan-server-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public SessionRegistry getRegistry() {
+        return registry;
+    }
+
+    public LatencyHistogram getServiceLatency() {
+        return serviceLatency;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public int getConnectionCount() {
+        return openSockets.size();
+    }
+
+    /**
+     * Returns the number of actions waiting in the mailboxes of all games.
+     */
+    public long getQueuedActions() {
+        return registry.getQueuedActions();
+    }
+
+    /**
+     * Stops accepting, closes every open connection and waits briefly for their threads.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        for (Socket socket : openSockets) {
+            closeQuietly(socket);
+        }
+        connections.shutdown();
+        try {
+            connections.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        actors.shutdown();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                openSockets.add(socket);
+                try {
+                    connections.execute(() -> serve(socket));
+                } catch (RejectedExecutionException e) {
+                    // Closing; the socket was accepted after the executor shut down
+                    openSockets.remove(socket);
+                    closeQuietly(socket);
+                }
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        Response response = new Response();
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (true) {
+                int opcode = in.readUnsignedByte();
+                int seat = in.readUnsignedByte();
+                int game = in.readInt();
+                long argument = in.readLong();
+
+                long start = System.nanoTime();
+                handle(opcode, seat, game, argument, response);
+                serviceLatency.record(System.nanoTime() - start);
+                requests.increment();
+
+                response.writeTo(out);
+                // Pipelined requests are answered together once the client waits for them
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (EOFException | SocketException e) {
+            // The client disconnected or the server is closing
+        } catch (IOException e) {
+            System.err.println("Connection failed: " + e.getMessage());
+        } finally {
+            openSockets.remove(socket);
+        }
+    }
+
+    private void handle(int opcode, int seat, int game, long argument, Response response) {
+        response.reset(Protocol.OK);
+        if (opcode == Protocol.CREATE_GAME) {
+            if (seat < 2 || seat > 4) {
+                response.reset(Protocol.BAD_REQUEST);
+            } else {
+                response.value(registry.create(seat, argument).getId());
+            }
+        } else if (opcode == Protocol.CLOSE_GAME) {
+            if (!registry.remove(game)) {
+                response.reset(Protocol.UNKNOWN_GAME);
+            }
+        } else {
+            GameSession session = registry.get(game);
+            if (session == null) {
+                response.reset(Protocol.UNKNOWN_GAME);
+            } else {
+                session.handle(opcode, seat, argument, response);
+            }
+        }
+    }
+
+    // Uses Executors.newVirtualThreadPerTaskExecutor() where the runtime provides it
+    private static ExecutorService connectionExecutor() {
+        try {
+            return (ExecutorService) MethodHandles.publicLookup()
+                .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                .invoke();
+        } catch (Throwable e) {
+            AtomicInteger threads = new AtomicInteger();
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "catan-server-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+    }
+}
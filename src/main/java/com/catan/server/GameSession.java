@@ -0,0 +1,105 @@
+package com.catan.server;
+
+import com.catan.actor.GameActor;
+import com.catan.model.GameState;
+import com.catan.model.MoveList;
+import com.catan.model.Player;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * One hosted game, driven by its own {@link GameActor}.
+ *
+ * <p>The requests for a game are queued in the actor's mailbox and performed one at a time in
+ * arrival order. Connections playing different games never wait for each other, and no
+ * connection ever touches the game itself.</p>
+ */
+public final class GameSession {
+    private final int id;
+    private final GameActor actor;
+    // Only used by the actions, which the actor runs one at a time
+    private final MoveList moves = new MoveList();
+
+    GameSession(int id, GameState state, Executor executor) {
+        this.id = id;
+        this.actor = new GameActor(state, executor, false);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the actor that owns the game, e.g. to send it actions from outside the server.
+     */
+    public GameActor getActor() {
+        return actor;
+    }
+
+    public int getQueueDepth() {
+        return actor.getQueueDepth();
+    }
+
+    /**
+     * Performs one request through the actor and waits for it. The response is filled in on the
+     * actor's thread and read by the caller only after the action completed.
+     */
+    void handle(int opcode, int seat, long argument, Response response) {
+        try {
+            actor.call(state -> perform(state, opcode, seat, argument, response));
+        } catch (CompletionException e) {
+            response.reset(Protocol.BAD_REQUEST);
+        }
+    }
+
+    private Response perform(GameState state, int opcode, int seat, long argument, Response response) {
+        switch (opcode) {
+            case Protocol.GET_STATE -> describe(state, response);
+            case Protocol.LEGAL_MOVES -> {
+                if (checkTurn(state, seat, response)) {
+                    state.generateLegalMoves(moves);
+                    response.addAll(moves);
+                }
+            }
+            case Protocol.MOVE -> {
+                if (checkTurn(state, seat, response) && !state.applyMove((int) argument)) {
+                    response.reset(Protocol.REJECTED);
+                }
+            }
+            case Protocol.END_TURN -> {
+                if (checkTurn(state, seat, response)) {
+                    if (state.getCurrentPhase() == GameState.GamePhase.PLAY) {
+                        state.rollDice();
+                        response.value(state.getDiceRoll());
+                    } else {
+                        response.reset(Protocol.REJECTED);
+                    }
+                }
+            }
+            default -> response.reset(Protocol.BAD_REQUEST);
+        }
+        return response;
+    }
+
+    private static boolean checkTurn(GameState state, int seat, Response response) {
+        if (state.isGameEnded() || seat != state.getCurrentPlayerIndex()) {
+            response.reset(state.isGameEnded() ? Protocol.REJECTED : Protocol.NOT_YOUR_TURN);
+            return false;
+        }
+        return true;
+    }
+
+    private static void describe(GameState state, Response response) {
+        List<Player> players = state.getPlayers();
+        Player winner = state.getWinner();
+        response.value(state.getCurrentPlayerIndex())
+            .add(state.getCurrentPhase().ordinal())
+            .add(state.getDiceRoll())
+            .add(winner == null ? -1 : players.indexOf(winner));
+        for (Player player : players) {
+            response.add(player.getVictoryPoints());
+        }
+    }
+}
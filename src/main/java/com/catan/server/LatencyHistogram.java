@@ -0,0 +1,98 @@
+package com.catan.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds for percentile reporting.
+ *
+ * <p>Buckets are log-linear: values below 32 ns are counted exactly, larger values fall into
+ * one of 16 buckets per power of two. Every reported percentile is the upper bound of its
+ * bucket, so it overstates the true value by at most 1/16. Recording is a single atomic
+ * increment and never allocates, so any number of threads may record concurrently.</p>
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF_COUNT = SUB_COUNT / 2;
+    private static final int BUCKETS = SUB_COUNT + (Long.SIZE - SUB_BITS) * HALF_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the latency below which the given share of the recorded values lie.
+     *
+     * @param percentile A percentile between 0 and 100, e.g. 99.9
+     * @return The latency in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(percentile, 100.0) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Formats the median, the tail percentiles and the maximum in microseconds.
+     */
+    public String summary() {
+        return String.format("p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us",
+            getPercentile(50) / 1e3, getPercentile(99) / 1e3, getPercentile(99.9) / 1e3, getMax() / 1e3);
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return SUB_COUNT + (shift - 1) * HALF_COUNT + (int) (value >>> shift) - HALF_COUNT;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_COUNT) / HALF_COUNT + 1;
+        long top = (index - SUB_COUNT) % HALF_COUNT + HALF_COUNT;
+        return ((top + 1) << shift) - 1;
+    }
+}
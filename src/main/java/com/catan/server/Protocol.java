@@ -0,0 +1,63 @@
+package com.catan.server;
+
+/**
+ * Constants of the binary protocol spoken between {@link GameServer} and {@link GameClient}.
+ *
+ * <p>All numbers are big-endian. Every request has the same fixed size, so the server never
+ * parses a length prefix:</p>
+ * <pre>
+ *   request  = opcode:u8 seat:u8 game:i32 argument:i64                     (14 bytes)
+ *   response = status:u8 value:i32 count:u16 values:i32[count]            (7 + 4 * count bytes)
+ * </pre>
+ * <p>The meaning of the fields per opcode:</p>
+ * <ul>
+ *   <li>{@link #CREATE_GAME}: seat is the player count and the argument the seed. The value
+ *       is the id of the new game.</li>
+ *   <li>{@link #LEGAL_MOVES}: the values are the {@link com.catan.model.Move}s the seat may
+ *       play right now.</li>
+ *   <li>{@link #MOVE}: the argument is a {@link com.catan.model.Move} for the seat.</li>
+ *   <li>{@link #END_TURN}: rolls the dice for the seat. The value is the roll.</li>
+ *   <li>{@link #GET_STATE}: the value is the current seat and the values are the phase
+ *       ordinal, the dice roll, the winning seat or -1, and the victory points per seat.</li>
+ *   <li>{@link #CLOSE_GAME}: removes the game from the server.</li>
+ * </ul>
+ * <p>A connection may send any number of requests and receives exactly one response per
+ * request, in order.</p>
+ */
+public final class Protocol {
+    public static final int REQUEST_BYTES = 14;
+
+    /** Upper bound of the values in a single response */
+    public static final int MAX_VALUES = 0xffff;
+
+    public static final int CREATE_GAME = 1;
+    public static final int LEGAL_MOVES = 2;
+    public static final int MOVE = 3;
+    public static final int END_TURN = 4;
+    public static final int GET_STATE = 5;
+    public static final int CLOSE_GAME = 6;
+
+    public static final int OK = 0;
+    /** The action is not legal in the current position */
+    public static final int REJECTED = 1;
+    /** The seat does not have the turn */
+    public static final int NOT_YOUR_TURN = 2;
+    /** No game with the given id is registered */
+    public static final int UNKNOWN_GAME = 3;
+    /** The opcode or its arguments are malformed */
+    public static final int BAD_REQUEST = 4;
+
+    private Protocol() {
+    }
+
+    public static String statusName(int status) {
+        return switch (status) {
+            case OK -> "OK";
+            case REJECTED -> "Rejected";
+            case NOT_YOUR_TURN -> "Not your turn";
+            case UNKNOWN_GAME -> "Unknown game";
+            case BAD_REQUEST -> "Bad request";
+            default -> "Status " + status;
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.catan.server;
+
+import com.catan.model.MoveList;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A reusable response buffer. Each connection owns one and refills it for every request.
+ */
+final class Response {
+    private int status;
+    private int value;
+    private int[] values = new int[64];
+    private int count;
+
+    Response reset(int status) {
+        this.status = status;
+        this.value = 0;
+        this.count = 0;
+        return this;
+    }
+
+    Response value(int value) {
+        this.value = value;
+        return this;
+    }
+
+    Response add(int element) {
+        if (count == Protocol.MAX_VALUES) {
+            throw new IllegalStateException("Too many values in one response");
+        }
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = element;
+        return this;
+    }
+
+    Response addAll(MoveList moves) {
+        for (int i = 0; i < moves.size(); i++) {
+            add(moves.get(i));
+        }
+        return this;
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeByte(status);
+        out.writeInt(value);
+        out.writeShort(count);
+        for (int i = 0; i < count; i++) {
+            out.writeInt(values[i]);
+        }
+    }
+}
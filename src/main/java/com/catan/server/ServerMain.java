@@ -0,0 +1,149 @@
+package com.catan.server;
+
+import com.catan.journal.GameJournal;
+import com.catan.model.GameRandom;
+import com.catan.model.GameState;
+import com.catan.model.MoveList;
+import com.catan.sim.GameSimulator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Command line entry point for the game server.
+ *
+ * <p>Usage: {@code ServerMain [port]} hosts games until the process is stopped.
+ * {@code ServerMain load [connections] [games]} starts a local server on a free port and lets
+ * the given number of connections each play that many four-player games with random moves,
+ * then reports the request throughput and the round-trip and service-time percentiles.
+ * Setting the system property {@code catan.journal} to a file records every hosted game in a
+ * {@link GameJournal}.</p>
+ */
+public class ServerMain {
+    private static final int DEFAULT_PORT = 7878;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("load")) {
+            int connections = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+            int games = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+            runLoad(connections, games);
+            return;
+        }
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        GameJournal journal = openJournal();
+        GameServer server = new GameServer(port, journal);
+        System.out.println("Square Catan server listening on port " + server.getPort());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            closeJournal(journal);
+        }));
+        Thread.currentThread().join();
+    }
+
+    private static GameJournal openJournal() throws IOException {
+        String file = System.getProperty("catan.journal");
+        return file == null ? null : GameJournal.open(Path.of(file));
+    }
+
+    private static void closeJournal(GameJournal journal) {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Closing the journal failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void runLoad(int connections, int games) throws Exception {
+        GameJournal journal = openJournal();
+        try (GameServer server = new GameServer(0, journal)) {
+            LatencyHistogram roundTrip = new LatencyHistogram();
+            AtomicLong finished = new AtomicLong();
+            CountDownLatch done = new CountDownLatch(connections);
+            List<Thread> players = new ArrayList<>(connections);
+            System.out.println("Playing " + games + " games on each of " + connections + " connections");
+
+            long start = System.nanoTime();
+            for (int i = 0; i < connections; i++) {
+                long seed = GameRandom.seedFor(42, i);
+                Thread player = new Thread(() -> {
+                    try (GameClient client = new GameClient("localhost", server.getPort())) {
+                        GameRandom random = new GameRandom(seed);
+                        for (int game = 0; game < games; game++) {
+                            if (playRandomGame(client, GameRandom.seedFor(seed, game), random, roundTrip)) {
+                                finished.incrementAndGet();
+                            }
+                        }
+                    } catch (IOException e) {
+                        System.err.println("Load connection failed: " + e.getMessage());
+                    } finally {
+                        done.countDown();
+                    }
+                }, "catan-load-" + i);
+                player.setDaemon(true);
+                players.add(player);
+                player.start();
+            }
+            done.await();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            long requests = server.getRequestCount();
+            System.out.printf("Games: %d (%d finished) in %.2f s%n", (long) connections * games, finished.get(), seconds);
+            System.out.printf("Requests: %d, %.0f requests/sec%n", requests, requests / seconds);
+            System.out.println("Round trip: " + roundTrip.summary());
+            System.out.println("Service:    " + server.getServiceLatency().summary());
+            if (journal != null) {
+                journal.commit();
+                System.out.printf("Journal: %d bytes in %d commits%n", journal.getBytesRecorded(), journal.getCommitCount());
+            }
+        } finally {
+            closeJournal(journal);
+        }
+    }
+
+    // Plays one game with random legal moves for all seats; true if somebody won
+    private static boolean playRandomGame(GameClient client, long seed, GameRandom random,
+                                          LatencyHistogram roundTrip) throws IOException {
+        MoveList moves = new MoveList();
+        long start = System.nanoTime();
+        int game = client.createGame(4, seed);
+        roundTrip.record(System.nanoTime() - start);
+
+        int seat = 0;
+        int turns = 0;
+        while (turns < GameSimulator.DEFAULT_MAX_TURNS) {
+            start = System.nanoTime();
+            int status = client.legalMoves(game, seat, moves);
+            roundTrip.record(System.nanoTime() - start);
+            if (status != Protocol.OK) {
+                // Game over, or the turn passed on during the setup draft
+                GameClient.GameSummary summary = client.getState(game);
+                if (summary.phase() == GameState.GamePhase.GAME_OVER) {
+                    break;
+                }
+                seat = summary.currentSeat();
+                continue;
+            }
+
+            start = System.nanoTime();
+            if (!moves.isEmpty()) {
+                client.move(game, seat, moves.get(random.nextInt(moves.size())));
+            } else if (client.endTurn(game, seat) >= 0) {
+                turns++;
+                seat = (seat + 1) % 4;
+            } else {
+                // Stuck in the setup draft without a legal placement
+                break;
+            }
+            roundTrip.record(System.nanoTime() - start);
+        }
+        boolean won = client.getState(game).winnerSeat() >= 0;
+        client.closeGame(game);
+        return won;
+    }
+}
@@ -0,0 +1,86 @@
+package com.catan.server;
+
+import com.catan.journal.GameJournal;
+import com.catan.model.GameState;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The games hosted by a server, looked up by id without any global lock.
+ */
+public final class SessionRegistry {
+    private final ConcurrentHashMap<Integer, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final Executor executor;
+    private final GameJournal journal;
+
+    /**
+     * @param executor Runs the actors of all hosted games
+     * @param journal Records every game under its session id, or null. Session ids are then
+     *     reserved in the journal, so they stay unique in it across server restarts
+     */
+    public SessionRegistry(Executor executor, GameJournal journal) {
+        this.executor = executor;
+        this.journal = journal;
+    }
+
+    /**
+     * Starts a new game and registers it under a fresh id.
+     *
+     * @param playerCount The number of players (2-4)
+     * @param seed The seed of the board and the dice
+     */
+    public GameSession create(int playerCount, long seed) {
+        int id = journal == null ? nextId.getAndIncrement() : Math.toIntExact(journal.reserveGameId());
+        GameState state = new GameState(playerCount, seed);
+        if (journal != null) {
+            journal.attach(id, state);
+        }
+        GameSession session = new GameSession(id, state, executor);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Returns the game with the given id, or null.
+     */
+    public GameSession get(int id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Unregisters a game and closes it in the journal, after every action queued for it.
+     *
+     * @return False if there was no game with the id
+     */
+    public boolean remove(int id) {
+        GameSession session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        if (journal != null) {
+            session.getActor().call(game -> {
+                journal.detach(game);
+                return null;
+            });
+        }
+        return true;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Returns the number of actions waiting in the mailboxes of all games.
+     */
+    public long getQueuedActions() {
+        long queued = 0;
+        for (GameSession session : sessions.values()) {
+            queued += session.getQueueDepth();
+        }
+        return queued;
+    }
+}
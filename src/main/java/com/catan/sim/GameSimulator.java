@@ -0,0 +1,274 @@
+package com.catan.sim;
+
+import com.catan.model.BoardGenerator;
+import com.catan.model.BoardLayout;
+import com.catan.model.GameBoard;
+import com.catan.model.GameRandom;
+import com.catan.model.GameState;
+import com.catan.model.LayoutRules;
+import com.catan.model.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays complete games of Square Catan without a user interface.
+ *
+ * <p>Each game runs from the setup snake draft until a player wins or the turn limit is
+ * reached. Independent games are spread over a {@link ForkJoinPool}: the requested batch is
+ * split recursively and every leaf plays its games sequentially into a private
+ * {@link SimulationResult}, so workers never contend on shared counters.</p>
+ *
+ * <p>Every game gets its own {@link GameRandom} derived from the batch seed and the game
+ * index, so a batch is reproducible regardless of scheduling and any single game can be
+ * replayed with {@link #playGame(long)}.</p>
+ *
+ * <p>Games are borrowed from the {@link GameStatePool} of the playing thread and reset in
+ * place, so a long batch allocates almost nothing per game.</p>
+ */
+public class GameSimulator {
+    /** Default number of play-phase turns after which a game is abandoned */
+    public static final int DEFAULT_MAX_TURNS = 1000;
+
+    /** Number of games a single fork-join leaf plays before the batch is split no further */
+    private static final int GAMES_PER_TASK = 64;
+
+    private final List<PlayerPolicy> seatPolicies;
+    private final ForkJoinPool pool;
+    private int maxTurns = DEFAULT_MAX_TURNS;
+    private int boardRows = GameBoard.STANDARD_SIZE;
+    private int boardCols = GameBoard.STANDARD_SIZE;
+    private BoardGenerator layoutGenerator;
+    private BoardLayout layout;
+    private boolean distanceRule = true;
+
+    /**
+     * Creates a simulator using all available processors.
+     *
+     * @param seatPolicies One policy per seat, in turn order (2-4 seats)
+     */
+    public GameSimulator(List<PlayerPolicy> seatPolicies) {
+        this(seatPolicies, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a simulator with a fixed degree of parallelism.
+     *
+     * @param seatPolicies One policy per seat, in turn order (2-4 seats)
+     * @param parallelism The number of worker threads
+     */
+    public GameSimulator(List<PlayerPolicy> seatPolicies, int parallelism) {
+        if (seatPolicies.size() < 2 || seatPolicies.size() > 4) {
+            throw new IllegalArgumentException("Player count must be between 2 and 4");
+        }
+        this.seatPolicies = new ArrayList<>(seatPolicies);
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public int getMaxTurns() {
+        return maxTurns;
+    }
+
+    public void setMaxTurns(int maxTurns) {
+        if (maxTurns <= 0) {
+            throw new IllegalArgumentException("Turn limit must be positive");
+        }
+        this.maxTurns = maxTurns;
+    }
+
+    public int getBoardRows() {
+        return boardRows;
+    }
+
+    public int getBoardCols() {
+        return boardCols;
+    }
+
+    /**
+     * Sets the size of the boards played on, see {@link GameBoard#GameBoard(int, int, GameRandom)}.
+     *
+     * @param rows The number of tile rows
+     * @param cols The number of tile columns
+     */
+    public void setBoardSize(int rows, int cols) {
+        if (rows < 1 || rows > GameBoard.MAX_SIZE || cols < 1 || cols > GameBoard.MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1x1 and "
+                + GameBoard.MAX_SIZE + "x" + GameBoard.MAX_SIZE);
+        }
+        this.boardRows = rows;
+        this.boardCols = cols;
+    }
+
+    public LayoutRules getLayoutRules() {
+        return layoutGenerator == null ? LayoutRules.unconstrained() : layoutGenerator.getRules();
+    }
+
+    /**
+     * Sets the rules the board of every game must satisfy. Boards are then found by a
+     * {@link BoardGenerator} on the worker thread that plays the game.
+     *
+     * @param rules The layout rules, or {@link LayoutRules#unconstrained()} for plain shuffled boards
+     */
+    public void setLayoutRules(LayoutRules rules) {
+        this.layoutGenerator = rules.equals(LayoutRules.unconstrained()) ? null : new BoardGenerator(rules, 1);
+    }
+
+    public BoardLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Plays every game on the same layout, as in a duplicate tournament, instead of a new
+     * board per game. All games share the layout's tiles, topology and production data; only
+     * the dice differ. The board size and layout rules are ignored while a layout is set.
+     *
+     * @param layout The layout of every game, or null for a new board per game
+     */
+    public void setLayout(BoardLayout layout) {
+        this.layout = layout;
+    }
+
+    public boolean isDistanceRule() {
+        return distanceRule;
+    }
+
+    /**
+     * Enables or disables the distance rule in every game, see {@link GameBoard#setDistanceRule(boolean)}.
+     *
+     * @param distanceRule True to keep settlements apart, as in the real game (the default)
+     */
+    public void setDistanceRule(boolean distanceRule) {
+        this.distanceRule = distanceRule;
+    }
+
+    public List<PlayerPolicy> getSeatPolicies() {
+        return new ArrayList<>(seatPolicies);
+    }
+
+    /**
+     * Plays a batch of randomly seeded games in parallel and aggregates their statistics.
+     *
+     * @param games The number of games to play
+     * @return The aggregated result, including wall-clock time
+     */
+    public SimulationResult run(int games) {
+        return run(games, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Plays a reproducible batch of games in parallel and aggregates their statistics.
+     *
+     * @param games The number of games to play
+     * @param seed The batch seed; game {@code i} is seeded with {@link GameRandom#seedFor}
+     * @return The aggregated result, including wall-clock time
+     */
+    public SimulationResult run(int games, long seed) {
+        long start = System.nanoTime();
+        SimulationResult result = pool.invoke(new BatchTask(seed, 0, games));
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Plays a single game on the calling thread.
+     *
+     * @param seed The seed of the game
+     * @return The outcome of the game
+     */
+    public GameOutcome playGame(long seed) {
+        GameState state;
+        if (layout != null) {
+            state = GameStatePool.borrow(seatPolicies.size(), layout, new GameRandom(seed));
+        } else if (layoutGenerator == null) {
+            state = GameStatePool.borrow(seatPolicies.size(), boardRows, boardCols, seed);
+        } else {
+            GameRandom random = new GameRandom(seed);
+            BoardLayout layout = layoutGenerator.generate(boardRows, boardCols, random.split());
+            state = GameStatePool.borrow(seatPolicies.size(), layout, random);
+        }
+        state.getGameBoard().setDistanceRule(distanceRule);
+        try {
+            return play(state);
+        } finally {
+            GameStatePool.release(state);
+        }
+    }
+
+    private GameOutcome play(GameState state) {
+        List<Player> players = state.getPlayers();
+
+        while (state.getCurrentPhase() == GameState.GamePhase.SETUP) {
+            int seat = state.getCurrentPlayerIndex();
+            GameState.SetupPhase direction = state.getSetupPhase();
+            seatPolicies.get(seat).playSetupTurn(state, players.get(seat));
+            if (state.getCurrentPhase() == GameState.GamePhase.SETUP
+                    && state.getCurrentPlayerIndex() == seat && state.getSetupPhase() == direction) {
+                // The policy could not complete its placement; the game cannot continue
+                return new GameOutcome(-1, 0);
+            }
+        }
+
+        int turns = 0;
+        while (!state.isGameEnded() && turns < maxTurns) {
+            int seat = state.getCurrentPlayerIndex();
+            seatPolicies.get(seat).playTurn(state, players.get(seat));
+            if (state.isGameEnded()) {
+                break;
+            }
+            state.rollDice();
+            turns++;
+        }
+
+        int winnerSeat = state.isGameEnded() ? players.indexOf(state.getWinner()) : -1;
+        return new GameOutcome(winnerSeat, turns);
+    }
+
+    /**
+     * Stops the worker threads. The simulator cannot be used afterwards.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * The result of one simulated game.
+     *
+     * @param winnerSeat The winning seat, or -1 if the game hit the turn limit or got stuck
+     * @param turns The number of play-phase turns (dice rolls) played
+     */
+    public record GameOutcome(int winnerSeat, int turns) {
+    }
+
+    private class BatchTask extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        BatchTask(long seed, int from, int to) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                SimulationResult result = new SimulationResult(seatPolicies.size());
+                for (int game = from; game < to; game++) {
+                    result.record(playGame(GameRandom.seedFor(seed, game)));
+                }
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            BatchTask left = new BatchTask(seed, from, middle);
+            left.fork();
+            SimulationResult right = new BatchTask(seed, middle, to).compute();
+            return right.merge(left.join());
+        }
+    }
+}
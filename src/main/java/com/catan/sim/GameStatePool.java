@@ -0,0 +1,106 @@
+package com.catan.sim;
+
+import com.catan.log.GameEventLog;
+import com.catan.model.BoardLayout;
+import com.catan.model.GameBoard;
+import com.catan.model.GameRandom;
+import com.catan.model.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-thread pool of finished games that can be reset for the next one.
+ *
+ * <p>A simulator thread borrows a game, plays it and releases it again. The next borrow on the
+ * same thread resets that instance in place ({@link GameState#reset(long)}) instead of
+ * building a new game, board and players, so playing millions of games produces almost no
+ * garbage. Pools are thread-local and never shared, so borrowing needs no synchronization.</p>
+ *
+ * <p>A released game must not be used any more by the caller. Games of different player
+ * counts or board sizes are pooled side by side.</p>
+ */
+public final class GameStatePool {
+    /** Idle games kept per thread; more are left to the garbage collector */
+    private static final int MAX_IDLE = 8;
+
+    private static final ThreadLocal<List<GameState>> IDLE = ThreadLocal.withInitial(ArrayList::new);
+
+    private GameStatePool() {
+    }
+
+    /**
+     * Borrows a new standard game.
+     *
+     * @param playerCount The number of players (2-4)
+     * @param seed The seed of the game
+     * @return A game equal to {@code new GameState(playerCount, seed)}
+     */
+    public static GameState borrow(int playerCount, long seed) {
+        return borrow(playerCount, GameBoard.STANDARD_SIZE, GameBoard.STANDARD_SIZE, seed);
+    }
+
+    /**
+     * Borrows a new game on a shuffled board of the given size.
+     *
+     * @param playerCount The number of players (2-4)
+     * @param rows The number of tile rows
+     * @param cols The number of tile columns
+     * @param seed The seed of the game
+     * @return A game equal to {@code new GameState(playerCount, rows, cols, new GameRandom(seed))}
+     */
+    public static GameState borrow(int playerCount, int rows, int cols, long seed) {
+        GameState state = takeIdle(playerCount, rows, cols);
+        if (state == null) {
+            return new GameState(playerCount, rows, cols, new GameRandom(seed));
+        }
+        state.reset(seed);
+        return state;
+    }
+
+    /**
+     * Borrows a new game on a prepared layout.
+     *
+     * @param playerCount The number of players (2-4)
+     * @param layout The terrain and number of every tile
+     * @param random The source of all dice rolls
+     * @return A game equal to {@code new GameState(playerCount, layout, random)}
+     */
+    public static GameState borrow(int playerCount, BoardLayout layout, GameRandom random) {
+        GameState state = takeIdle(playerCount, layout.getRows(), layout.getCols());
+        if (state == null) {
+            return new GameState(playerCount, layout, random);
+        }
+        state.reset(layout, random);
+        return state;
+    }
+
+    /**
+     * Returns a game to the pool of the calling thread. Its event log and recorder are
+     * detached so that the next game does not report to them.
+     *
+     * @param state The game, which the caller must not use afterwards
+     */
+    public static void release(GameState state) {
+        List<GameState> idle = IDLE.get();
+        if (idle.size() < MAX_IDLE) {
+            state.setEventLog(GameEventLog.disabled());
+            state.setRecorder(null);
+            idle.add(state);
+        }
+    }
+
+    private static GameState takeIdle(int playerCount, int rows, int cols) {
+        List<GameState> idle = IDLE.get();
+        for (int i = idle.size() - 1; i >= 0; i--) {
+            GameState state = idle.get(i);
+            GameBoard board = state.getGameBoard();
+            if (state.getPlayers().size() == playerCount && board.getRows() == rows && board.getCols() == cols) {
+                idle.set(i, idle.get(idle.size() - 1));
+                idle.remove(idle.size() - 1);
+                return state;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,78 @@
+package com.catan.sim;
+
+import com.catan.model.BoardTopology;
+import com.catan.model.GameBoard;
+import com.catan.model.GameState;
+import com.catan.model.Move;
+import com.catan.model.MoveList;
+import com.catan.model.Player;
+
+/**
+ * Maximizes production greedily.
+ * Upgrades to cities first, then settles the free corner with the highest dice weight.
+ * Roads are only built during setup because settlements do not need a road connection.
+ */
+public class GreedyPolicy implements PlayerPolicy {
+    // Move lists are per thread because one policy instance serves all games of its seat
+    private static final ThreadLocal<MoveList> MOVES = ThreadLocal.withInitial(MoveList::new);
+
+    @Override
+    public void playSetupTurn(GameState state, Player player) {
+        MoveList moves = MOVES.get();
+        state.generateLegalMoves(moves);
+        int settlement = best(state.getGameBoard(), moves, Move.SETTLEMENT);
+        if (settlement != -1 && state.applyMove(settlement)) {
+            state.generateLegalMoves(moves);
+            if (!moves.isEmpty()) {
+                state.applyMove(moves.get(0));
+            }
+        }
+    }
+
+    @Override
+    public void playTurn(GameState state, Player player) {
+        MoveList moves = MOVES.get();
+        while (!state.isGameEnded()) {
+            state.generateLegalMoves(moves);
+            int move = best(state.getGameBoard(), moves, Move.CITY);
+            if (move == -1) {
+                move = best(state.getGameBoard(), moves, Move.SETTLEMENT);
+            }
+            if (move == -1 || !state.applyMove(move)) {
+                return;
+            }
+        }
+    }
+
+    private static int best(GameBoard board, MoveList moves, int type) {
+        int best = -1;
+        int bestWeight = -1;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (Move.type(move) == type) {
+                int weight = productionWeight(board, Move.row(move), Move.col(move));
+                if (weight > bestWeight) {
+                    best = move;
+                    bestWeight = weight;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Sums the production weight (number of dice combinations) of the tiles around a vertex.
+     */
+    static int productionWeight(GameBoard board, int vertexRow, int vertexCol) {
+        BoardTopology topology = board.getTopology();
+        int vertex = topology.vertexId(vertexRow, vertexCol);
+        int weight = 0;
+        for (int i = topology.vertexTileStart(vertex); i < topology.vertexTileStart(vertex + 1); i++) {
+            int number = board.getTileNumber(topology.vertexTile(i));
+            if (number != 0) {
+                weight += 6 - Math.abs(7 - number);
+            }
+        }
+        return weight;
+    }
+}
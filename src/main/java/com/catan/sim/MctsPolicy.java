@@ -0,0 +1,457 @@
+package com.catan.sim;
+
+import com.catan.model.GameCommand;
+import com.catan.model.GameRandom;
+import com.catan.model.GameState;
+import com.catan.model.Move;
+import com.catan.model.MoveList;
+import com.catan.model.Player;
+import com.catan.model.RollDiceCommand;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chooses build actions with Monte Carlo Tree Search.
+ *
+ * <p>Every build the player may make is a separate decision. The tree alternates between:</p>
+ * <ul>
+ *   <li>Decision nodes, whose children are the legal moves of the player to act plus
+ *       {@link #END_TURN} during the play phase. Children are chosen by UCT.</li>
+ *   <li>Chance nodes, reached by ending the turn. Their children are the dice results 2-12,
+ *       sampled with the probabilities of two dice and applied with
+ *       {@link GameState#rollDice(int)}.</li>
+ * </ul>
+ *
+ * <p>Each iteration descends the tree, expands one move and plays the game out with uniformly
+ * random builds for a limited number of turns. Every step is applied as a {@link GameCommand}
+ * to one fork of the root per worker and reverted afterwards, so no iteration copies the
+ * board. A winner scores 1
+ * for its seat and 0 for the others; a cut-off game scores every seat by its progress towards
+ * ten victory points at half the weight of a win. Each node accumulates the score of the seat
+ * that chose it, so every player maximizes its own result.</p>
+ *
+ * <p>Searches use root parallelization: every worker grows an independent tree from its own
+ * copy of the position with its own random stream, and the visit counts of the root moves are
+ * summed once the per-move budget is spent. The budget is a number of iterations, a time
+ * limit, or both, whichever runs out first. The policy keeps no per-game state and may be
+ * shared by concurrent games.</p>
+ */
+public class MctsPolicy implements PlayerPolicy {
+    /** Pseudo-move for ending the turn; no real move encodes to zero */
+    public static final int END_TURN = 0;
+
+    /** Default number of iterations per decision */
+    public static final int DEFAULT_ITERATIONS = 1000;
+
+    /** Default number of turns a rollout is played before it is scored */
+    public static final int DEFAULT_ROLLOUT_TURNS = 60;
+
+    /** UCT exploration constant for rewards in [0, 1] */
+    private static final double EXPLORATION = 0.7;
+
+    /** Victory points needed to win, used to score cut-off rollouts */
+    private static final double WINNING_POINTS = 10.0;
+
+    private static final ThreadLocal<MoveList> MOVES = ThreadLocal.withInitial(MoveList::new);
+
+    private final int iterations;
+    private final long timeLimitNanos;
+    private final int parallelism;
+    private final int rolloutTurns;
+    private final ForkJoinPool pool;
+
+    private final LongAdder playouts = new LongAdder();
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder searchNanos = new LongAdder();
+
+    /**
+     * Creates a policy with {@value #DEFAULT_ITERATIONS} iterations per decision on all cores.
+     */
+    public MctsPolicy() {
+        this(DEFAULT_ITERATIONS, 0, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a policy with the given budget per decision.
+     *
+     * @param iterations The number of iterations per decision over all workers, or 0 for no limit
+     * @param timeLimitMillis The time per decision, or 0 for no limit
+     * @param parallelism The number of workers searching each decision
+     */
+    public MctsPolicy(int iterations, long timeLimitMillis, int parallelism) {
+        this(iterations, timeLimitMillis, parallelism, DEFAULT_ROLLOUT_TURNS);
+    }
+
+    /**
+     * Creates a policy with the given budget per decision and rollout length.
+     *
+     * @param iterations The number of iterations per decision over all workers, or 0 for no limit
+     * @param timeLimitMillis The time per decision, or 0 for no limit
+     * @param parallelism The number of workers searching each decision
+     * @param rolloutTurns The number of play-phase turns a rollout is played before it is scored
+     */
+    public MctsPolicy(int iterations, long timeLimitMillis, int parallelism, int rolloutTurns) {
+        if (iterations < 0 || timeLimitMillis < 0 || (iterations == 0 && timeLimitMillis == 0)) {
+            throw new IllegalArgumentException("An iteration count or a time limit is required");
+        }
+        if (parallelism < 1 || rolloutTurns < 0) {
+            throw new IllegalArgumentException("Parallelism must be positive and rollout turns non-negative");
+        }
+        this.iterations = iterations;
+        this.timeLimitNanos = timeLimitMillis * 1_000_000L;
+        this.parallelism = parallelism;
+        this.rolloutTurns = rolloutTurns;
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    @Override
+    public void playSetupTurn(GameState state, Player player) {
+        int seat = state.getCurrentPlayerIndex();
+        GameState.SetupPhase direction = state.getSetupPhase();
+        while (state.getCurrentPhase() == GameState.GamePhase.SETUP
+                && state.getCurrentPlayerIndex() == seat && state.getSetupPhase() == direction) {
+            int move = chooseMove(state);
+            if (move == END_TURN || !state.applyMove(move)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void playTurn(GameState state, Player player) {
+        while (!state.isGameEnded()) {
+            int move = chooseMove(state);
+            if (move == END_TURN || !state.applyMove(move)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "MctsPolicy";
+    }
+
+    /**
+     * Searches the position and returns the best move for the current player.
+     *
+     * @param state The game to decide for; it is not modified
+     * @return A move from {@link GameState#generateLegalMoves(MoveList)}, or {@link #END_TURN}
+     */
+    public int chooseMove(GameState state) {
+        MoveList moves = MOVES.get();
+        state.generateLegalMoves(moves);
+        boolean canEndTurn = state.getCurrentPhase() == GameState.GamePhase.PLAY;
+        if (moves.isEmpty()) {
+            return END_TURN;
+        }
+        if (moves.size() == 1 && !canEndTurn) {
+            return moves.get(0);
+        }
+
+        long start = System.nanoTime();
+        long deadline = timeLimitNanos > 0 ? start + timeLimitNanos : Long.MAX_VALUE;
+        int budget = iterations > 0 ? (iterations + parallelism - 1) / parallelism : Integer.MAX_VALUE;
+
+        // Streams are split and the position forked on the calling thread, so that an iteration
+        // budget is reproducible and the game is never touched by the workers
+        List<Callable<Node>> workers = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            GameRandom random = state.getRandom().split();
+            GameState game = state.fork(random);
+            workers.add(() -> search(game, random, budget, deadline));
+        }
+
+        List<Node> roots = new ArrayList<>(parallelism);
+        if (pool == null) {
+            try {
+                roots.add(workers.get(0).call());
+            } catch (Exception e) {
+                throw new IllegalStateException("Search failed", e);
+            }
+        } else {
+            for (Future<Node> result : pool.invokeAll(workers)) {
+                try {
+                    roots.add(result.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Search interrupted", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Search failed", e.getCause());
+                }
+            }
+        }
+
+        searches.increment();
+        searchNanos.add(System.nanoTime() - start);
+        return mostVisited(roots);
+    }
+
+    // Sums the visits of every root move over all trees and picks the most visited one
+    private static int mostVisited(List<Node> roots) {
+        MoveList candidates = new MoveList();
+        List<Integer> visits = new ArrayList<>();
+        for (Node root : roots) {
+            for (int i = 0; i < root.expanded; i++) {
+                Node child = root.children[i];
+                int index = indexOf(candidates, child.move);
+                if (index < 0) {
+                    candidates.add(child.move);
+                    visits.add(child.visits);
+                } else {
+                    visits.set(index, visits.get(index) + child.visits);
+                }
+            }
+        }
+        int best = END_TURN;
+        int bestVisits = -1;
+        for (int i = 0; i < candidates.size(); i++) {
+            if (visits.get(i) > bestVisits) {
+                bestVisits = visits.get(i);
+                best = candidates.get(i);
+            }
+        }
+        return best;
+    }
+
+    private static int indexOf(MoveList moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Grows one tree from a private fork of the root position until the budget or the deadline is reached
+    private Node search(GameState game, GameRandom random, int budget, long deadline) {
+        MoveList moves = MOVES.get();
+        Node rootNode = new Node(-1, END_TURN, false);
+        List<Node> path = new ArrayList<>();
+        double[] rewards = new double[game.getPlayers().size()];
+
+        // Every iteration is taken back with its commands afterwards
+        List<GameCommand> made = new ArrayList<>();
+
+        int done = 0;
+        while (done < budget && (done == 0 || System.nanoTime() < deadline)) {
+            Node node = rootNode;
+            path.clear();
+            path.add(node);
+
+            while (!game.isGameEnded()) {
+                if (node.chance) {
+                    int roll = random.rollDice();
+                    node = node.outcome(roll);
+                    make(game, new RollDiceCommand(roll), made);
+                    path.add(node);
+                    continue;
+                }
+                if (node.moves == null) {
+                    node.expand(game, moves, random);
+                }
+                if (node.moves.length == 0) {
+                    break;
+                }
+                if (node.expanded < node.moves.length) {
+                    node = node.expandNext(game.getCurrentPlayerIndex());
+                    path.add(node);
+                    play(game, node, made);
+                    if (node.chance) {
+                        // The turn ends here; the rollout continues with a sampled roll
+                        make(game, new RollDiceCommand(random.rollDice()), made);
+                    }
+                    break;
+                }
+                node = node.select();
+                path.add(node);
+                play(game, node, made);
+            }
+
+            rollout(game, random, moves, made);
+            score(game, rewards);
+            for (int i = made.size() - 1; i >= 0; i--) {
+                made.get(i).revert(game);
+            }
+            made.clear();
+            for (Node visited : path) {
+                visited.visits++;
+                if (visited.actor >= 0) {
+                    visited.reward += rewards[visited.actor];
+                }
+            }
+            done++;
+        }
+        playouts.add(done);
+        return rootNode;
+    }
+
+    // Applies the move of a decision; ending the turn is left to the chance node
+    private static void play(GameState game, Node node, List<GameCommand> made) {
+        if (node.move != END_TURN) {
+            make(game, Move.toCommand(node.move), made);
+        }
+    }
+
+    private static boolean make(GameState game, GameCommand command, List<GameCommand> made) {
+        if (!command.apply(game)) {
+            return false;
+        }
+        made.add(command);
+        return true;
+    }
+
+    // Plays random builds and dice rolls until the game ends or the turn limit is reached
+    private void rollout(GameState game, GameRandom random, MoveList moves, List<GameCommand> made) {
+        int turns = 0;
+        while (!game.isGameEnded() && turns < rolloutTurns) {
+            game.generateLegalMoves(moves);
+            if (game.getCurrentPhase() == GameState.GamePhase.SETUP) {
+                if (moves.isEmpty() || !make(game, Move.toCommand(moves.get(random.nextInt(moves.size()))), made)) {
+                    return;
+                }
+                continue;
+            }
+            while (!moves.isEmpty() && make(game, Move.toCommand(moves.get(random.nextInt(moves.size()))), made)
+                    && !game.isGameEnded()) {
+                game.generateLegalMoves(moves);
+            }
+            if (game.isGameEnded()) {
+                return;
+            }
+            make(game, new RollDiceCommand(random.rollDice()), made);
+            turns++;
+        }
+    }
+
+    private static void score(GameState game, double[] rewards) {
+        List<Player> players = game.getPlayers();
+        Player winner = game.getWinner();
+        for (int seat = 0; seat < rewards.length; seat++) {
+            Player player = players.get(seat);
+            if (winner != null) {
+                rewards[seat] = player == winner ? 1.0 : 0.0;
+            } else {
+                rewards[seat] = 0.5 * Math.min(player.getVictoryPoints(), WINNING_POINTS) / WINNING_POINTS;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of rollouts played by all searches of this policy.
+     */
+    public long getPlayouts() {
+        return playouts.sum();
+    }
+
+    /**
+     * Gets the number of searches, i.e. decisions that had more than one option.
+     */
+    public long getSearches() {
+        return searches.sum();
+    }
+
+    /**
+     * Gets the rollout throughput over the wall-clock time spent searching.
+     *
+     * @return Playouts per second, or 0 before the first search
+     */
+    public double getPlayoutsPerSecond() {
+        long nanos = searchNanos.sum();
+        return nanos == 0 ? 0.0 : playouts.sum() * 1_000_000_000.0 / nanos;
+    }
+
+    /**
+     * Stops the worker threads of the search.
+     */
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * A node of one search tree. Only touched by the worker that owns the tree.
+     */
+    private static final class Node {
+        /** Seat that chose this node and whose reward it accumulates, or -1 */
+        final int actor;
+        final int move;
+        final boolean chance;
+        int visits;
+        double reward;
+
+        /** Moves of a decision node in expansion order, null until first visited */
+        int[] moves;
+        /** Children by expansion order, or by dice roll for a chance node */
+        Node[] children;
+        int expanded;
+
+        Node(int actor, int move, boolean chance) {
+            this.actor = actor;
+            this.move = move;
+            this.chance = chance;
+            if (chance) {
+                this.children = new Node[13];
+            }
+        }
+
+        void expand(GameState game, MoveList legal, GameRandom random) {
+            game.generateLegalMoves(legal);
+            int count = legal.size();
+            boolean canEndTurn = game.getCurrentPhase() == GameState.GamePhase.PLAY;
+            moves = new int[canEndTurn ? count + 1 : count];
+            for (int i = 0; i < count; i++) {
+                moves[i] = legal.get(i);
+            }
+            if (canEndTurn) {
+                moves[count] = END_TURN;
+            }
+            // Random expansion order so that a small budget does not favour the first moves
+            for (int i = moves.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = moves[i];
+                moves[i] = moves[j];
+                moves[j] = swap;
+            }
+            children = new Node[moves.length];
+        }
+
+        Node expandNext(int actor) {
+            int move = moves[expanded];
+            Node child = new Node(actor, move, move == END_TURN);
+            children[expanded++] = child;
+            return child;
+        }
+
+        Node select() {
+            double logVisits = Math.log(visits);
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < expanded; i++) {
+                Node child = children[i];
+                double value = child.reward / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        Node outcome(int roll) {
+            Node child = children[roll];
+            if (child == null) {
+                child = new Node(-1, END_TURN, false);
+                children[roll] = child;
+            }
+            return child;
+        }
+    }
+}
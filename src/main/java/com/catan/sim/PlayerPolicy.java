@@ -0,0 +1,42 @@
+package com.catan.sim;
+
+import com.catan.model.GameState;
+import com.catan.model.Player;
+
+/**
+ * Decides the actions of one seat in a headless game.
+ *
+ * <p>The simulator calls {@link #playSetupTurn} while the game is in the setup phase and
+ * {@link #playTurn} once per turn during the play phase. Rolling the dice ends the turn and
+ * is done by the simulator, so a policy only has to issue build actions on the game state.</p>
+ *
+ * <p>A single policy instance is shared by every game played for its seat, possibly on several
+ * threads at once. Implementations must therefore be stateless or thread-safe.</p>
+ */
+public interface PlayerPolicy {
+
+    /**
+     * Places the initial settlement and its adjacent road for the current setup turn.
+     *
+     * @param state The game in the setup phase
+     * @param player The player whose turn it is
+     */
+    void playSetupTurn(GameState state, Player player);
+
+    /**
+     * Performs any number of build actions before the dice are rolled.
+     *
+     * @param state The game in the play phase
+     * @param player The player whose turn it is
+     */
+    void playTurn(GameState state, Player player);
+
+    /**
+     * Gets a short name used in simulation reports.
+     *
+     * @return The policy name
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
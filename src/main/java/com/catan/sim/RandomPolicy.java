@@ -0,0 +1,38 @@
+package com.catan.sim;
+
+import com.catan.model.GameRandom;
+import com.catan.model.GameState;
+import com.catan.model.MoveList;
+import com.catan.model.Player;
+
+/**
+ * Plays uniformly random legal moves.
+ * Keeps building until nothing affordable is left, which makes it a useful baseline opponent.
+ */
+public class RandomPolicy implements PlayerPolicy {
+    // Move lists are per thread because one policy instance serves all games of its seat
+    private static final ThreadLocal<MoveList> MOVES = ThreadLocal.withInitial(MoveList::new);
+
+    @Override
+    public void playSetupTurn(GameState state, Player player) {
+        playRandomMove(state);
+        playRandomMove(state);
+    }
+
+    @Override
+    public void playTurn(GameState state, Player player) {
+        while (!state.isGameEnded() && playRandomMove(state)) {
+            // Keep building while anything is affordable
+        }
+    }
+
+    private static boolean playRandomMove(GameState state) {
+        MoveList moves = MOVES.get();
+        state.generateLegalMoves(moves);
+        if (moves.isEmpty()) {
+            return false;
+        }
+        GameRandom random = state.getRandom();
+        return state.applyMove(moves.get(random.nextInt(moves.size())));
+    }
+}
@@ -0,0 +1,105 @@
+package com.catan.sim;
+
+import com.catan.model.BoardGenerator;
+import com.catan.model.BoardLayout;
+import com.catan.model.GameBoard;
+import com.catan.model.GameRandom;
+import com.catan.model.LayoutRules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Command line entry point for headless simulation runs.
+ *
+ * <p>Usage: {@code SimulationMain [games] [policy...]} where each policy is {@code random},
+ * {@code greedy} or {@code mcts[:iterations]}. Without policies four random players are
+ * simulated. Setting the system property {@code catan.seed} makes the run reproducible, and
+ * {@code catan.board=ROWSxCOLS} plays on a board of that size instead of the standard 6x6.
+ * {@code catan.layout=tournament} generates every board under {@link com.catan.model.LayoutRules#tournament()},
+ * and {@code catan.duplicate=true} plays all games on one board made from the run's seed.
+ * {@code catan.distanceRule=false} lets settlements be built next to other buildings.
+ * Search policies additionally report their playouts per second.</p>
+ */
+public class SimulationMain {
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        List<PlayerPolicy> policies = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            policies.add(createPolicy(args[i]));
+        }
+        while (policies.size() < 4 && args.length <= 1) {
+            policies.add(new RandomPolicy());
+        }
+
+        GameSimulator simulator = new GameSimulator(policies);
+        String board = System.getProperty("catan.board");
+        if (board != null) {
+            String[] size = board.toLowerCase().split("x", 2);
+            simulator.setBoardSize(Integer.parseInt(size[0]), Integer.parseInt(size[size.length - 1]));
+        }
+        if ("tournament".equalsIgnoreCase(System.getProperty("catan.layout"))) {
+            simulator.setLayoutRules(LayoutRules.tournament());
+        }
+        if ("false".equalsIgnoreCase(System.getProperty("catan.distanceRule"))) {
+            simulator.setDistanceRule(false);
+        }
+        String seed = System.getProperty("catan.seed");
+        long batchSeed = seed == null ? new SplittableRandom().nextLong() : Long.parseLong(seed);
+        if (Boolean.getBoolean("catan.duplicate")) {
+            simulator.setLayout(createLayout(simulator, new GameRandom(batchSeed)));
+        }
+        try {
+            System.out.println("Simulating " + games + " games with " + describe(policies) + " on "
+                + simulator.getBoardRows() + "x" + simulator.getBoardCols() + " boards and "
+                + Runtime.getRuntime().availableProcessors() + " cores");
+            System.out.print(simulator.run(games, batchSeed));
+            for (int seat = 0; seat < policies.size(); seat++) {
+                if (policies.get(seat) instanceof MctsPolicy mcts) {
+                    System.out.printf("Seat %d: %d playouts in %d searches, %.0f playouts/sec%n",
+                        seat + 1, mcts.getPlayouts(), mcts.getSearches(), mcts.getPlayoutsPerSecond());
+                }
+            }
+        } finally {
+            simulator.shutdown();
+            for (PlayerPolicy policy : policies) {
+                if (policy instanceof MctsPolicy mcts) {
+                    mcts.shutdown();
+                }
+            }
+        }
+    }
+
+    private static BoardLayout createLayout(GameSimulator simulator, GameRandom random) {
+        LayoutRules rules = simulator.getLayoutRules();
+        if (rules.equals(LayoutRules.unconstrained())) {
+            return new GameBoard(simulator.getBoardRows(), simulator.getBoardCols(), random).getLayout();
+        }
+        BoardGenerator generator = new BoardGenerator(rules, 1);
+        return generator.generate(simulator.getBoardRows(), simulator.getBoardCols(), random);
+    }
+
+    private static PlayerPolicy createPolicy(String name) {
+        String[] parts = name.toLowerCase().split(":", 2);
+        return switch (parts[0]) {
+            case "random" -> new RandomPolicy();
+            case "greedy" -> new GreedyPolicy();
+            case "mcts" -> parts.length == 1 ? new MctsPolicy()
+                : new MctsPolicy(Integer.parseInt(parts[1]), 0, Runtime.getRuntime().availableProcessors());
+            default -> throw new IllegalArgumentException("Unknown policy: " + name);
+        };
+    }
+
+    private static String describe(List<PlayerPolicy> policies) {
+        StringBuilder sb = new StringBuilder();
+        for (PlayerPolicy policy : policies) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(policy.getName());
+        }
+        return sb.toString();
+    }
+}
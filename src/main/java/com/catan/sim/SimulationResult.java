@@ -0,0 +1,99 @@
+package com.catan.sim;
+
+/**
+ * Aggregated statistics of a batch of simulated games.
+ *
+ * <p>Instances are mutable while a batch is running so that each worker can accumulate
+ * its own games without sharing state. Partial results are combined with {@link #merge}.</p>
+ */
+public class SimulationResult {
+    private final long[] winsPerSeat;
+    private long games;
+    private long finishedGames;
+    private long totalTurns;
+    private long elapsedNanos;
+
+    public SimulationResult(int seats) {
+        this.winsPerSeat = new long[seats];
+    }
+
+    void record(GameSimulator.GameOutcome outcome) {
+        games++;
+        totalTurns += outcome.turns();
+        if (outcome.winnerSeat() >= 0) {
+            finishedGames++;
+            winsPerSeat[outcome.winnerSeat()]++;
+        }
+    }
+
+    SimulationResult merge(SimulationResult other) {
+        games += other.games;
+        finishedGames += other.finishedGames;
+        totalTurns += other.totalTurns;
+        for (int seat = 0; seat < winsPerSeat.length; seat++) {
+            winsPerSeat[seat] += other.winsPerSeat[seat];
+        }
+        return this;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games that ended with a winner before the turn limit.
+     */
+    public long getFinishedGames() {
+        return finishedGames;
+    }
+
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public int getSeats() {
+        return winsPerSeat.length;
+    }
+
+    public long getWins(int seat) {
+        return winsPerSeat[seat];
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public double getAverageTurnsPerGame() {
+        return games == 0 ? 0 : (double) totalTurns / games;
+    }
+
+    /**
+     * Gets the share of finished games won by a seat.
+     *
+     * @param seat The seat index (0 is the first player)
+     * @return The win rate between 0 and 1
+     */
+    public double getWinRate(int seat) {
+        return finishedGames == 0 ? 0 : (double) winsPerSeat[seat] / finishedGames;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %d (%d finished) in %.2f s%n", games, finishedGames, elapsedNanos / 1e9));
+        sb.append(String.format("Games/sec: %.1f%n", getGamesPerSecond()));
+        sb.append(String.format("Turns/game: %.1f%n", getAverageTurnsPerGame()));
+        for (int seat = 0; seat < winsPerSeat.length; seat++) {
+            sb.append(String.format("Seat %d wins: %d (%.1f%%)%n", seat + 1, winsPerSeat[seat], getWinRate(seat) * 100));
+        }
+        return sb.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.catan.ui;
 
+import com.catan.log.GameEventType;
 import com.catan.model.*;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -195,8 +196,8 @@ public class GameBoardView extends GridPane {
 
         private void handleTileClick() {
             // Handle tile selection for building placement
-            System.out.println("Tile clicked: " + tile.getTerrainType().getDisplayName() + 
-                             " (Row: " + row + ", Col: " + col + ")");
+            gameState.getEventLog().log(GameEventType.TILE_SELECTED, null, row, col, 0,
+                tile.getTerrainType().getDisplayName());
             notifyAction();
         }
     }
@@ -274,7 +275,6 @@ public class GameBoardView extends GridPane {
                     if (gameState.buildSettlementAtVertex(row, col, currentPlayer)) {
                         updateDisplay();
                         notifyAction();
-                        System.out.println("Settlement built at Vertex (" + row + ", " + col + ")");
                     }
                 }
             } else if (gameState.getCurrentPhase() == GameState.GamePhase.PLAY) {
@@ -286,7 +286,6 @@ public class GameBoardView extends GridPane {
                             if (gameState.buildCityAtVertex(row, col, currentPlayer)) {
                                 updateDisplay();
                                 notifyAction();
-                                System.out.println("City built at Vertex (" + row + ", " + col + ")");
                             }
                         }
                     } else if (!vertex.isOccupied()) {
@@ -294,7 +293,6 @@ public class GameBoardView extends GridPane {
                         if (gameState.buildSettlementAtVertex(row, col, currentPlayer)) {
                             updateDisplay();
                             notifyAction();
-                            System.out.println("Settlement built at Vertex (" + row + ", " + col + ")");
                         }
                     }
                 }
@@ -375,8 +373,6 @@ public class GameBoardView extends GridPane {
                     if (success) {
                         updateDisplay();
                         notifyAction();
-                        System.out.println("Road built at Edge (" + row + ", " + col + ", " + 
-                                         (isHorizontal ? "H" : "V") + ")");
                     }
                 }
             } else if (gameState.getCurrentPhase() == GameState.GamePhase.PLAY) {
@@ -389,8 +385,6 @@ public class GameBoardView extends GridPane {
                     if (success) {
                         updateDisplay();
                         notifyAction();
-                        System.out.println("Road built at Edge (" + row + ", " + col + ", " + 
-                                         (isHorizontal ? "H" : "V") + ")");
                     }
                 }
             }
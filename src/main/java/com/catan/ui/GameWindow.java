@@ -1,5 +1,6 @@
 package com.catan.ui;
 
+import com.catan.log.GameEventLog;
 import com.catan.model.*;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -21,6 +22,7 @@ public class GameWindow extends BorderPane {
     public GameWindow() {
         // Initialize game state with 4 players
         this.gameState = new GameState(4);
+        gameState.setEventLog(GameEventLog.console());
         
         // Create UI components
         this.gameBoardView = new GameBoardView(gameState);
@@ -101,6 +101,9 @@ public class PlayerInfoPanel extends VBox {
                 playerLabels[i].setTextFill(Color.BLACK);
             }
             playerText += " - " + player.getVictoryPoints() + " Victory Points";
+            if (player == gameState.getGameBoard().getLongestRoadHolder()) {
+                playerText += " (Longest Road)";
+            }
             playerLabels[i].setText(playerText);
 
             // Update resource labels